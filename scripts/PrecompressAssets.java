@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a gzipped copy next to every static resource worth compressing, and to every
+ * such resource of the webjars, so that they are served precompressed (see
+ * StaticResourcesConfiguration). Run by the build, with the JDK only:
+ *
+ * <pre class="code">
+ * java scripts/PrecompressAssets.java &lt;output&gt; &lt;static-dir&gt; &lt;classpath&gt;
+ * </pre>
+ *
+ * The resources of {@code <static-dir>} are compressed into {@code <output>/static}, and
+ * those of the webjars of the {@code <classpath>} into
+ * {@code <output>/META-INF/resources/webjars}. Copies that are up-to-date are kept.
+ */
+class PrecompressAssets {
+
+	private static final String WEBJARS = "META-INF/resources/webjars/";
+
+	private static final Set<String> EXTENSIONS = Set.of("css", "js", "svg", "json", "txt", "ttf", "eot");
+
+	private static final int MIN_SIZE = 1024;
+
+	private static int written;
+
+	private static long savedBytes;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 3) {
+			throw new IllegalArgumentException("Usage: PrecompressAssets <output> <static-dir> <classpath>");
+		}
+		Path output = Path.of(args[0]);
+		Path staticDir = Path.of(args[1]);
+		if (Files.isDirectory(staticDir)) {
+			try (Stream<Path> files = Files.walk(staticDir)) {
+				for (Path file : files.filter(Files::isRegularFile).toList()) {
+					Path target = output.resolve("static").resolve(staticDir.relativize(file).toString() + ".gz");
+					if (isCompressible(file.toString()) && Files.size(file) >= MIN_SIZE
+							&& isStale(target, Files.getLastModifiedTime(file))) {
+						try (InputStream content = Files.newInputStream(file)) {
+							compress(content, Files.size(file), target);
+						}
+					}
+				}
+			}
+		}
+		for (String entry : args[2].split(java.io.File.pathSeparator)) {
+			if (entry.endsWith(".jar")) {
+				compressWebJar(Path.of(entry), output);
+			}
+		}
+		System.out.printf("Precompressed %d static resources, saving %d KB%n", written, savedBytes / 1024);
+	}
+
+	private static void compressWebJar(Path jar, Path output) throws IOException {
+		FileTime modified = Files.getLastModifiedTime(jar);
+		try (JarFile jarFile = new JarFile(jar.toFile())) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				Path target = output.resolve(entry.getName() + ".gz");
+				if (entry.getName().startsWith(WEBJARS) && !entry.isDirectory() && isCompressible(entry.getName())
+						&& entry.getSize() >= MIN_SIZE && isStale(target, modified)) {
+					try (InputStream content = jarFile.getInputStream(entry)) {
+						compress(content, entry.getSize(), target);
+					}
+				}
+			}
+		}
+	}
+
+	private static boolean isCompressible(String name) {
+		int dot = name.lastIndexOf('.');
+		return dot != -1 && EXTENSIONS.contains(name.substring(dot + 1));
+	}
+
+	private static boolean isStale(Path target, FileTime modified) throws IOException {
+		return !Files.exists(target) || Files.getLastModifiedTime(target).compareTo(modified) < 0;
+	}
+
+	private static void compress(InputStream content, long size, Path target) throws IOException {
+		Files.createDirectories(target.getParent());
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target)) {
+			{
+				this.def.setLevel(Deflater.BEST_COMPRESSION);
+			}
+		}) {
+			content.transferTo(out);
+		}
+		written++;
+		savedBytes += size - Files.size(target);
+	}
+
+}
@@ -0,0 +1,83 @@
+#!/bin/bash
+# Threading Comparison
+# Runs the JMeter test plan against the application on platform threads, then on
+# virtual threads, and prints the response times of both runs side by side.
+#
+# Requires a packaged application (./mvnw package), Java 21 or later and jmeter on the
+# PATH. Extra arguments are passed to the application, for example
+# --spring.profiles.active=postgres to measure against a real database.
+
+set -euo pipefail
+
+PORT=${PETCLINIC_PORT:-8080}
+MANAGEMENT_PORT=${PETCLINIC_MANAGEMENT_PORT:-9090}
+PLAN=src/test/jmeter/petclinic_test_plan.jmx
+RESULTS=target/threading
+JAR=$(ls target/spring-petclinic-*.jar 2>/dev/null | grep -v plain | head -n 1 || true)
+
+if [ -z "$JAR" ]; then
+    echo "No application jar in target, run ./mvnw package first" >&2
+    exit 1
+fi
+if ! command -v jmeter > /dev/null; then
+    echo "jmeter is not on the PATH" >&2
+    exit 1
+fi
+
+mkdir -p "$RESULTS"
+
+run() {
+    local mode="$1"
+    local virtual="$2"
+    shift 2
+
+    echo "Starting the application on $mode threads"
+    java -jar "$JAR" --server.port="$PORT" --management.server.port="$MANAGEMENT_PORT" \
+        --spring.threads.virtual.enabled="$virtual" "$@" > "$RESULTS/$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2> /dev/null || true" EXIT
+
+    until curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/health/readiness" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "The application failed to start, see $RESULTS/$mode.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+
+    rm -f "$RESULTS/$mode.jtl"
+    jmeter -n -t "$PLAN" -JPETCLINIC_PORT="$PORT" -l "$RESULTS/$mode.jtl" > "$RESULTS/$mode-jmeter.log"
+    curl -s "http://localhost:$MANAGEMENT_PORT/actuator/metrics/jvm.threads.virtual.pinned" \
+        > "$RESULTS/$mode-pinned.json" || true
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    trap - EXIT
+}
+
+# Prints the sample count, error rate, throughput and response time percentiles of a
+# JMeter result file (CSV, with the default columns)
+summarize() {
+    local mode="$1"
+    tail -n +2 "$RESULTS/$mode.jtl" \
+        | awk -F, '{ print $2, $1, ($8 == "true") ? 0 : 1 }' \
+        | sort -n \
+        | awk -v mode="$mode" '
+            { elapsed[NR] = $1; errors += $3
+              if (NR == 1 || $2 < first) first = $2; if ($2 + $1 > last) last = $2 + $1 }
+            END {
+                printf "%-10s %8d %7.2f%% %9.1f %8d %8d %8d\n", mode, NR, 100 * errors / NR,
+                    NR * 1000 / (last - first), elapsed[int((NR - 1) * 0.5) + 1],
+                    elapsed[int((NR - 1) * 0.95) + 1], elapsed[int((NR - 1) * 0.99) + 1]
+            }'
+}
+
+run platform false "$@"
+run virtual true "$@"
+
+echo
+printf "%-10s %8s %8s %9s %8s %8s %8s\n" "threads" "samples" "errors" "req/s" "p50 ms" "p95 ms" "p99 ms"
+summarize platform
+summarize virtual
+echo
+echo "Pinned virtual threads, by JDBC driver: $RESULTS/virtual-pinned.json"
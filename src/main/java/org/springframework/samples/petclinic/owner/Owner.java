@@ -16,10 +16,12 @@
 package org.springframework.samples.petclinic.owner;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
 import org.springframework.core.style.ToStringCreator;
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.samples.petclinic.model.Person;
 import org.springframework.util.Assert;
 
@@ -145,6 +147,17 @@ public class Owner extends Person {
 		return null;
 	}
 
+	/**
+	 * Events published by {@link OwnerRepository} when this owner is saved. Pets and
+	 * visits are saved through their owner, so this covers them as well.
+	 * @return an {@link OwnerChangedEvent} if this owner has been persisted
+	 */
+	@DomainEvents
+	Collection<OwnerChangedEvent> domainEvents() {
+		Integer id = getId();
+		return (id != null) ? List.of(new OwnerChangedEvent(id)) : List.of();
+	}
+
 	@Override
 	public String toString() {
 		return new ToStringCreator(this).append("id", this.getId())
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.samples.petclinic.system.CacheInvalidationLog;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts an owner from the {@code owners} cache once the transaction saving it has
+ * committed, on this member and, through the {@link CacheInvalidationLog}, on the other
+ * replicas (including the member of the cluster owning it).
+ *
+ * @see OwnerDetailsService
+ */
+@Component
+class OwnerCacheInvalidator {
+
+	private final CacheManager cacheManager;
+
+	private final CacheInvalidationLog invalidationLog;
+
+	OwnerCacheInvalidator(CacheManager cacheManager, CacheInvalidationLog invalidationLog) {
+		this.cacheManager = cacheManager;
+		this.invalidationLog = invalidationLog;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	void onOwnerChanged(OwnerChangedEvent event) {
+		String key = String.valueOf(event.ownerId());
+		Cache cache = this.cacheManager.getCache(OwnerDetailsService.OWNERS);
+		if (cache != null) {
+			cache.evict(key);
+		}
+		this.invalidationLog.publish(OwnerDetailsService.OWNERS, key);
+	}
+
+}
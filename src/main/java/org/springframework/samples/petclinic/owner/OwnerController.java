@@ -15,13 +15,14 @@
  */
 package org.springframework.samples.petclinic.owner;
 
-import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.samples.petclinic.system.ChunkedRows;
+import org.springframework.samples.petclinic.system.ListProperties;
+import org.springframework.samples.petclinic.system.NotFoundException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -32,7 +33,6 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.servlet.ModelAndView;
 
 import jakarta.validation.Valid;
 import org.jspecify.annotations.Nullable;
@@ -51,10 +51,15 @@ class OwnerController {
 
 	private static final String VIEWS_OWNER_CREATE_OR_UPDATE_FORM = "owners/createOrUpdateOwnerForm";
 
+	static final int PAGE_SIZE = 5;
+
 	private final OwnerRepository owners;
 
-	public OwnerController(OwnerRepository owners) {
+	private final ListProperties listProperties;
+
+	public OwnerController(OwnerRepository owners, ObjectProvider<ListProperties> listProperties) {
 		this.owners = owners;
+		this.listProperties = listProperties.getIfAvailable(ListProperties::new);
 	}
 
 	@InitBinder
@@ -65,9 +70,7 @@ class OwnerController {
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable(name = "ownerId", required = false) @Nullable Integer ownerId) {
 		return ownerId == null ? new Owner()
-				: this.owners.findById(ownerId)
-					.orElseThrow(() -> new IllegalArgumentException("Owner not found with id: " + ownerId
-							+ ". Please ensure the ID is correct " + "and the owner exists in the database."));
+				: this.owners.findById(ownerId).orElseThrow(() -> new NotFoundException("Owner", ownerId));
 	}
 
 	@GetMapping("/owners/new")
@@ -93,16 +96,20 @@ class OwnerController {
 	}
 
 	@GetMapping("/owners")
-	public String processFindForm(@RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result,
-			Model model) {
+	public String processFindForm(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(defaultValue = "" + PAGE_SIZE) int size, Owner owner, BindingResult result, Model model) {
 		// allow parameterless GET request for /owners to return all records
 		String lastName = owner.getLastName();
 		if (lastName == null) {
 			lastName = ""; // empty string signifies broadest possible search
 		}
 
-		// find owners by last name
-		Page<Owner> ownersResults = findPaginatedForOwnersLastName(page, lastName);
+		// find owners by last name, reading the first chunk of the page and counting them
+		int pageSize = this.listProperties.pageSize(size);
+		int chunkSize = this.listProperties.chunkSize(pageSize);
+		int firstChunk = (page - 1) * (pageSize / chunkSize);
+		Page<Owner> ownersResults = this.owners.findByLastNameStartingWith(lastName,
+				PageRequest.of(firstChunk, chunkSize));
 		if (ownersResults.isEmpty()) {
 			// no owners found
 			result.rejectValue("lastName", "notFound", "not found");
@@ -115,25 +122,24 @@ class OwnerController {
 			return "redirect:/owners/" + owner.getId();
 		}
 
-		// multiple owners found
-		return addPaginationModel(page, model, ownersResults);
+		// multiple owners found, the other chunks of the page being read while rendering
+		// it
+		String name = lastName;
+		ChunkedRows<Owner> listOwners = new ChunkedRows<>(ownersResults.getContent(),
+				ChunkedRows.rowsOnPage(page, pageSize, ownersResults.getTotalElements()), (chunk) -> this.owners
+					.findChunkByLastNameStartingWith(name, PageRequest.of(firstChunk + chunk, chunkSize)));
+		return addPaginationModel(page, pageSize, ownersResults.getTotalElements(), model, listOwners);
 	}
 
-	private String addPaginationModel(int page, Model model, Page<Owner> paginated) {
-		List<Owner> listOwners = paginated.getContent();
+	private String addPaginationModel(int page, int pageSize, long total, Model model, ChunkedRows<Owner> listOwners) {
 		model.addAttribute("currentPage", page);
-		model.addAttribute("totalPages", paginated.getTotalPages());
-		model.addAttribute("totalItems", paginated.getTotalElements());
+		model.addAttribute("pageSize", pageSize);
+		model.addAttribute("totalPages", ChunkedRows.pageCount(pageSize, total));
+		model.addAttribute("totalItems", total);
 		model.addAttribute("listOwners", listOwners);
 		return "owners/ownersList";
 	}
 
-	private Page<Owner> findPaginatedForOwnersLastName(int page, String lastname) {
-		int pageSize = 5;
-		Pageable pageable = PageRequest.of(page - 1, pageSize);
-		return owners.findByLastNameStartingWith(lastname, pageable);
-	}
-
 	@GetMapping("/owners/{ownerId}/edit")
 	public String initUpdateOwnerForm() {
 		return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
@@ -159,19 +165,4 @@ class OwnerController {
 		return "redirect:/owners/{ownerId}";
 	}
 
-	/**
-	 * Custom handler for displaying an owner.
-	 * @param ownerId the ID of the owner to display
-	 * @return a ModelMap with the model attributes for the view
-	 */
-	@GetMapping("/owners/{ownerId}")
-	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
-		ModelAndView mav = new ModelAndView("owners/ownerDetails");
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		mav.addObject(owner);
-		return mav;
-	}
-
 }
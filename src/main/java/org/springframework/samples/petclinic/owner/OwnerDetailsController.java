@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.samples.petclinic.system.NotFoundException;
+import org.springframework.samples.petclinic.system.StaleReads;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Displays an owner, with its pets and visits. Kept apart from {@link OwnerController},
+ * whose {@code owner} model attribute is loaded from the database for every request, so
+ * that owners can be served from the cache of {@link OwnerDetailsService}.
+ * <p>
+ * The visits of each pet are not part of the owner page: they are rendered by a fragment
+ * of their own, which the page loads once the pet is scrolled into view. The page stays
+ * the same size however many visits the pets had, and the fragments are revalidated
+ * against an {@code ETag} of their visits and locale.
+ *
+ * @author Juergen Hoeller
+ * @author Ken Krebs
+ * @author Arjen Poutsma
+ * @author Michael Isvy
+ */
+@Controller
+class OwnerDetailsController {
+
+	private static final CacheControl VISITS = CacheControl.noCache().cachePrivate();
+
+	private final OwnerDetailsService ownerDetails;
+
+	OwnerDetailsController(OwnerDetailsService ownerDetails) {
+		this.ownerDetails = ownerDetails;
+	}
+
+	/**
+	 * Custom handler for displaying an owner.
+	 * @param ownerId the ID of the owner to display
+	 * @return a ModelMap with the model attributes for the view
+	 */
+	@GetMapping("/owners/{ownerId}")
+	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
+		ModelAndView mav = new ModelAndView("owners/ownerDetails");
+		StaleReads.Read<Optional<Owner>> read = this.ownerDetails.findOwner(ownerId);
+		Owner owner = read.value().orElseThrow(() -> new NotFoundException("Owner", ownerId));
+		mav.addObject(owner);
+		mav.addObject("stale", read.stale());
+		return mav;
+	}
+
+	/**
+	 * Render the visits of a pet, as a fragment of the owner page. Answers
+	 * {@code 304 Not Modified} if the visits did not change since the browser last loaded
+	 * them.
+	 * @param ownerId the ID of the owner of the pet
+	 * @param petId the ID of the pet
+	 * @param locale the locale of the fragment
+	 * @param model the model of the fragment
+	 * @param request the current request
+	 * @param response the current response
+	 * @return the fragment, or {@code null} if the browser copy is up to date
+	 */
+	@GetMapping("/owners/{ownerId}/pets/{petId}/visits/fragment")
+	public @Nullable String showVisits(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			Locale locale, Model model, WebRequest request, HttpServletResponse response) {
+		Owner owner = this.ownerDetails.findOwner(ownerId)
+			.value()
+			.orElseThrow(() -> new NotFoundException("Owner", ownerId));
+		Pet pet = owner.getPet(petId);
+		if (pet == null) {
+			throw new NotFoundException("Pet", petId);
+		}
+		response.setHeader(HttpHeaders.CACHE_CONTROL, VISITS.getHeaderValue());
+		if (request.checkNotModified(etag(pet, locale))) {
+			return null;
+		}
+		model.addAttribute("pet", pet);
+		return "owners/petVisits :: visits";
+	}
+
+	private static String etag(Pet pet, Locale locale) {
+		// The headings of the fragment are translated
+		StringBuilder visits = new StringBuilder(locale.toLanguageTag()).append('\n');
+		for (Visit visit : pet.getVisits()) {
+			visits.append(visit.getId())
+				.append('|')
+				.append(visit.getDate())
+				.append('|')
+				.append(visit.getDescription())
+				.append('\n');
+		}
+		return DigestUtils.md5DigestAsHex(visits.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Optional;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.samples.petclinic.system.ClusterRouter;
+import org.springframework.samples.petclinic.system.PetClinicCacheProperties;
+import org.springframework.samples.petclinic.system.SingleFlight;
+import org.springframework.samples.petclinic.system.StaleReads;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Looks up owners, with their pets and visits, for {@link OwnerDetailsController}. Owners
+ * are cached in the {@code owners} cache as JSON documents, so that every request gets
+ * its own detached copy.
+ * <p>
+ * When {@code petclinic.cluster.owner-affinity} is enabled, each owner is only cached by
+ * the member of the cluster owning its id (see {@link ClusterRouter}). The other members
+ * fetch the document from that member through {@link OwnerPeerController}, and read the
+ * database directly, without caching, if it cannot be reached in time. This keeps a
+ * single copy of each owner across the cluster, so that the cluster as a whole caches
+ * more owners.
+ * <p>
+ * Concurrent lookups of the same owner are coalesced by a {@link SingleFlight}: however
+ * many requests display an owner at once, a member loads it, or fetches it from another
+ * member, only once. The document is shared between these requests, and each of them
+ * reads its own copy of the owner.
+ * <p>
+ * The last document found for each owner is kept aside, and served with a stale flag if
+ * the database is unavailable (see {@link StaleReads}).
+ * <p>
+ * Publishes an {@code owner.lookups} counter tagged with the {@code outcome} of each
+ * lookup that was not coalesced with another one: {@code local}, {@code peer} or
+ * {@code fallback}.
+ *
+ * @see OwnerCacheInvalidator
+ */
+@Component
+class OwnerDetailsService {
+
+	static final String OWNERS = "owners";
+
+	static final String PEER_PATH = "/internal/owners/";
+
+	private static final Log logger = LogFactory.getLog(OwnerDetailsService.class);
+
+	private final OwnerRepository owners;
+
+	private final CacheManager cacheManager;
+
+	private final JsonMapper jsonMapper;
+
+	private final @Nullable ClusterRouter router;
+
+	private final SingleFlight<Integer, StaleReads.Read<Optional<String>>> loads;
+
+	private final StaleReads<Integer, Optional<String>> staleReads;
+
+	private final Counter localLookups;
+
+	private final Counter peerLookups;
+
+	private final Counter fallbackLookups;
+
+	OwnerDetailsService(OwnerRepository owners, CacheManager cacheManager, JsonMapper jsonMapper,
+			PetClinicCacheProperties cacheProperties, ObjectProvider<ClusterRouter> router,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this.owners = owners;
+		this.cacheManager = cacheManager;
+		// Pets and visits have no setters, they are added to the collections of the
+		// getters
+		this.jsonMapper = jsonMapper.rebuild().enable(MapperFeature.USE_GETTERS_AS_SETTERS).build();
+		this.router = router.getIfAvailable();
+		MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+		this.loads = new SingleFlight<>(OWNERS, cacheProperties.getCoalescingTimeout(), registry);
+		this.staleReads = new StaleReads<>(OWNERS, cacheProperties.getSpec(OWNERS).getMaximumSize(), registry);
+		this.localLookups = counter(registry, "local");
+		this.peerLookups = counter(registry, "peer");
+		this.fallbackLookups = counter(registry, "fallback");
+	}
+
+	private static Counter counter(MeterRegistry registry, String outcome) {
+		return Counter.builder("owner.lookups")
+			.description("Owner lookups, by where the owner was found")
+			.tag("outcome", outcome)
+			.register(registry);
+	}
+
+	/**
+	 * Find an owner, with its pets and visits, from this member or from the member owning
+	 * it. Concurrent lookups of the same owner share a single load. If the database is
+	 * unavailable, the owner is the last one found, flagged as stale.
+	 * @param ownerId the identifier of the owner
+	 * @return the owner, detached from any persistence context
+	 */
+	StaleReads.Read<Optional<Owner>> findOwner(int ownerId) {
+		return this.loads.load(ownerId, () -> this.staleReads.read(ownerId, () -> lookUp(ownerId)))
+			.map(document -> document.map(this::read));
+	}
+
+	private Optional<String> lookUp(int ownerId) {
+		ClusterRouter router = this.router;
+		if (router != null && !router.isLocal(ownerId)) {
+			String member = router.memberFor(ownerId);
+			try {
+				String document = router.fetch(member, PEER_PATH + ownerId);
+				this.peerLookups.increment();
+				return Optional.ofNullable(document);
+			}
+			catch (RestClientException ex) {
+				this.fallbackLookups.increment();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Could not fetch owner " + ownerId + " from " + member + ": " + ex.getMessage());
+				}
+				return Optional.ofNullable(load(ownerId));
+			}
+		}
+		this.localLookups.increment();
+		return Optional.ofNullable(findDocument(ownerId));
+	}
+
+	/**
+	 * Return the JSON document of an owner, from the {@code owners} cache of this member.
+	 * Concurrent loads of the same owner are coalesced by the cache. Unknown owners are
+	 * not cached, so that requests for random identifiers cannot push real owners out.
+	 * @param ownerId the identifier of the owner
+	 * @return the document, or {@code null} if there is no such owner
+	 */
+	@Nullable String findDocument(int ownerId) {
+		Cache cache = this.cacheManager.getCache(OWNERS);
+		if (cache == null) {
+			return load(ownerId);
+		}
+		String key = String.valueOf(ownerId);
+		String document = cache.get(key, () -> load(ownerId));
+		if (document == null) {
+			cache.evictIfPresent(key);
+		}
+		return document;
+	}
+
+	private @Nullable String load(int ownerId) {
+		return this.owners.findById(ownerId).map(this.jsonMapper::writeValueAsString).orElse(null);
+	}
+
+	private Owner read(String document) {
+		return this.jsonMapper.readValue(document, Owner.class);
+	}
+
+}
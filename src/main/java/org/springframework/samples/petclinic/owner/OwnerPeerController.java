@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Internal endpoint serving the owners cached by this member to the other members of the
+ * cluster. Always answers from this member, even for an owner it does not own according
+ * to its own view of the cluster, so that requests are never forwarded twice.
+ *
+ * @see OwnerDetailsService
+ */
+@RestController
+@ConditionalOnBooleanProperty("petclinic.cluster.owner-affinity")
+class OwnerPeerController {
+
+	private final OwnerDetailsService ownerDetails;
+
+	OwnerPeerController(OwnerDetailsService ownerDetails) {
+		this.ownerDetails = ownerDetails;
+	}
+
+	@GetMapping(path = OwnerDetailsService.PEER_PATH + "{ownerId}", produces = MediaType.APPLICATION_JSON_VALUE)
+	ResponseEntity<String> owner(@PathVariable("ownerId") int ownerId) {
+		String document = this.ownerDetails.findDocument(ownerId);
+		return (document != null) ? ResponseEntity.ok(document) : ResponseEntity.notFound().build();
+	}
+
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -44,6 +45,15 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable);
 
+	/**
+	 * Retrieve a chunk of the {@link Owner}s whose last name <i>starts</i> with the given
+	 * name, without counting them.
+	 * @param lastName Value to search for
+	 * @param pageable the chunk to read
+	 * @return the {@link Owner}s of the chunk (or an empty List if none found)
+	 */
+	List<Owner> findChunkByLastNameStartingWith(String lastName, Pageable pageable);
+
 	/**
 	 * Retrieve an {@link Owner} from the data store by id.
 	 * <p>
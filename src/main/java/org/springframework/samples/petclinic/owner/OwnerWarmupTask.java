@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.system.WarmupProperties;
+import org.springframework.samples.petclinic.system.WarmupTask;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the owner searches configured with {@code petclinic.warmup.owner-prefixes}, for
+ * the first {@code petclinic.warmup.owner-pages} pages, the way {@link OwnerController}
+ * does.
+ */
+@Component
+@Order(3)
+class OwnerWarmupTask implements WarmupTask {
+
+	private final OwnerRepository owners;
+
+	private final WarmupProperties properties;
+
+	OwnerWarmupTask(OwnerRepository owners, WarmupProperties properties) {
+		this.owners = owners;
+		this.properties = properties;
+	}
+
+	@Override
+	public String getName() {
+		return "owners";
+	}
+
+	@Override
+	public void warmUp() {
+		for (String prefix : this.properties.getOwnerPrefixes()) {
+			for (int page = 0; page < this.properties.getOwnerPages(); page++) {
+				if (this.owners.findByLastNameStartingWith(prefix, PageRequest.of(page, OwnerController.PAGE_SIZE))
+					.isLast()) {
+					break;
+				}
+			}
+		}
+	}
+
+}
@@ -18,8 +18,8 @@ package org.springframework.samples.petclinic.owner;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Objects;
-import java.util.Optional;
 
+import org.springframework.samples.petclinic.system.NotFoundException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
 import org.springframework.util.Assert;
@@ -66,24 +66,23 @@ class PetController {
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable("ownerId") int ownerId) {
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		return owner;
+		return this.owners.findById(ownerId).orElseThrow(() -> new NotFoundException("Owner", ownerId));
 	}
 
 	@ModelAttribute("pet")
-	public @Nullable Pet findPet(@PathVariable("ownerId") int ownerId,
+	public Pet findPet(@PathVariable("ownerId") int ownerId,
 			@PathVariable(name = "petId", required = false) @Nullable Integer petId) {
 
 		if (petId == null) {
 			return new Pet();
 		}
 
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		return owner.getPet(petId);
+		Owner owner = this.owners.findById(ownerId).orElseThrow(() -> new NotFoundException("Owner", ownerId));
+		Pet pet = owner.getPet(petId);
+		if (pet == null) {
+			throw new NotFoundException("Pet", petId);
+		}
+		return pet;
 	}
 
 	@InitBinder("owner")
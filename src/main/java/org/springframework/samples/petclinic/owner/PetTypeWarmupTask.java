@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.samples.petclinic.system.WarmupTask;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the pet types offered by every pet form.
+ */
+@Component
+@Order(1)
+class PetTypeWarmupTask implements WarmupTask {
+
+	private final PetTypeRepository types;
+
+	PetTypeWarmupTask(PetTypeRepository types) {
+		this.types = types;
+	}
+
+	@Override
+	public String getName() {
+		return "petTypes";
+	}
+
+	@Override
+	public void warmUp() {
+		this.types.findPetTypes();
+	}
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Concurrency limit of a handler method, adapted to its latency in the manner of AIMD
+ * congestion control. The latency is measured over windows of {@code window-size}
+ * completed requests: a window whose median latency is over {@code tolerance} times the
+ * usual latency of the method, or of which a tenth of the requests failed, multiplies the
+ * limit by {@code backoff-ratio}, down to {@code min-limit}. A single slow request
+ * therefore does not lower the limit, and a congested window lowers it only once. Each
+ * request completing within {@code tolerance} times the usual latency raises the limit by
+ * one while the in-flight requests are close to the limit, up to {@code max-limit}; at a
+ * lower load, the limit stays where it is.
+ * <p>
+ * The usual latency is an average of the window medians, so that it ignores the jitter of
+ * single requests, and a lasting slowdown eventually becomes the norm rather than holding
+ * the limit down forever.
+ * <p>
+ * A request over the limit waits up to {@code queue-timeout} for another one to complete,
+ * unless {@code queue-size} requests already wait, and is rejected otherwise. Waiting
+ * requests are served before new ones.
+ * <p>
+ * Publishes {@code http.server.concurrency.limit} and
+ * {@code http.server.concurrency.in.flight} gauges, and a
+ * {@code http.server.concurrency.rejected} counter, tagged with the {@code endpoint}.
+ *
+ * @see ConcurrencyLimitInterceptor
+ */
+class AdaptiveConcurrencyLimit {
+
+	/**
+	 * Weight of each window median in the usual latency.
+	 */
+	private static final double BASELINE_WEIGHT = 0.1;
+
+	/**
+	 * Share of the limit that the in-flight requests must reach for the limit to grow.
+	 */
+	private static final double BUSY_RATIO = 0.75;
+
+	/**
+	 * Share of the requests of a window that must fail for the limit to be lowered.
+	 */
+	private static final int FAILURE_RATIO = 10;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final double tolerance;
+
+	private final double backoffRatio;
+
+	private final int queueSize;
+
+	private final long queueTimeoutNanos;
+
+	private final long[] window;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition available = this.lock.newCondition();
+
+	private final Counter rejected;
+
+	private double limit;
+
+	private int inFlight;
+
+	private int queued;
+
+	private int windowCount;
+
+	private int windowFailures;
+
+	private double baselineNanos;
+
+	AdaptiveConcurrencyLimit(String endpoint, ConcurrencyLimitProperties properties, MeterRegistry registry) {
+		this.minLimit = properties.getMinLimit();
+		this.maxLimit = properties.getMaxLimit();
+		this.tolerance = properties.getTolerance();
+		this.backoffRatio = properties.getBackoffRatio();
+		this.queueSize = properties.getQueueSize();
+		this.queueTimeoutNanos = properties.getQueueTimeout().toNanos();
+		this.window = new long[Math.max(1, properties.getWindowSize())];
+		this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, properties.getInitialLimit()));
+		Gauge.builder("http.server.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+			.description("Concurrent requests allowed for the endpoint")
+			.tag("endpoint", endpoint)
+			.register(registry);
+		Gauge.builder("http.server.concurrency.in.flight", this, AdaptiveConcurrencyLimit::getInFlight)
+			.description("Concurrent requests being handled by the endpoint")
+			.tag("endpoint", endpoint)
+			.register(registry);
+		this.rejected = Counter.builder("http.server.concurrency.rejected")
+			.description("Requests rejected because the endpoint was at its concurrency limit")
+			.tag("endpoint", endpoint)
+			.register(registry);
+	}
+
+	/**
+	 * Ask for permission to handle a request, waiting for a while if the limit is
+	 * reached. Every permitted request must be followed by
+	 * {@link #release(long, boolean)}.
+	 * @return whether the request is permitted
+	 */
+	boolean acquire() {
+		this.lock.lock();
+		try {
+			if (this.queued == 0 && this.inFlight < (int) this.limit) {
+				this.inFlight++;
+				return true;
+			}
+			if (this.queued >= this.queueSize) {
+				this.rejected.increment();
+				return false;
+			}
+			this.queued++;
+			try {
+				long remaining = this.queueTimeoutNanos;
+				while (this.inFlight >= (int) this.limit) {
+					if (remaining <= 0) {
+						this.rejected.increment();
+						return false;
+					}
+					remaining = this.available.awaitNanos(remaining);
+				}
+				this.inFlight++;
+				return true;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				this.rejected.increment();
+				return false;
+			}
+			finally {
+				this.queued--;
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Record the completion of a permitted request, and adapt the limit to it.
+	 * @param latencyNanos the time taken by the request, once permitted
+	 * @param failed whether the request failed, which counts towards lowering the limit
+	 */
+	void release(long latencyNanos, boolean failed) {
+		this.lock.lock();
+		try {
+			boolean busy = this.inFlight >= this.limit * BUSY_RATIO;
+			this.inFlight--;
+			boolean onTime = this.baselineNanos == 0 || latencyNanos <= this.tolerance * this.baselineNanos;
+			if (busy && onTime && !failed) {
+				this.limit = Math.min(this.maxLimit, this.limit + 1);
+			}
+			this.window[this.windowCount++] = latencyNanos;
+			if (failed) {
+				this.windowFailures++;
+			}
+			if (this.windowCount == this.window.length) {
+				endWindow();
+			}
+			this.available.signalAll();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void endWindow() {
+		Arrays.sort(this.window);
+		long median = this.window[this.window.length / 2];
+		boolean congested = this.windowFailures * FAILURE_RATIO >= this.window.length
+				|| (this.baselineNanos > 0 && median > this.tolerance * this.baselineNanos);
+		if (congested) {
+			this.limit = Math.max(this.minLimit, this.limit * this.backoffRatio);
+		}
+		this.baselineNanos = (this.baselineNanos == 0) ? median
+				: this.baselineNanos + (median - this.baselineNanos) * BASELINE_WEIGHT;
+		this.windowCount = 0;
+		this.windowFailures = 0;
+	}
+
+	/**
+	 * Return the current limit.
+	 * @return the number of concurrent requests allowed
+	 */
+	int getLimit() {
+		this.lock.lock();
+		try {
+			return (int) this.limit;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the number of requests being handled.
+	 * @return the requests in flight
+	 */
+	int getInFlight() {
+		this.lock.lock();
+		try {
+			return this.inFlight;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the number of requests waiting to be handled.
+	 * @return the queued requests
+	 */
+	int getQueued() {
+		this.lock.lock();
+		try {
+			return this.queued;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the usual latency, against which requests are found slow.
+	 * @return the usual latency, or zero until a first window of requests completed
+	 */
+	Duration getBaseline() {
+		this.lock.lock();
+		try {
+			return Duration.ofNanos((long) this.baselineNanos);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the number of rejected requests.
+	 * @return the rejected requests
+	 */
+	long getRejected() {
+		return (long) this.rejected.count();
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.boot.health.application.AvailabilityStateHealthIndicator;
+import org.springframework.boot.health.contributor.CompositeHealthContributor;
+import org.springframework.boot.health.contributor.HealthContributor;
+import org.springframework.boot.health.contributor.HealthContributors;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.boot.health.contributor.PingHealthIndicator;
+import org.springframework.boot.health.registry.HealthContributorRegistry;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Evaluates the health indicators in the background. On start, every indicator of the
+ * {@link HealthContributorRegistry} is replaced by a {@link CachedHealthIndicator}, which
+ * is then refreshed every {@code petclinic.health-checks.interval}, each as a task of its
+ * own so that a slow indicator does not delay the others as long as the scheduler has
+ * threads to spare ({@code spring.task.scheduling.pool.size}). The health endpoint, and
+ * the probes, only read the cached results. Indicators that are cheap to begin with, such
+ * as the availability states behind the probes, are left alone.
+ * <p>
+ * Publishes a {@code health.check.age} gauge of the age of the last result of each
+ * indicator, in seconds.
+ */
+class BackgroundHealthChecks implements SchedulingConfigurer {
+
+	private final HealthContributorRegistry registry;
+
+	private final HealthCheckProperties properties;
+
+	private final InstantSource clock;
+
+	private final MeterRegistry meterRegistry;
+
+	private final List<CachedHealthIndicator> indicators = new ArrayList<>();
+
+	BackgroundHealthChecks(HealthContributorRegistry registry, HealthCheckProperties properties, InstantSource clock,
+			MeterRegistry meterRegistry) {
+		this.registry = registry;
+		this.properties = properties;
+		this.clock = clock;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Replace the indicators of the registry by cached ones, once.
+	 * @return the cached indicators
+	 */
+	List<CachedHealthIndicator> cacheIndicators() {
+		if (this.indicators.isEmpty()) {
+			for (HealthContributors.Entry entry : this.registry.stream().toList()) {
+				HealthContributor cached = cache(entry.name(), entry.contributor());
+				if (cached != entry.contributor()) {
+					this.registry.unregisterContributor(entry.name());
+					this.registry.registerContributor(entry.name(), cached);
+				}
+			}
+		}
+		return this.indicators;
+	}
+
+	private HealthContributor cache(String name, HealthContributor contributor) {
+		if (contributor instanceof CompositeHealthContributor composite) {
+			Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+			for (HealthContributors.Entry entry : composite) {
+				contributors.put(entry.name(), cache(name + "/" + entry.name(), entry.contributor()));
+			}
+			return CompositeHealthContributor.fromMap(contributors);
+		}
+		if (contributor instanceof HealthIndicator indicator && !isCheap(indicator)) {
+			CachedHealthIndicator cached = new CachedHealthIndicator(name, indicator, this.properties, this.clock);
+			Gauge.builder("health.check.age", cached, BackgroundHealthChecks::ageInSeconds)
+				.description("Age of the last result of the health indicator, or NaN when not checked yet")
+				.baseUnit("seconds")
+				.tag("indicator", name)
+				.register(this.meterRegistry);
+			this.indicators.add(cached);
+			return cached;
+		}
+		return contributor;
+	}
+
+	private static boolean isCheap(HealthIndicator indicator) {
+		return indicator instanceof AvailabilityStateHealthIndicator || indicator instanceof PingHealthIndicator
+				|| indicator instanceof CachedHealthIndicator;
+	}
+
+	private static double ageInSeconds(CachedHealthIndicator indicator) {
+		Duration age = indicator.getAge();
+		return (age != null) ? age.toNanos() / 1e9 : Double.NaN;
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar registrar) {
+		for (CachedHealthIndicator indicator : cacheIndicators()) {
+			registrar.addFixedDelayTask(indicator::refresh, this.properties.getInterval());
+		}
+	}
+
+}
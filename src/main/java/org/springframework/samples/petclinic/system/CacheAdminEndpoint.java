@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint to inspect, refresh or clear the application caches individually.
+ * <ul>
+ * <li>{@code GET /actuator/cacheAdmin} lists every cache with its size and statistics,
+ * the most expensive cache first: caches are ranked by their miss cost, that is the total
+ * time spent loading values on a miss</li>
+ * <li>{@code GET /actuator/cacheAdmin/{name}} describes a single cache</li>
+ * <li>{@code POST /actuator/cacheAdmin/{name}} clears the cache and reloads its hot
+ * entries through the matching {@link CacheRefresher CacheRefreshers}</li>
+ * <li>{@code DELETE /actuator/cacheAdmin/{name}} clears the cache</li>
+ * </ul>
+ * Refreshing or clearing a cache also clears it on the other replicas, through the
+ * {@link CacheInvalidationLog}.
+ */
+@Component
+@Endpoint(id = "cacheAdmin")
+public class CacheAdminEndpoint {
+
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+	private final CacheManager cacheManager;
+
+	private final List<CacheRefresher> refreshers;
+
+	private final CacheInvalidationLog invalidationLog;
+
+	CacheAdminEndpoint(CacheManager cacheManager, List<CacheRefresher> refreshers,
+			CacheInvalidationLog invalidationLog) {
+		this.cacheManager = cacheManager;
+		this.refreshers = refreshers;
+		this.invalidationLog = invalidationLog;
+	}
+
+	@ReadOperation
+	public Map<String, CacheDescriptor> caches() {
+		List<Map.Entry<String, CacheDescriptor>> descriptors = new ArrayList<>();
+		for (String name : this.cacheManager.getCacheNames()) {
+			Cache cache = getCache(name);
+			if (cache != null) {
+				descriptors.add(Map.entry(name, describe(cache)));
+			}
+		}
+		descriptors.sort(Comparator.comparing((Map.Entry<String, CacheDescriptor> entry) -> entry.getValue().missCost())
+			.reversed()
+			.thenComparing(Map.Entry::getKey));
+		Map<String, CacheDescriptor> caches = new LinkedHashMap<>();
+		descriptors.forEach(entry -> caches.put(entry.getKey(), entry.getValue()));
+		return caches;
+	}
+
+	@ReadOperation
+	public @Nullable CacheDescriptor cache(@Selector String name) {
+		Cache cache = getCache(name);
+		return (cache != null) ? describe(cache) : null;
+	}
+
+	@WriteOperation
+	public @Nullable CacheDescriptor refresh(@Selector String name) {
+		Cache cache = getCache(name);
+		if (cache == null) {
+			return null;
+		}
+		cache.invalidate();
+		this.invalidationLog.publish(name, null);
+		for (CacheRefresher refresher : this.refreshers) {
+			if (refresher.getCacheName().equals(name)) {
+				refresher.refresh();
+			}
+		}
+		return describe(cache);
+	}
+
+	@DeleteOperation
+	public @Nullable CacheDescriptor clear(@Selector String name) {
+		Cache cache = getCache(name);
+		if (cache == null) {
+			return null;
+		}
+		cache.invalidate();
+		this.invalidationLog.publish(name, null);
+		return describe(cache);
+	}
+
+	/**
+	 * Return the cache with the given name, without creating it on the fly like a dynamic
+	 * cache manager would.
+	 */
+	private @Nullable Cache getCache(String name) {
+		return this.cacheManager.getCacheNames().contains(name) ? this.cacheManager.getCache(name) : null;
+	}
+
+	private CacheDescriptor describe(Cache cache) {
+		if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+			CacheStats stats = nativeCache.stats();
+			double averageLoadMillis = stats.averageLoadPenalty() / NANOS_PER_MILLI;
+			return new CacheDescriptor(nativeCache.estimatedSize(), stats.hitCount(), stats.missCount(),
+					stats.evictionCount(), stats.hitRate(), stats.loadCount(), averageLoadMillis,
+					stats.missCount() * averageLoadMillis);
+		}
+		return new CacheDescriptor(-1, 0, 0, 0, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Description of a cache.
+	 *
+	 * @param size the estimated number of entries, or {@code -1} if unknown
+	 * @param hits the number of lookups that found an entry
+	 * @param misses the number of lookups that did not find an entry
+	 * @param evictions the number of entries evicted because of size or expiry
+	 * @param hitRate the ratio of hits to lookups
+	 * @param loads the number of values loaded on a miss
+	 * @param averageLoadMillis the average time spent loading a value, in milliseconds
+	 * @param missCost the estimated time spent on misses, in milliseconds: the number of
+	 * misses times the average load time
+	 */
+	public record CacheDescriptor(long size, long hits, long misses, long evictions, double hitRate, long loads,
+			double averageLoadMillis, double missCost) {
+
+	}
+
+}
@@ -16,38 +16,176 @@
 
 package org.springframework.samples.petclinic.system;
 
-import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import javax.cache.configuration.MutableConfiguration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
- * Cache configuration intended for caches providing the JCache API. This configuration
- * creates the used cache for the application and enables statistics that become
- * accessible via JMX.
+ * Cache configuration backed by Caffeine. Each cache is created up front from
+ * {@link PetClinicCacheProperties}, so every cache is bounded in size (or weight) and
+ * expires its entries. Statistics are recorded so that the size, hits, misses and
+ * evictions of each cache are published as Micrometer metrics, together with a load
+ * latency histogram (see {@link TimedStatsCounter}). Caches with a refresh interval
+ * reload their entries in the background once they are older than that interval (see
+ * {@link RefreshAheadCache}). Caching methods should use {@code @Cacheable(sync = true)}
+ * so that misses are loaded, and timed, by the cache, and so that stale entries can be
+ * refreshed. Whatever the cache, entries are loaded from the primary database rather than
+ * from a read replica, so that an evicted entry is not reloaded with the value it had
+ * before the change that evicted it.
  */
 @Configuration(proxyBeanMethods = false)
 @EnableCaching
+@EnableConfigurationProperties(PetClinicCacheProperties.class)
 class CacheConfiguration {
 
+	/**
+	 * Caches known to the application. Caches are registered eagerly so that their
+	 * metrics are bound at startup.
+	 */
+	static final String[] CACHE_NAMES = { "vets", "vetPages", "owners", FragmentCacheConfiguration.FRAGMENTS };
+
+	@Bean
+	public CaffeineCacheManager cacheManager(PetClinicCacheProperties properties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+		RefreshAheadCacheManager cacheManager = new RefreshAheadCacheManager(properties, registry);
+		cacheManager.setCaffeine(cacheBuilder(properties.getDefaults(), ConcurrentStatsCounter::new));
+		for (String name : CACHE_NAMES) {
+			cacheManager.registerCustomCache(name,
+					cacheBuilder(properties.getSpec(name), () -> new TimedStatsCounter(registry, name)).build());
+		}
+		return cacheManager;
+	}
+
+	/**
+	 * Key strategy for methods taking a {@link Pageable}: the key only retains the page
+	 * coordinates (number, size and sort) rather than the {@code Pageable} instance, and
+	 * every unpaged request shares a single key.
+	 */
 	@Bean
-	public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer() {
-		return cm -> cm.createCache("vets", cacheConfiguration());
+	public KeyGenerator pageableKeyGenerator() {
+		return (target, method, params) -> {
+			if (params.length == 1 && params[0] instanceof Pageable pageable) {
+				return pageable.isPaged()
+						? pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort()
+						: "unpaged";
+			}
+			return SimpleKeyGenerator.generateKey(params);
+		};
+	}
+
+	static Caffeine<Object, Object> cacheBuilder(PetClinicCacheProperties.Spec spec,
+			Supplier<? extends StatsCounter> statsCounter) {
+		Caffeine<Object, Object> builder = Caffeine.newBuilder()
+			.expireAfterWrite(spec.getExpireAfterWrite())
+			.recordStats(statsCounter);
+		Long maximumWeight = spec.getMaximumWeight();
+		if (maximumWeight != null) {
+			return builder.maximumWeight(maximumWeight).weigher((key, value) -> weigh(value));
+		}
+		return builder.maximumSize(spec.getMaximumSize());
+	}
+
+	/**
+	 * Weigh a cached value by the number of elements it holds, so that a weight bound
+	 * limits the number of cached entities regardless of the requested page sizes.
+	 */
+	private static int weigh(Object value) {
+		if (value instanceof Page<?> page) {
+			return Math.max(1, page.getNumberOfElements());
+		}
+		if (value instanceof Collection<?> collection) {
+			return Math.max(1, collection.size());
+		}
+		return 1;
+	}
+
+	/**
+	 * {@link CaffeineCacheManager} creating a {@link RefreshAheadCache} for every cache
+	 * with a refresh interval, all of them sharing a bounded pool of refresh threads, and
+	 * a {@link PrimaryLoadingCache} for the others.
+	 */
+	static class RefreshAheadCacheManager extends CaffeineCacheManager implements DisposableBean {
+
+		private static final int REFRESH_QUEUE_CAPACITY = 100;
+
+		private final PetClinicCacheProperties properties;
+
+		private final MeterRegistry registry;
+
+		private final ThreadPoolExecutor refreshExecutor;
+
+		RefreshAheadCacheManager(PetClinicCacheProperties properties, MeterRegistry registry) {
+			this.properties = properties;
+			this.registry = registry;
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+			threadFactory.setDaemon(true);
+			int threads = properties.getRefreshThreads();
+			this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+					new LinkedBlockingQueue<>(REFRESH_QUEUE_CAPACITY), threadFactory);
+			this.refreshExecutor.allowCoreThreadTimeOut(true);
+		}
+
+		@Override
+		protected Cache adaptCaffeineCache(String name,
+				com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+			Duration refreshAfterWrite = this.properties.getSpec(name).getRefreshAfterWrite();
+			if (refreshAfterWrite == null) {
+				return new PrimaryLoadingCache(name, cache, isAllowNullValues());
+			}
+			return new RefreshAheadCache(name, cache, isAllowNullValues(), refreshAfterWrite, this.refreshExecutor,
+					this.registry);
+		}
+
+		@Override
+		public void destroy() {
+			this.refreshExecutor.shutdownNow();
+		}
+
 	}
 
 	/**
-	 * Create a simple configuration that enable statistics via the JCache programmatic
-	 * configuration API.
-	 * <p>
-	 * Within the configuration object that is provided by the JCache API standard, there
-	 * is only a very limited set of configuration options. The really relevant
-	 * configuration options (like the size limit) must be set via a configuration
-	 * mechanism that is provided by the selected JCache implementation.
+	 * {@link CaffeineCache} loading its entries from the primary database (see
+	 * {@link ReplicaRoutingDataSource#loadingOnPrimary(Callable)}).
 	 */
-	private javax.cache.configuration.Configuration<Object, Object> cacheConfiguration() {
-		return new MutableConfiguration<>().setStatisticsEnabled(true);
+	static class PrimaryLoadingCache extends CaffeineCache {
+
+		PrimaryLoadingCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+				boolean allowNullValues) {
+			super(name, cache, allowNullValues);
+		}
+
+		@Override
+		public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+			return super.get(key, ReplicaRoutingDataSource.loadingOnPrimary(valueLoader));
+		}
+
 	}
 
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propagates cache evictions to every replica sharing the database, without any extra
+ * infrastructure. Evictions are appended to the {@code cache_invalidation} table, and
+ * every replica tails that table every {@code petclinic.cache.invalidation.poll-interval}
+ * and evicts the matching entries from its own caches, ignoring the ones it published
+ * itself. The first poll starts from the current end of the log, as the caches are empty
+ * at that point.
+ * <p>
+ * Ids are allocated before the inserting transaction commits, so an invalidation may
+ * become visible after one with a higher id. The poller therefore only moves past an id
+ * once every lower id has been seen, or once the gap is older than
+ * {@code petclinic.cache.invalidation.gap-timeout} (the id belonged to a rolled back
+ * insert). Rows above that watermark are read again, and applied once.
+ * <p>
+ * Invalidations older than {@code petclinic.cache.invalidation.retention} are deleted by
+ * a single instance, as a {@link ClusterJob}.
+ *
+ * @see PetClinicCacheProperties.Invalidation
+ */
+@Component
+public class CacheInvalidationLog implements SchedulingConfigurer {
+
+	private static final Log logger = LogFactory.getLog(CacheInvalidationLog.class);
+
+	private final String origin = UUID.randomUUID().toString();
+
+	private final JdbcClient jdbcClient;
+
+	private final CacheManager cacheManager;
+
+	private final PetClinicCacheProperties.Invalidation properties;
+
+	private final SortedSet<Long> applied = new TreeSet<>();
+
+	private long watermark = -1;
+
+	private long gapStart;
+
+	private boolean gap;
+
+	CacheInvalidationLog(JdbcClient jdbcClient, CacheManager cacheManager, PetClinicCacheProperties properties) {
+		this.jdbcClient = jdbcClient;
+		this.cacheManager = cacheManager;
+		this.properties = properties.getInvalidation();
+	}
+
+	/**
+	 * Ask the other replicas to evict an entry, or a whole cache. Should be called once
+	 * the change has been committed, so that the other replicas do not reload the
+	 * previous state. A failure is logged rather than thrown: the other replicas then
+	 * serve the stale entry until it expires.
+	 * @param cacheName the name of the cache
+	 * @param key the key of the entry to evict, or {@code null} to clear the cache
+	 */
+	public void publish(String cacheName, @Nullable String key) {
+		try {
+			this.jdbcClient.sql("INSERT INTO cache_invalidation (origin, cache_name, cache_key) VALUES (?, ?, ?)")
+				.param(this.origin)
+				.param(cacheName)
+				.param(key)
+				.update();
+		}
+		catch (DataAccessException ex) {
+			logger.warn("Could not publish invalidation of cache '" + cacheName + "'", ex);
+		}
+	}
+
+	/**
+	 * Apply the invalidations published by other replicas since the last poll.
+	 */
+	synchronized void poll() {
+		if (this.watermark < 0) {
+			this.watermark = this.jdbcClient.sql("SELECT COALESCE(MAX(id), 0) FROM cache_invalidation")
+				.query(Long.class)
+				.single();
+			return;
+		}
+		List<Invalidation> invalidations = this.jdbcClient
+			.sql("SELECT id, origin, cache_name, cache_key FROM cache_invalidation WHERE id > ? ORDER BY id")
+			.param(this.watermark)
+			.query(Invalidation.class)
+			.list();
+		for (Invalidation invalidation : invalidations) {
+			if (this.applied.add(invalidation.id()) && !this.origin.equals(invalidation.origin())) {
+				apply(invalidation);
+			}
+		}
+		advanceWatermark();
+	}
+
+	private void apply(Invalidation invalidation) {
+		if (!this.cacheManager.getCacheNames().contains(invalidation.cacheName())) {
+			return;
+		}
+		Cache cache = this.cacheManager.getCache(invalidation.cacheName());
+		if (cache == null) {
+			return;
+		}
+		String key = invalidation.cacheKey();
+		if (key != null) {
+			cache.evict(key);
+		}
+		else {
+			cache.invalidate();
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Applied " + invalidation);
+		}
+	}
+
+	private void advanceWatermark() {
+		while (!this.applied.isEmpty()) {
+			long next = this.applied.first();
+			if (next != this.watermark + 1) {
+				long now = System.nanoTime();
+				if (!this.gap) {
+					this.gap = true;
+					this.gapStart = now;
+					return;
+				}
+				if (now - this.gapStart < this.properties.getGapTimeout().toNanos()) {
+					return;
+				}
+			}
+			this.applied.remove(next);
+			this.watermark = next;
+			this.gap = false;
+		}
+	}
+
+	/**
+	 * Delete the invalidations that are older than the retention period.
+	 */
+	void purge() {
+		Instant threshold = Instant.now().minus(this.properties.getRetention());
+		this.jdbcClient.sql("DELETE FROM cache_invalidation WHERE created_at < ?")
+			.param(Timestamp.from(threshold))
+			.update();
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar registrar) {
+		registrar.addFixedDelayTask(this::poll, this.properties.getPollInterval());
+	}
+
+	/**
+	 * A row of the {@code cache_invalidation} table.
+	 */
+	record Invalidation(long id, String origin, String cacheName, @Nullable String cacheKey) {
+
+	}
+
+	/**
+	 * Delete the invalidations that are older than the retention period, every minute.
+	 */
+	@Component
+	static class Purge implements ClusterJob {
+
+		private final CacheInvalidationLog invalidationLog;
+
+		Purge(CacheInvalidationLog invalidationLog) {
+			this.invalidationLog = invalidationLog;
+		}
+
+		@Override
+		public String getName() {
+			return "cache-invalidation-purge";
+		}
+
+		@Override
+		public Duration getInterval() {
+			return Duration.ofMinutes(1);
+		}
+
+		@Override
+		public void run() {
+			this.invalidationLog.purge();
+		}
+
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+/**
+ * Callback that repopulates the hot entries of a cache after it has been cleared, for
+ * example through the {@link CacheAdminEndpoint}.
+ */
+public interface CacheRefresher {
+
+	/**
+	 * Return the name of the cache this refresher populates.
+	 * @return the cache name
+	 */
+	String getCacheName();
+
+	/**
+	 * Load the hot entries of the cache.
+	 */
+	void refresh();
+
+}
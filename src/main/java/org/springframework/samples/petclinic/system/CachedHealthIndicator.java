@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.boot.health.contributor.Status;
+
+/**
+ * {@link HealthIndicator} reporting the last result of another one, which is evaluated by
+ * calling {@link #refresh()} in the background. Reading the health is therefore cheap and
+ * does not depend on what the indicator checks, such as the database.
+ * <p>
+ * The reported health is down once the last result is older than
+ * {@code petclinic.health-checks.max-age}. A failed evaluation is only reported once
+ * {@code petclinic.health-checks.failure-threshold} evaluations in a row have failed:
+ * until then, the last successful result is reported, with the number of failures. The
+ * details tell when the result was obtained and how old it is.
+ */
+class CachedHealthIndicator implements HealthIndicator {
+
+	private final String name;
+
+	private final HealthIndicator delegate;
+
+	private final HealthCheckProperties properties;
+
+	private final InstantSource clock;
+
+	private volatile @Nullable Result result;
+
+	CachedHealthIndicator(String name, HealthIndicator delegate, HealthCheckProperties properties,
+			InstantSource clock) {
+		this.name = name;
+		this.delegate = delegate;
+		this.properties = properties;
+		this.clock = clock;
+	}
+
+	/**
+	 * Return the name of the indicator in the health endpoint.
+	 * @return the name of the indicator
+	 */
+	String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Evaluate the indicator, and keep its result.
+	 */
+	void refresh() {
+		Health health;
+		try {
+			Health result = this.delegate.health(true);
+			health = (result != null) ? result : Health.unknown().build();
+		}
+		catch (RuntimeException ex) {
+			health = Health.down(ex).build();
+		}
+		Result previous = this.result;
+		Instant checkedAt = this.clock.instant();
+		if (Status.UP.equals(health.getStatus())) {
+			this.result = new Result(health, health, 0, checkedAt);
+		}
+		else {
+			this.result = new Result(health, (previous != null) ? previous.lastHealthy() : null,
+					(previous != null) ? previous.failures() + 1 : 1, checkedAt);
+		}
+	}
+
+	/**
+	 * Return the age of the last result.
+	 * @return the age of the last result, or {@code null} if the indicator has not been
+	 * evaluated yet
+	 */
+	@Nullable Duration getAge() {
+		Result result = this.result;
+		return (result != null) ? Duration.between(result.checkedAt(), this.clock.instant()) : null;
+	}
+
+	@Override
+	public Health health() {
+		Result result = this.result;
+		if (result == null) {
+			return Health.unknown().withDetail("reason", "Not checked yet").build();
+		}
+		Duration age = Duration.between(result.checkedAt(), this.clock.instant());
+		Health.Builder builder;
+		if (age.compareTo(this.properties.getMaxAge()) > 0) {
+			builder = Health.down()
+				.withDetails(result.latest().getDetails())
+				.withDetail("reason", "Last check is too old");
+		}
+		else {
+			Health lastHealthy = result.lastHealthy();
+			Health health = (result.failures() < this.properties.getFailureThreshold() && lastHealthy != null)
+					? lastHealthy : result.latest();
+			builder = Health.status(health.getStatus()).withDetails(health.getDetails());
+		}
+		return builder.withDetail("checkedAt", result.checkedAt())
+			.withDetail("ageMillis", age.toMillis())
+			.withDetail("failures", result.failures())
+			.build();
+	}
+
+	/**
+	 * Result of the evaluations of the indicator.
+	 *
+	 * @param latest the result of the last evaluation
+	 * @param lastHealthy the result of the last successful evaluation, if any
+	 * @param failures the number of failed evaluations since the last successful one
+	 * @param checkedAt when the last evaluation completed
+	 */
+	private record Result(Health latest, @Nullable Health lastHealthy, int failures, Instant checkedAt) {
+
+	}
+
+}
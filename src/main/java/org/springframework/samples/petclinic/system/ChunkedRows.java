@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.AbstractCollection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Rows of a list page, read chunk by chunk as they are iterated. The first chunk is read
+ * up front, typically together with the total number of rows, and each following chunk
+ * only once the previous one has been consumed, by a separate query. A template rendering
+ * the rows with {@code th:each} therefore writes the first rows out while the next ones
+ * are still to be read, and only holds one chunk at a time.
+ * <p>
+ * Every iteration reads the chunks again, and stops early if a chunk comes back empty,
+ * for example because rows were deleted in the meantime.
+ *
+ * @param <T> the type of the rows
+ */
+public final class ChunkedRows<T> extends AbstractCollection<T> {
+
+	private final List<T> first;
+
+	private final int size;
+
+	private final IntFunction<? extends List<T>> chunks;
+
+	/**
+	 * Create a new instance.
+	 * @param first the first chunk
+	 * @param size the number of rows of the page
+	 * @param chunks function reading a chunk, given its index in the page, the first
+	 * chunk having index 0
+	 */
+	public ChunkedRows(List<T> first, int size, IntFunction<? extends List<T>> chunks) {
+		this.first = first;
+		this.size = size;
+		this.chunks = chunks;
+	}
+
+	/**
+	 * Return the number of rows of a page.
+	 * @param page the number of the page, starting from 1
+	 * @param pageSize the size of the pages
+	 * @param total the total number of rows
+	 * @return the number of rows of the page
+	 */
+	public static int rowsOnPage(int page, int pageSize, long total) {
+		return (int) Math.max(0, Math.min(pageSize, total - (long) (page - 1) * pageSize));
+	}
+
+	/**
+	 * Return the number of pages.
+	 * @param pageSize the size of the pages
+	 * @param total the total number of rows
+	 * @return the number of pages
+	 */
+	public static int pageCount(int pageSize, long total) {
+		return (int) ((total + pageSize - 1) / pageSize);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<>() {
+
+			private int chunk;
+
+			private Iterator<T> rows = ChunkedRows.this.first.iterator();
+
+			private int remaining = ChunkedRows.this.size;
+
+			@Override
+			public boolean hasNext() {
+				while (this.remaining > 0 && !this.rows.hasNext()) {
+					List<T> next = ChunkedRows.this.chunks.apply(++this.chunk);
+					if (next.isEmpty()) {
+						this.remaining = 0;
+						this.rows = Collections.emptyIterator();
+					}
+					else {
+						this.rows = next.iterator();
+					}
+				}
+				return this.remaining > 0;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				this.remaining--;
+				return this.rows.next();
+			}
+
+		};
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public String toString() {
+		// Not the rows, which would have to be read again
+		return "ChunkedRows[size=" + this.size + "]";
+	}
+
+}
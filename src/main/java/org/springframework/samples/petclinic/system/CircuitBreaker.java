@@ -0,0 +1,245 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Circuit breaker, counting failed and slow calls to a resource and rejecting calls while
+ * the resource looks degraded:
+ * <ul>
+ * <li>{@link State#CLOSED}: calls are permitted. The circuit opens once
+ * {@code failure-threshold} calls failed, or took longer than
+ * {@code slow-call-threshold}, within {@code failure-window}.</li>
+ * <li>{@link State#OPEN}: calls are rejected for {@code open-duration}.</li>
+ * <li>{@link State#HALF_OPEN}: a single trial call is permitted. The circuit closes if it
+ * succeeds, and opens again if it fails.</li>
+ * </ul>
+ * Successful calls do not offset failures, so that fast cached reads cannot hide a
+ * failing database. Permitting calls is lock-free while the circuit is closed.
+ * <p>
+ * Publishes a {@code circuitbreaker.state} gauge per state (1 for the current state), and
+ * {@code circuitbreaker.failures} and {@code circuitbreaker.rejected} counters.
+ *
+ * @see CircuitBreakerProperties
+ */
+public class CircuitBreaker {
+
+	private static final Log logger = LogFactory.getLog(CircuitBreaker.class);
+
+	private final String name;
+
+	private final int failureThreshold;
+
+	private final long failureWindowNanos;
+
+	private final long slowCallNanos;
+
+	private final long openNanos;
+
+	private final LongSupplier nanoTime;
+
+	private final Deque<Long> failures = new ArrayDeque<>();
+
+	private final Counter failureCount;
+
+	private final Counter rejectedCount;
+
+	private volatile State state = State.CLOSED;
+
+	private long openedAt;
+
+	private boolean trialInFlight;
+
+	CircuitBreaker(String name, CircuitBreakerProperties properties, LongSupplier nanoTime, MeterRegistry registry) {
+		this.name = name;
+		this.failureThreshold = properties.getFailureThreshold();
+		this.failureWindowNanos = properties.getFailureWindow().toNanos();
+		this.slowCallNanos = properties.getSlowCallThreshold().toNanos();
+		this.openNanos = properties.getOpenDuration().toNanos();
+		this.nanoTime = nanoTime;
+		for (State state : State.values()) {
+			Gauge.builder("circuitbreaker.state", this, breaker -> (breaker.state == state) ? 1 : 0)
+				.description("Whether the circuit breaker is in the given state")
+				.tag("name", name)
+				.tag("state", state.name().toLowerCase(Locale.ROOT))
+				.register(registry);
+		}
+		this.failureCount = Counter.builder("circuitbreaker.failures")
+			.description("Calls that failed or were too slow")
+			.tag("name", name)
+			.register(registry);
+		this.rejectedCount = Counter.builder("circuitbreaker.rejected")
+			.description("Calls rejected while the circuit was open")
+			.tag("name", name)
+			.register(registry);
+	}
+
+	/**
+	 * Return the name of the guarded resource.
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the current state, moving from {@link State#OPEN} to {@link State#HALF_OPEN}
+	 * once the open duration has elapsed.
+	 * @return the current state
+	 */
+	public State getState() {
+		State state = this.state;
+		if (state == State.OPEN) {
+			synchronized (this) {
+				if (this.state == State.OPEN && this.nanoTime.getAsLong() - this.openedAt >= this.openNanos) {
+					transition(State.HALF_OPEN);
+				}
+				return this.state;
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Return the number of failed or slow calls within the failure window.
+	 * @return the number of recent failures
+	 */
+	public synchronized int getRecentFailures() {
+		expireFailures(this.nanoTime.getAsLong());
+		return this.failures.size();
+	}
+
+	/**
+	 * Ask for permission to make a call. Every permitted call must be followed by
+	 * {@link #onSuccess(long)} or {@link #onFailure()}.
+	 * @return whether the call is permitted
+	 */
+	public boolean tryAcquirePermission() {
+		if (this.state == State.CLOSED) {
+			return true;
+		}
+		synchronized (this) {
+			if (getState() == State.HALF_OPEN && !this.trialInFlight) {
+				this.trialInFlight = true;
+				return true;
+			}
+			if (this.state == State.CLOSED) {
+				return true;
+			}
+		}
+		this.rejectedCount.increment();
+		return false;
+	}
+
+	/**
+	 * Record a call that completed, possibly too slowly.
+	 * @param durationNanos the duration of the call
+	 */
+	public void onSuccess(long durationNanos) {
+		if (durationNanos >= this.slowCallNanos) {
+			onFailure();
+			return;
+		}
+		if (this.state == State.CLOSED) {
+			return;
+		}
+		synchronized (this) {
+			if (this.state == State.HALF_OPEN) {
+				this.trialInFlight = false;
+				this.failures.clear();
+				transition(State.CLOSED);
+			}
+		}
+	}
+
+	/**
+	 * Record a call that failed.
+	 */
+	public synchronized void onFailure() {
+		this.failureCount.increment();
+		long now = this.nanoTime.getAsLong();
+		if (this.state == State.HALF_OPEN) {
+			this.trialInFlight = false;
+			open(now);
+			return;
+		}
+		if (this.state == State.OPEN) {
+			return;
+		}
+		expireFailures(now);
+		this.failures.addLast(now);
+		if (this.failures.size() >= this.failureThreshold) {
+			open(now);
+		}
+	}
+
+	private void open(long now) {
+		this.openedAt = now;
+		this.failures.clear();
+		transition(State.OPEN);
+	}
+
+	private void expireFailures(long now) {
+		while (!this.failures.isEmpty() && now - this.failures.peekFirst() > this.failureWindowNanos) {
+			this.failures.removeFirst();
+		}
+	}
+
+	private void transition(State state) {
+		State previous = this.state;
+		this.state = state;
+		if (state == State.OPEN) {
+			logger.warn("Circuit breaker '" + this.name + "' moved from " + previous + " to " + state);
+		}
+		else {
+			logger.info("Circuit breaker '" + this.name + "' moved from " + previous + " to " + state);
+		}
+	}
+
+	/**
+	 * State of a {@link CircuitBreaker}.
+	 */
+	public enum State {
+
+		/**
+		 * Calls are permitted.
+		 */
+		CLOSED,
+
+		/**
+		 * Calls are rejected.
+		 */
+		OPEN,
+
+		/**
+		 * A single trial call is permitted.
+		 */
+		HALF_OPEN
+
+	}
+
+}
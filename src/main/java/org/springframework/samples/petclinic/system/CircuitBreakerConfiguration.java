@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Guards every Spring Data repository with a {@link CircuitBreaker} on the database, see
+ * {@link RepositoryCircuitBreakerInterceptor}. Reads that can be served from the last
+ * known value while the database is unavailable use {@link StaleReads}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CircuitBreakerProperties.class)
+class CircuitBreakerConfiguration {
+
+	@Bean
+	public CircuitBreaker databaseCircuitBreaker(CircuitBreakerProperties properties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new CircuitBreaker("database", properties, System::nanoTime,
+				meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+	}
+
+	/**
+	 * Add the {@link RepositoryCircuitBreakerInterceptor} to every repository, as the
+	 * outermost advice of the repository proxy so that rejected calls do not even open a
+	 * transaction. The circuit breaker is only resolved on the first call.
+	 */
+	@Bean
+	static BeanPostProcessor repositoryCircuitBreakerPostProcessor(ObjectProvider<CircuitBreaker> circuitBreaker) {
+		RepositoryCircuitBreakerInterceptor interceptor = new RepositoryCircuitBreakerInterceptor(
+				circuitBreaker::getObject);
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer((factory) -> factory.addRepositoryProxyPostProcessor(
+							(proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, interceptor)));
+				}
+				return bean;
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint describing the database {@link CircuitBreaker}: {@code GET
+ * /actuator/circuitBreaker} returns its state, the number of recent failures, the total
+ * number of failed and rejected calls, and the number of reads served with a stale value
+ * (see {@link StaleReads}), by kind of read.
+ */
+@Component
+@Endpoint(id = "circuitBreaker")
+public class CircuitBreakerEndpoint {
+
+	private final CircuitBreaker circuitBreaker;
+
+	private final MeterRegistry registry;
+
+	CircuitBreakerEndpoint(CircuitBreaker circuitBreaker, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.circuitBreaker = circuitBreaker;
+		this.registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+	}
+
+	@ReadOperation
+	public CircuitBreakerDescriptor circuitBreaker() {
+		Map<String, Long> staleReads = new TreeMap<>();
+		for (Counter counter : this.registry.find("stale.reads").counters()) {
+			staleReads.put(String.valueOf(counter.getId().getTag("name")), (long) counter.count());
+		}
+		return new CircuitBreakerDescriptor(this.circuitBreaker.getName(), this.circuitBreaker.getState(),
+				this.circuitBreaker.getRecentFailures(), count("circuitbreaker.failures"),
+				count("circuitbreaker.rejected"), staleReads);
+	}
+
+	private long count(String name) {
+		Counter counter = this.registry.find(name).tag("name", this.circuitBreaker.getName()).counter();
+		return (counter != null) ? (long) counter.count() : 0;
+	}
+
+	/**
+	 * Description of the circuit breaker.
+	 *
+	 * @param name the name of the guarded resource
+	 * @param state the current state
+	 * @param recentFailures the number of failed or slow calls within the failure window
+	 * @param failures the total number of failed or slow calls
+	 * @param rejected the total number of calls rejected while the circuit was open
+	 * @param staleReads the number of reads served with a stale value, by kind of read
+	 */
+	public record CircuitBreakerDescriptor(String name, CircuitBreaker.State state, int recentFailures, long failures,
+			long rejected, Map<String, Long> staleReads) {
+
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the circuit breaker guarding the repositories (see {@link CircuitBreaker}).
+ *
+ * <pre class="code">
+ * petclinic.circuit-breaker.failure-threshold=5
+ * petclinic.circuit-breaker.failure-window=10s
+ * petclinic.circuit-breaker.open-duration=30s
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.circuit-breaker")
+public class CircuitBreakerProperties {
+
+	/**
+	 * Number of failed or slow calls within the failure window that opens the circuit.
+	 */
+	private int failureThreshold = 5;
+
+	/**
+	 * Period over which failed or slow calls are counted.
+	 */
+	private Duration failureWindow = Duration.ofSeconds(10);
+
+	/**
+	 * Duration above which a successful call is counted as a failure.
+	 */
+	private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+	/**
+	 * Time during which calls are rejected once the circuit is open, before a single
+	 * trial call is let through.
+	 */
+	private Duration openDuration = Duration.ofSeconds(30);
+
+	public int getFailureThreshold() {
+		return this.failureThreshold;
+	}
+
+	public void setFailureThreshold(int failureThreshold) {
+		this.failureThreshold = failureThreshold;
+	}
+
+	public Duration getFailureWindow() {
+		return this.failureWindow;
+	}
+
+	public void setFailureWindow(Duration failureWindow) {
+		this.failureWindow = failureWindow;
+	}
+
+	public Duration getSlowCallThreshold() {
+		return this.slowCallThreshold;
+	}
+
+	public void setSlowCallThreshold(Duration slowCallThreshold) {
+		this.slowCallThreshold = slowCallThreshold;
+	}
+
+	public Duration getOpenDuration() {
+		return this.openDuration;
+	}
+
+	public void setOpenDuration(Duration openDuration) {
+		this.openDuration = openDuration;
+	}
+
+}
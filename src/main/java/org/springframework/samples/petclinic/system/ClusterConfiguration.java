@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.util.Assert;
+
+/**
+ * Cluster configuration, enabled by {@code petclinic.cluster.owner-affinity}. Members are
+ * the ones listed in {@code petclinic.cluster.members} or, when none is listed, the ones
+ * heartbeating in the {@code cluster_member} table.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("petclinic.cluster.owner-affinity")
+@EnableConfigurationProperties(ClusterProperties.class)
+class ClusterConfiguration {
+
+	@Bean
+	public ClusterMembership clusterMembership(ClusterProperties properties, JdbcClient jdbcClient) {
+		String self = self(properties);
+		if (!properties.getMembers().isEmpty()) {
+			return new StaticClusterMembership(self, properties.getMembers());
+		}
+		return new DatabaseClusterMembership(self, jdbcClient, properties);
+	}
+
+	@Bean
+	public ClusterRouter clusterRouter(ClusterProperties properties, ClusterMembership membership) {
+		return new ClusterRouter(self(properties), membership, properties);
+	}
+
+	private static String self(ClusterProperties properties) {
+		String self = properties.getSelf();
+		Assert.state(self != null, "petclinic.cluster.self is required when owner affinity is enabled");
+		return self;
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+/**
+ * A maintenance job run by a single instance of the application at a time, at most once
+ * per window of its interval (see {@link ClusterScheduler}).
+ */
+public interface ClusterJob {
+
+	/**
+	 * Return the name of this job, which identifies its runs across instances.
+	 * @return the job name
+	 */
+	String getName();
+
+	/**
+	 * Return the interval of this job. Windows are aligned on the epoch, so that every
+	 * instance agrees on them, and the job runs once as soon as possible in each window.
+	 * @return the job interval
+	 */
+	Duration getInterval();
+
+	/**
+	 * Run the job.
+	 */
+	void run();
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint describing the {@link ClusterScheduler}: {@code GET
+ * /actuator/clusterJobs} returns this instance and the current leader, and the last runs
+ * of every job, whichever instance ran them.
+ */
+@Endpoint(id = "clusterJobs")
+public class ClusterJobsEndpoint {
+
+	private static final int RUNS = 10;
+
+	private final ClusterScheduler scheduler;
+
+	private final LeaderElection election;
+
+	ClusterJobsEndpoint(ClusterScheduler scheduler, LeaderElection election) {
+		this.scheduler = scheduler;
+		this.election = election;
+	}
+
+	@ReadOperation
+	public ClusterJobsDescriptor clusterJobs() {
+		List<JobDescriptor> jobs = this.scheduler.getJobs()
+			.stream()
+			.map((job) -> new JobDescriptor(job.getName(), job.getInterval(),
+					this.scheduler.getRuns(job.getName(), RUNS)))
+			.toList();
+		return new ClusterJobsDescriptor(this.election.getSelf(), this.election.getLeader(), jobs);
+	}
+
+	/**
+	 * Description of the cluster jobs.
+	 *
+	 * @param instance the identifier of this instance
+	 * @param leader the identifier of the instance running the jobs, or {@code null} if
+	 * none currently does
+	 * @param jobs the jobs
+	 */
+	public record ClusterJobsDescriptor(String instance, @Nullable String leader, List<JobDescriptor> jobs) {
+
+	}
+
+	/**
+	 * Description of a cluster job.
+	 *
+	 * @param name the name of the job
+	 * @param interval the interval of the job
+	 * @param runs the last runs of the job, latest first
+	 */
+	public record JobDescriptor(String name, Duration interval, List<ClusterScheduler.JobRun> runs) {
+
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the cluster formed by the replicas of the application, used to partition
+ * owner caching across them (see {@link ClusterRouter}). Members are identified by their
+ * base URL. They are either listed statically, or discovered through the
+ * {@code cluster_member} heartbeat table when no member is listed.
+ *
+ * <pre class="code">
+ * petclinic.cluster.owner-affinity=true
+ * petclinic.cluster.self=http://localhost:8081
+ * petclinic.cluster.members=http://localhost:8080,http://localhost:8081
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.cluster")
+public class ClusterProperties {
+
+	/**
+	 * Whether each owner is cached by a single member, chosen by consistent hashing of
+	 * the owner id, and fetched from that member by the others.
+	 */
+	private boolean ownerAffinity;
+
+	/**
+	 * Base URL under which the other members reach this one.
+	 */
+	private @Nullable String self;
+
+	/**
+	 * Base URLs of all the members, including this one. Members are discovered through
+	 * the database when empty.
+	 */
+	private List<String> members = new ArrayList<>();
+
+	/**
+	 * Interval between two heartbeats of this member, when discovering members through
+	 * the database.
+	 */
+	private Duration heartbeatInterval = Duration.ofSeconds(5);
+
+	/**
+	 * Time after its last heartbeat after which a member is considered gone.
+	 */
+	private Duration memberTimeout = Duration.ofSeconds(15);
+
+	/**
+	 * Maximum time to wait for a response from another member.
+	 */
+	private Duration peerTimeout = Duration.ofMillis(500);
+
+	/**
+	 * Number of points of each member on the hash ring. More points balance the keys more
+	 * evenly between members.
+	 */
+	private int virtualNodes = 128;
+
+	public boolean isOwnerAffinity() {
+		return this.ownerAffinity;
+	}
+
+	public void setOwnerAffinity(boolean ownerAffinity) {
+		this.ownerAffinity = ownerAffinity;
+	}
+
+	public @Nullable String getSelf() {
+		return this.self;
+	}
+
+	public void setSelf(@Nullable String self) {
+		this.self = self;
+	}
+
+	public List<String> getMembers() {
+		return this.members;
+	}
+
+	public void setMembers(List<String> members) {
+		this.members = members;
+	}
+
+	public Duration getHeartbeatInterval() {
+		return this.heartbeatInterval;
+	}
+
+	public void setHeartbeatInterval(Duration heartbeatInterval) {
+		this.heartbeatInterval = heartbeatInterval;
+	}
+
+	public Duration getMemberTimeout() {
+		return this.memberTimeout;
+	}
+
+	public void setMemberTimeout(Duration memberTimeout) {
+		this.memberTimeout = memberTimeout;
+	}
+
+	public Duration getPeerTimeout() {
+		return this.peerTimeout;
+	}
+
+	public void setPeerTimeout(Duration peerTimeout) {
+		this.peerTimeout = peerTimeout;
+	}
+
+	public int getVirtualNodes() {
+		return this.virtualNodes;
+	}
+
+	public void setVirtualNodes(int virtualNodes) {
+		this.virtualNodes = virtualNodes;
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Optional;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Routes keys to the member of the cluster owning them, and fetches data from the other
+ * members. Keys are assigned through a {@link ConsistentHashRing} of the current
+ * {@link ClusterMembership members}, rebuilt whenever they change. Only available when
+ * {@code petclinic.cluster.owner-affinity} is enabled.
+ *
+ * @see ClusterProperties
+ */
+public class ClusterRouter {
+
+	private final String self;
+
+	private final ClusterMembership membership;
+
+	private final int virtualNodes;
+
+	private final RestClient restClient;
+
+	private volatile Ring ring;
+
+	ClusterRouter(String self, ClusterMembership membership, ClusterProperties properties) {
+		this.self = self;
+		this.membership = membership;
+		this.virtualNodes = properties.getVirtualNodes();
+		HttpClient httpClient = HttpClient.newBuilder().connectTimeout(properties.getPeerTimeout()).build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(properties.getPeerTimeout());
+		this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+		this.ring = new Ring(List.of(self), new ConsistentHashRing(List.of(self), this.virtualNodes));
+	}
+
+	/**
+	 * Return the base URL of this member.
+	 * @return the base URL of this member
+	 */
+	public String getSelf() {
+		return this.self;
+	}
+
+	/**
+	 * Return the base URL of the member owning the given key.
+	 * @param key the key
+	 * @return the base URL of the owning member
+	 */
+	public String memberFor(Object key) {
+		return ring().hashRing().memberFor(key);
+	}
+
+	/**
+	 * Return whether this member owns the given key.
+	 * @param key the key
+	 * @return {@code true} if this member owns the key
+	 */
+	public boolean isLocal(Object key) {
+		return this.self.equals(memberFor(key));
+	}
+
+	/**
+	 * Fetch a JSON document from another member.
+	 * @param member the base URL of the member
+	 * @param path the path of the document, including the leading slash
+	 * @return the document, or {@code null} if the member answered with a 404
+	 * @throws RestClientException if the member could not be reached in time, or answered
+	 * with another error
+	 */
+	public @Nullable String fetch(String member, String path) {
+		return this.restClient.get()
+			.uri(member + path)
+			.accept(MediaType.APPLICATION_JSON)
+			.exchangeForRequiredValue((request, response) -> {
+				if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+					return Optional.<String>empty();
+				}
+				if (!response.getStatusCode().is2xxSuccessful()) {
+					throw new RestClientException(member + path + " answered with " + response.getStatusCode());
+				}
+				return Optional.ofNullable(response.bodyTo(String.class));
+			})
+			.orElse(null);
+	}
+
+	private Ring ring() {
+		Ring ring = this.ring;
+		List<String> members = this.membership.getMembers();
+		if (!members.equals(ring.members())) {
+			ring = new Ring(members, new ConsistentHashRing(members, this.virtualNodes));
+			this.ring = ring;
+		}
+		return ring;
+	}
+
+	private record Ring(List<String> members, ConsistentHashRing hashRing) {
+
+	}
+
+}
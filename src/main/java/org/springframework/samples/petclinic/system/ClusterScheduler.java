@@ -0,0 +1,292 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Runs the {@link ClusterJob cluster jobs} on a single instance of the application. Every
+ * {@code petclinic.scheduler.renew-interval}, each instance renews or tries to take over
+ * the {@link LeaderElection leadership}, and the leader starts the jobs that are due. The
+ * leader loses its leadership once its lease expires while the database is unavailable,
+ * and gives it up when it shuts down.
+ * <p>
+ * A job runs at most once per window of its interval: the leader first claims the window
+ * by inserting the run into the {@code job_run} table, whose primary key is the job and
+ * the window, so that two instances both believing to be the leader, for instance after a
+ * lease expired during a long garbage collection, cannot run the same window twice. A
+ * window is missed if the previous run of the job is still going, if the job could not be
+ * started, in which case the run is recorded as failed, or if no instance is the leader
+ * during the whole window. The {@code job_run} table also keeps the history of the runs,
+ * for {@code petclinic.scheduler.history-retention}.
+ * <p>
+ * Publishes a {@code scheduler.job.duration} timer of the runs, tagged with the
+ * {@code job} and its {@code outcome}, and a {@code scheduler.lock.contention} counter of
+ * the windows already claimed by another instance, tagged with the job as {@code lock}.
+ */
+class ClusterScheduler implements SchedulingConfigurer, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(ClusterScheduler.class);
+
+	private static final int MAX_ERROR_LENGTH = 255;
+
+	private final LeaderElection election;
+
+	private final List<ClusterJob> jobs;
+
+	private final JdbcClient jdbcClient;
+
+	private final SchedulerProperties properties;
+
+	private final Executor jobExecutor;
+
+	private final InstantSource clock;
+
+	private final MeterRegistry registry;
+
+	private final Map<String, Instant> lastWindows = new ConcurrentHashMap<>();
+
+	private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+	ClusterScheduler(LeaderElection election, List<ClusterJob> jobs, JdbcClient jdbcClient,
+			SchedulerProperties properties, Executor jobExecutor, InstantSource clock, MeterRegistry registry) {
+		this.election = election;
+		List<ClusterJob> allJobs = new ArrayList<>(jobs);
+		allJobs.add(new HistoryPurge());
+		this.jobs = List.copyOf(allJobs);
+		this.jdbcClient = jdbcClient;
+		this.properties = properties;
+		this.jobExecutor = jobExecutor;
+		this.clock = clock;
+		this.registry = registry;
+	}
+
+	/**
+	 * Return the jobs, including the purge of the run history.
+	 * @return the jobs
+	 */
+	List<ClusterJob> getJobs() {
+		return this.jobs;
+	}
+
+	/**
+	 * Renew the leadership and, if this instance is the leader, start the jobs that are
+	 * due.
+	 */
+	void tick() {
+		if (!this.election.renew()) {
+			return;
+		}
+		Instant now = this.clock.instant();
+		for (ClusterJob job : this.jobs) {
+			Instant window = windowStart(job, now);
+			if (window.equals(this.lastWindows.get(job.getName())) || this.running.contains(job.getName())) {
+				continue;
+			}
+			boolean claimed = claim(job, window, now);
+			this.lastWindows.put(job.getName(), window);
+			if (claimed) {
+				this.running.add(job.getName());
+				try {
+					this.jobExecutor.execute(() -> run(job, window));
+				}
+				catch (RejectedExecutionException ex) {
+					// The window is claimed, so it is missed rather than left running
+					this.running.remove(job.getName());
+					logger.warn("Cluster job '" + job.getName() + "' was rejected: " + ex.getMessage());
+					finish(job, window, Outcome.FAILURE, "Rejected: " + ex.getMessage());
+				}
+			}
+		}
+	}
+
+	static Instant windowStart(ClusterJob job, Instant now) {
+		long interval = job.getInterval().toMillis();
+		return Instant.ofEpochMilli(Math.floorDiv(now.toEpochMilli(), interval) * interval);
+	}
+
+	private boolean claim(ClusterJob job, Instant window, Instant now) {
+		try {
+			this.jdbcClient
+				.sql("INSERT INTO job_run (job_name, window_start, owner, started_at, outcome) VALUES (?, ?, ?, ?, ?)")
+				.param(job.getName())
+				.param(Timestamp.from(window))
+				.param(this.election.getSelf())
+				.param(Timestamp.from(now))
+				.param(Outcome.RUNNING.name())
+				.update();
+			return true;
+		}
+		catch (DuplicateKeyException ex) {
+			Counter.builder("scheduler.lock.contention")
+				.description("Failed attempts to take a lock held by another instance")
+				.tag("lock", job.getName())
+				.register(this.registry)
+				.increment();
+			return false;
+		}
+	}
+
+	private void run(ClusterJob job, Instant window) {
+		long start = System.nanoTime();
+		Outcome outcome = Outcome.SUCCESS;
+		String error = null;
+		try {
+			job.run();
+		}
+		catch (RuntimeException ex) {
+			outcome = Outcome.FAILURE;
+			error = String.valueOf(ex.getMessage());
+			logger.warn("Cluster job '" + job.getName() + "' failed", ex);
+		}
+		finally {
+			this.running.remove(job.getName());
+		}
+		Timer.builder("scheduler.job.duration")
+			.description("Time spent running cluster jobs")
+			.tag("job", job.getName())
+			.tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+			.register(this.registry)
+			.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		finish(job, window, outcome, error);
+	}
+
+	private void finish(ClusterJob job, Instant window, Outcome outcome, @Nullable String error) {
+		try {
+			this.jdbcClient.sql(
+					"UPDATE job_run SET finished_at = ?, outcome = ?, error = ? WHERE job_name = ? AND window_start = ?")
+				.param(Timestamp.from(this.clock.instant()))
+				.param(outcome.name())
+				.param((error != null && error.length() > MAX_ERROR_LENGTH) ? error.substring(0, MAX_ERROR_LENGTH)
+						: error)
+				.param(job.getName())
+				.param(Timestamp.from(window))
+				.update();
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Could not record the run of cluster job '" + job.getName() + "': " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Return the last runs of a job.
+	 * @param jobName the name of the job
+	 * @param limit the maximum number of runs
+	 * @return the runs, latest first
+	 */
+	List<JobRun> getRuns(String jobName, int limit) {
+		return this.jdbcClient
+			.sql("SELECT window_start, owner, started_at, finished_at, outcome, error FROM job_run "
+					+ "WHERE job_name = ? ORDER BY window_start DESC LIMIT " + limit)
+			.param(jobName)
+			.query((rs, rowNum) -> {
+				Timestamp finishedAt = rs.getTimestamp("finished_at");
+				return new JobRun(rs.getTimestamp("window_start").toInstant(), rs.getString("owner"),
+						rs.getTimestamp("started_at").toInstant(), (finishedAt != null) ? finishedAt.toInstant() : null,
+						rs.getString("outcome"), rs.getString("error"));
+			})
+			.list();
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar registrar) {
+		registrar.addFixedDelayTask(this::tick, this.properties.getRenewInterval());
+	}
+
+	@Override
+	public void destroy() {
+		if (this.jobExecutor instanceof ExecutorService jobExecutor) {
+			jobExecutor.shutdownNow();
+		}
+		try {
+			this.election.release();
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Could not release the leadership: " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Outcome of a run of a job.
+	 */
+	enum Outcome {
+
+		RUNNING, SUCCESS, FAILURE
+
+	}
+
+	/**
+	 * A row of the {@code job_run} table.
+	 */
+	record JobRun(Instant windowStart, String owner, Instant startedAt, @Nullable Instant finishedAt, String outcome,
+			@Nullable String error) {
+
+	}
+
+	/**
+	 * Deletes the runs older than {@code petclinic.scheduler.history-retention}.
+	 */
+	private final class HistoryPurge implements ClusterJob {
+
+		@Override
+		public String getName() {
+			return "job-history-purge";
+		}
+
+		@Override
+		public Duration getInterval() {
+			return Duration.ofHours(1);
+		}
+
+		@Override
+		public void run() {
+			Instant threshold = ClusterScheduler.this.clock.instant()
+				.minus(ClusterScheduler.this.properties.getHistoryRetention());
+			ClusterScheduler.this.jdbcClient.sql("DELETE FROM job_run WHERE window_start < ?")
+				.param(Timestamp.from(threshold))
+				.update();
+		}
+
+	}
+
+}
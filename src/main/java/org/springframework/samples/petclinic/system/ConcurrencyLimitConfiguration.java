@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adaptive concurrency limits configuration, enabled unless
+ * {@code petclinic.concurrency-limits.enabled} is {@code false}. The
+ * {@link ConcurrencyLimitInterceptor} runs before the other interceptors, so that
+ * rejected requests cost as little as possible. It also sheds the low-priority requests
+ * through a {@link LoadShedder}, unless {@code petclinic.load-shedding.enabled} is
+ * {@code false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty(name = "petclinic.concurrency-limits.enabled", matchIfMissing = true)
+@EnableConfigurationProperties({ ConcurrencyLimitProperties.class, LoadSheddingProperties.class })
+class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+	private final ConcurrencyLimitInterceptor interceptor;
+
+	ConcurrencyLimitConfiguration(ConcurrencyLimitProperties properties, LoadSheddingProperties loadShedding,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+		LoadShedder shedder = loadShedding.isEnabled() ? new LoadShedder(loadShedding, System::nanoTime, registry)
+				: null;
+		this.interceptor = new ConcurrencyLimitInterceptor(properties, shedder, System::nanoTime, registry);
+	}
+
+	@Bean
+	public ConcurrencyLimitsEndpoint concurrencyLimitsEndpoint() {
+		return new ConcurrencyLimitsEndpoint(this.interceptor);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(this.interceptor).order(Ordered.HIGHEST_PRECEDENCE);
+	}
+
+}
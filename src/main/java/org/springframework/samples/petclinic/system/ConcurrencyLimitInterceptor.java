@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.samples.petclinic.system.LoadShedder.Priority;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Limits the concurrent requests of each handler method with an
+ * {@link AdaptiveConcurrencyLimit}, so that a slow endpoint cannot take every worker
+ * thread from the others. Requests over the limit are answered with an empty
+ * {@code 503 Service Unavailable} response and a {@code Retry-After} header, without
+ * reaching the handler or the error page.
+ * <p>
+ * The limit of a handler method is checked before its model attributes are loaded, and
+ * its latency measured until the view is rendered. Requests answered with a server error
+ * count as failed. With a {@link LoadShedder}, requests of the priorities being shed are
+ * rejected the same way before they even wait for their limit. Static resources, and the
+ * forwards and error pages of a request, are not limited.
+ */
+class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+	private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+	private final ConcurrencyLimitProperties properties;
+
+	private final LongSupplier nanoTime;
+
+	private final MeterRegistry registry;
+
+	private final @Nullable LoadShedder shedder;
+
+	private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+	ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, @Nullable LoadShedder shedder,
+			LongSupplier nanoTime, MeterRegistry registry) {
+		this.properties = properties;
+		this.shedder = shedder;
+		this.nanoTime = nanoTime;
+		this.registry = registry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!(handler instanceof HandlerMethod handlerMethod)
+				|| request.getDispatcherType() != DispatcherType.REQUEST) {
+			return true;
+		}
+		Priority priority = Priority.NORMAL;
+		if (this.shedder != null) {
+			Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			priority = this.shedder.classify(request.getMethod(), (route != null) ? route.toString() : null);
+			if (this.shedder.shed(priority)) {
+				return reject(response);
+			}
+		}
+		AdaptiveConcurrencyLimit limit = this.endpoints
+			.computeIfAbsent(handlerMethod.getMethod(), (method) -> endpoint(handlerMethod))
+			.limit();
+		long arrivedAt = this.nanoTime.getAsLong();
+		if (!limit.acquire()) {
+			return reject(response);
+		}
+		request.setAttribute(PERMIT, new Permit(limit, priority, arrivedAt, this.nanoTime.getAsLong()));
+		return true;
+	}
+
+	private boolean reject(HttpServletResponse response) {
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER,
+				String.valueOf(Math.max(1, this.properties.getRetryAfter().toSeconds())));
+		return false;
+	}
+
+	private Endpoint endpoint(HandlerMethod handlerMethod) {
+		String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+		return new Endpoint(name, new AdaptiveConcurrencyLimit(name, this.properties, this.registry));
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			@Nullable Exception ex) {
+		if (request.getDispatcherType() == DispatcherType.REQUEST
+				&& request.getAttribute(PERMIT) instanceof Permit permit) {
+			request.removeAttribute(PERMIT);
+			AdaptiveConcurrencyLimit limit = permit.limit();
+			long latency = this.nanoTime.getAsLong() - permit.startedAt();
+			// Beyond the usual latency, once known, the request waited for busy resources
+			long baseline = limit.getBaseline().toNanos();
+			long delay = permit.startedAt() - permit.arrivedAt()
+					+ ((baseline > 0) ? Math.max(0, latency - baseline) : 0);
+			limit.release(latency, ex != null || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+			if (this.shedder != null) {
+				this.shedder.record(permit.priority(), delay);
+			}
+		}
+	}
+
+	/**
+	 * Return the limits of the handler methods requested so far, by endpoint.
+	 * @return the limits
+	 */
+	Map<String, AdaptiveConcurrencyLimit> getLimits() {
+		Map<String, AdaptiveConcurrencyLimit> limits = new TreeMap<>();
+		for (Endpoint endpoint : this.endpoints.values()) {
+			limits.put(endpoint.name(), endpoint.limit());
+		}
+		return limits;
+	}
+
+	private record Endpoint(String name, AdaptiveConcurrencyLimit limit) {
+
+	}
+
+	private record Permit(AdaptiveConcurrencyLimit limit, Priority priority, long arrivedAt, long startedAt) {
+
+	}
+
+}
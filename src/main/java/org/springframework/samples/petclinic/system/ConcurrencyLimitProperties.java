@@ -0,0 +1,175 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the adaptive concurrency limits of the handler methods, see
+ * {@link AdaptiveConcurrencyLimit}.
+ *
+ * <pre class="code">
+ * petclinic.concurrency-limits.initial-limit=20
+ * petclinic.concurrency-limits.min-limit=2
+ * petclinic.concurrency-limits.max-limit=200
+ * petclinic.concurrency-limits.tolerance=2
+ * petclinic.concurrency-limits.backoff-ratio=0.9
+ * petclinic.concurrency-limits.window-size=20
+ * petclinic.concurrency-limits.queue-size=20
+ * petclinic.concurrency-limits.queue-timeout=50ms
+ * petclinic.concurrency-limits.retry-after=1s
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.concurrency-limits")
+public class ConcurrencyLimitProperties {
+
+	/**
+	 * Whether the concurrent requests of each handler method are limited.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Limit of a handler method before any of its requests completed.
+	 */
+	private int initialLimit = 20;
+
+	/**
+	 * Lowest limit, however slow the requests.
+	 */
+	private int minLimit = 2;
+
+	/**
+	 * Highest limit, however fast the requests.
+	 */
+	private int maxLimit = 200;
+
+	/**
+	 * How many times slower than usual the median request of a window may be before the
+	 * limit is lowered.
+	 */
+	private double tolerance = 2;
+
+	/**
+	 * Factor applied to the limit when the requests of a window were too slow or failed.
+	 */
+	private double backoffRatio = 0.9;
+
+	/**
+	 * Number of completed requests over which the latency is measured, and the limit
+	 * lowered at most once.
+	 */
+	private int windowSize = 20;
+
+	/**
+	 * Number of requests that may wait for a handler method at its limit, the others
+	 * being rejected right away.
+	 */
+	private int queueSize = 20;
+
+	/**
+	 * Time a request waits for a handler method at its limit before it is rejected.
+	 */
+	private Duration queueTimeout = Duration.ofMillis(50);
+
+	/**
+	 * Delay after which clients are told to retry a rejected request.
+	 */
+	private Duration retryAfter = Duration.ofSeconds(1);
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getInitialLimit() {
+		return this.initialLimit;
+	}
+
+	public void setInitialLimit(int initialLimit) {
+		this.initialLimit = initialLimit;
+	}
+
+	public int getMinLimit() {
+		return this.minLimit;
+	}
+
+	public void setMinLimit(int minLimit) {
+		this.minLimit = minLimit;
+	}
+
+	public int getMaxLimit() {
+		return this.maxLimit;
+	}
+
+	public void setMaxLimit(int maxLimit) {
+		this.maxLimit = maxLimit;
+	}
+
+	public double getTolerance() {
+		return this.tolerance;
+	}
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	public double getBackoffRatio() {
+		return this.backoffRatio;
+	}
+
+	public void setBackoffRatio(double backoffRatio) {
+		this.backoffRatio = backoffRatio;
+	}
+
+	public int getWindowSize() {
+		return this.windowSize;
+	}
+
+	public void setWindowSize(int windowSize) {
+		this.windowSize = windowSize;
+	}
+
+	public int getQueueSize() {
+		return this.queueSize;
+	}
+
+	public void setQueueSize(int queueSize) {
+		this.queueSize = queueSize;
+	}
+
+	public Duration getQueueTimeout() {
+		return this.queueTimeout;
+	}
+
+	public void setQueueTimeout(Duration queueTimeout) {
+		this.queueTimeout = queueTimeout;
+	}
+
+	public Duration getRetryAfter() {
+		return this.retryAfter;
+	}
+
+	public void setRetryAfter(Duration retryAfter) {
+		this.retryAfter = retryAfter;
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint describing the adaptive concurrency limits: {@code GET
+ * /actuator/concurrencyLimits} returns, for each handler method requested so far, its
+ * current limit, the requests in flight and waiting, the usual latency the limit adapts
+ * to, and the number of rejected requests.
+ *
+ * @see ConcurrencyLimitInterceptor
+ */
+@Endpoint(id = "concurrencyLimits")
+public class ConcurrencyLimitsEndpoint {
+
+	private final ConcurrencyLimitInterceptor interceptor;
+
+	ConcurrencyLimitsEndpoint(ConcurrencyLimitInterceptor interceptor) {
+		this.interceptor = interceptor;
+	}
+
+	@ReadOperation
+	public Map<String, LimitDescriptor> concurrencyLimits() {
+		Map<String, LimitDescriptor> limits = new LinkedHashMap<>();
+		this.interceptor.getLimits()
+			.forEach((endpoint, limit) -> limits.put(endpoint, new LimitDescriptor(limit.getLimit(),
+					limit.getInFlight(), limit.getQueued(), limit.getBaseline(), limit.getRejected())));
+		return limits;
+	}
+
+	/**
+	 * Description of the concurrency limit of an endpoint.
+	 *
+	 * @param limit the number of concurrent requests allowed
+	 * @param inFlight the number of requests being handled
+	 * @param queued the number of requests waiting to be handled
+	 * @param baseline the usual latency of the endpoint
+	 * @param rejected the total number of rejected requests
+	 */
+	public record LimitDescriptor(int limit, int inFlight, int queued, Duration baseline, long rejected) {
+
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Bounds the number of connections borrowed at once from a {@link DataSource}, so that
+ * the threads waiting for a connection queue on a fair {@link Semaphore} rather than on
+ * the connection pool itself. With virtual threads, requests are no longer limited by a
+ * pool of threads, and thousands of them may otherwise wait on the pool together.
+ * <p>
+ * A permit is taken before a connection is borrowed, and given back when it is closed.
+ * Waiting longer than the timeout fails with a {@link SQLTransientConnectionException},
+ * as the pool would.
+ * <p>
+ * Publishes a {@code jdbc.connections.limiter.waiting} gauge of the threads waiting for a
+ * permit, and a {@code jdbc.connections.limiter.timeouts} counter of the ones that gave
+ * up.
+ */
+class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+
+	private final Duration timeout;
+
+	private final Counter timeouts;
+
+	ConnectionLimitingDataSource(DataSource target, int permits, Duration timeout, MeterRegistry registry) {
+		super(target);
+		this.permits = new Semaphore(permits, true);
+		this.timeout = timeout;
+		Gauge.builder("jdbc.connections.limiter.waiting", this.permits, Semaphore::getQueueLength)
+			.description("Threads waiting for a permit to borrow a connection")
+			.register(registry);
+		this.timeouts = Counter.builder("jdbc.connections.limiter.timeouts")
+			.description("Threads that gave up waiting for a permit to borrow a connection")
+			.register(registry);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		return limit(() -> obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		return limit(() -> obtainTargetDataSource().getConnection(username, password));
+	}
+
+	/**
+	 * Return the number of connections that may still be borrowed without waiting.
+	 * @return the available permits
+	 */
+	int getAvailablePermits() {
+		return this.permits.availablePermits();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!this.permits.tryAcquire(this.timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+				this.timeouts.increment();
+				throw new SQLTransientConnectionException(
+						"No database connection available within " + this.timeout.toMillis() + "ms");
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+		}
+	}
+
+	private Connection limit(ConnectionSupplier supplier) throws SQLException {
+		Connection target;
+		try {
+			target = supplier.get();
+		}
+		catch (SQLException | RuntimeException ex) {
+			this.permits.release();
+			throw ex;
+		}
+		return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+				new Class<?>[] { ConnectionProxy.class }, new PermitReleasingHandler(target));
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSupplier {
+
+		Connection get() throws SQLException;
+
+	}
+
+	/**
+	 * Gives the permit of a connection back the first time it is closed.
+	 */
+	private final class PermitReleasingHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		PermitReleasingHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Limited connection [" + this.target + "]";
+				case "getTargetConnection":
+					return this.target;
+				default:
+					break;
+			}
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+			finally {
+				if (method.getName().equals("close") && this.released.compareAndSet(false, true)) {
+					ConnectionLimitingDataSource.this.permits.release();
+				}
+			}
+		}
+
+	}
+
+}
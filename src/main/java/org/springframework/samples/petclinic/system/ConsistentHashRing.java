@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * Consistent hash ring assigning keys to members. Each member is placed on the ring at
+ * several points (virtual nodes), and a key belongs to the member of the first point at
+ * or after the hash of the key. Adding or removing a member therefore only moves the keys
+ * of that member.
+ */
+public final class ConsistentHashRing {
+
+	private final TreeMap<Long, String> ring = new TreeMap<>();
+
+	/**
+	 * Create a ring of the given members.
+	 * @param members the members, at least one
+	 * @param virtualNodes the number of points of each member on the ring
+	 */
+	public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+		Assert.notEmpty(members, "At least one member is required");
+		Assert.isTrue(virtualNodes > 0, "The number of virtual nodes must be positive");
+		for (String member : members) {
+			for (int i = 0; i < virtualNodes; i++) {
+				this.ring.put(hash(member + "#" + i), member);
+			}
+		}
+	}
+
+	/**
+	 * Return the member owning the given key.
+	 * @param key the key
+	 * @return the owning member
+	 */
+	public String memberFor(Object key) {
+		Map.Entry<Long, String> entry = this.ring.ceilingEntry(hash(key.toString()));
+		return (entry != null) ? entry.getValue() : this.ring.firstEntry().getValue();
+	}
+
+	/**
+	 * 64-bit FNV-1a hash of the UTF-8 bytes of the value, with the MurmurHash3 finalizer
+	 * to spread the similar values used as keys over the whole ring.
+	 */
+	static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * {@link ClusterMembership} discovering the members through the {@code cluster_member}
+ * table. Every member refreshes its row every
+ * {@code petclinic.cluster.heartbeat-interval}, and reads the rows refreshed within
+ * {@code petclinic.cluster.member-timeout} at the same time, so that looking up the
+ * members never hits the database. The last known members are used while the database is
+ * unavailable. A member deletes its row when it shuts down, and is otherwise dropped by
+ * the others once its heartbeat is older than the timeout.
+ * <p>
+ * Heartbeats are timestamped by the clock of each member, which are expected to be
+ * synchronized well within the timeout.
+ */
+class DatabaseClusterMembership implements ClusterMembership, SchedulingConfigurer, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(DatabaseClusterMembership.class);
+
+	private final String self;
+
+	private final JdbcClient jdbcClient;
+
+	private final ClusterProperties properties;
+
+	private volatile List<String> members;
+
+	DatabaseClusterMembership(String self, JdbcClient jdbcClient, ClusterProperties properties) {
+		this.self = self;
+		this.jdbcClient = jdbcClient;
+		this.properties = properties;
+		this.members = List.of(self);
+	}
+
+	@Override
+	public List<String> getMembers() {
+		return this.members;
+	}
+
+	/**
+	 * Refresh the heartbeat of this member and the list of live members.
+	 */
+	void heartbeat() {
+		Instant now = Instant.now();
+		int updated = this.jdbcClient.sql("UPDATE cluster_member SET heartbeat_at = ? WHERE member = ?")
+			.param(Timestamp.from(now))
+			.param(this.self)
+			.update();
+		if (updated == 0) {
+			try {
+				this.jdbcClient.sql("INSERT INTO cluster_member (member, heartbeat_at) VALUES (?, ?)")
+					.param(this.self)
+					.param(Timestamp.from(now))
+					.update();
+			}
+			catch (DuplicateKeyException ex) {
+				// Inserted concurrently by a previous instance with the same URL
+			}
+		}
+		List<String> members = new ArrayList<>(
+				this.jdbcClient.sql("SELECT member FROM cluster_member WHERE heartbeat_at >= ? ORDER BY member")
+					.param(Timestamp.from(now.minus(this.properties.getMemberTimeout())))
+					.query(String.class)
+					.list());
+		if (!members.contains(this.self)) {
+			members.add(this.self);
+		}
+		if (!members.equals(this.members)) {
+			logger.info("Cluster members: " + members);
+			this.members = List.copyOf(members);
+		}
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar registrar) {
+		registrar.addFixedDelayTask(this::heartbeat, this.properties.getHeartbeatInterval());
+	}
+
+	@Override
+	public void destroy() {
+		try {
+			this.jdbcClient.sql("DELETE FROM cluster_member WHERE member = ?").param(this.self).update();
+		}
+		catch (DataAccessException ex) {
+			logger.warn("Could not leave the cluster: " + ex.getMessage());
+		}
+	}
+
+}
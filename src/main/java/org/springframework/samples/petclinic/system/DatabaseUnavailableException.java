@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown instead of calling a repository while the database circuit breaker is open.
+ * Rendered as a {@code 503 Service Unavailable} error page.
+ *
+ * @see RepositoryCircuitBreakerInterceptor
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DatabaseUnavailableException extends TransientDataAccessResourceException {
+
+	public DatabaseUnavailableException(String msg) {
+		super(msg);
+	}
+
+}
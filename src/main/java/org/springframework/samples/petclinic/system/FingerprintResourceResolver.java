@@ -0,0 +1,164 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+/**
+ * {@link ResourceResolver} fingerprinting every resource with a hash of its content, such
+ * as {@code petclinic-0d5d3a8f....css}, through a {@link VersionResourceResolver}. A
+ * resource requested with its fingerprint can never change, so it is served with the
+ * given {@link CacheControl}, typically one year and {@code immutable}, while a resource
+ * requested without keeps the cache control of its handler.
+ * <p>
+ * Delegates rather than extends, since a resource chain with a
+ * {@code VersionResourceResolver} also rewrites the links of the stylesheets, losing the
+ * headers of the resources.
+ */
+class FingerprintResourceResolver implements ResourceResolver {
+
+	private final VersionResourceResolver versions = new VersionResourceResolver().addContentVersionStrategy("/**");
+
+	private final CacheControl cacheControl;
+
+	FingerprintResourceResolver(CacheControl cacheControl) {
+		this.cacheControl = cacheControl;
+	}
+
+	@Override
+	public @Nullable Resource resolveResource(@Nullable HttpServletRequest request, String requestPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+		// A path like "varela_round-webfont.eot" would otherwise pass for fingerprinted
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource != null) {
+			return resource;
+		}
+		resource = this.versions.resolveResource(request, requestPath, locations, chain);
+		return (resource != null) ? new FingerprintedResource(resource, this.cacheControl) : null;
+	}
+
+	@Override
+	public @Nullable String resolveUrlPath(String resourcePath, List<? extends Resource> locations,
+			ResourceResolverChain chain) {
+		return this.versions.resolveUrlPath(resourcePath, locations, chain);
+	}
+
+	/**
+	 * A resource requested with its fingerprint.
+	 */
+	private static final class FingerprintedResource extends AbstractResource implements HttpResource {
+
+		private final Resource resource;
+
+		private final CacheControl cacheControl;
+
+		FingerprintedResource(Resource resource, CacheControl cacheControl) {
+			this.resource = resource;
+			this.cacheControl = cacheControl;
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers = new HttpHeaders();
+			if (this.resource instanceof HttpResource httpResource) {
+				headers.putAll(httpResource.getResponseHeaders());
+			}
+			headers.setCacheControl(this.cacheControl);
+			return headers;
+		}
+
+		@Override
+		public boolean exists() {
+			return this.resource.exists();
+		}
+
+		@Override
+		public boolean isReadable() {
+			return this.resource.isReadable();
+		}
+
+		@Override
+		public boolean isFile() {
+			return this.resource.isFile();
+		}
+
+		@Override
+		public URL getURL() throws IOException {
+			return this.resource.getURL();
+		}
+
+		@Override
+		public URI getURI() throws IOException {
+			return this.resource.getURI();
+		}
+
+		@Override
+		public File getFile() throws IOException {
+			return this.resource.getFile();
+		}
+
+		@Override
+		public long contentLength() throws IOException {
+			return this.resource.contentLength();
+		}
+
+		@Override
+		public long lastModified() throws IOException {
+			return this.resource.lastModified();
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			// Such as the precompressed copy of the resource
+			return this.resource.createRelative(relativePath);
+		}
+
+		@Override
+		public @Nullable String getFilename() {
+			return this.resource.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return this.resource.getDescription();
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return this.resource.getInputStream();
+		}
+
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the flash attributes, kept in a signed cookie by the
+ * {@link SignedCookieFlashMapManager}.
+ *
+ * <pre class="code">
+ * petclinic.flash.signing-key=${FLASH_SIGNING_KEY}
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.flash")
+public class FlashProperties {
+
+	/**
+	 * Secret key the flash attributes are signed with. Must be shared by the instances
+	 * behind a load balancer, since a redirect may not reach the instance that set the
+	 * attributes. Must be at least 32 bytes long. A random key of this instance is used
+	 * if not set, or blank.
+	 */
+	private @Nullable String signingKey;
+
+	public @Nullable String getSigningKey() {
+		return this.signingKey;
+	}
+
+	public void setSigningKey(@Nullable String signingKey) {
+		this.signingKey = signingKey;
+	}
+
+}
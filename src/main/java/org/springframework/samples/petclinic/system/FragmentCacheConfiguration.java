@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.thymeleaf.ITemplateEngine;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.thymeleaf.autoconfigure.ThymeleafProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link FragmentCacheDialect} with the Thymeleaf engine, caching the
+ * rendered fragments in the {@code fragments} cache. Fragments are rendered every time,
+ * like the templates, when {@code spring.thymeleaf.cache} is {@code false}.
+ */
+@Configuration(proxyBeanMethods = false)
+class FragmentCacheConfiguration {
+
+	static final String FRAGMENTS = "fragments";
+
+	@Bean
+	FragmentCacheDialect fragmentCacheDialect(ObjectProvider<ITemplateEngine> templateEngine, CacheManager cacheManager,
+			ThymeleafProperties properties) {
+		Cache cache = cacheManager.getCache(FRAGMENTS);
+		return new FragmentCacheDialect(templateEngine::getObject, (cache != null) ? cache : new NoOpCache(FRAGMENTS),
+				cache != null && properties.isCache());
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.standard.expression.FragmentExpression;
+import org.thymeleaf.standard.expression.FragmentExpression.ExecutedFragmentExpression;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.web.IWebExchange;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Thymeleaf dialect caching the output of fragments. {@code pc:replace} behaves like
+ * {@code th:replace}, except that the fragment is rendered once for each combination of
+ * its parameters, locale and context path, and the markup is then reused:
+ *
+ * <pre class="code">
+ * &lt;nav pc:replace="~{fragments/page :: navbar (menu=${menu})}"&gt;&lt;/nav&gt;
+ * </pre>
+ *
+ * The output of the fragment must therefore only depend on these: it is rendered in a
+ * context holding its parameters, which must be named, and no other variable. Fragments
+ * are not cached, and rendered by {@code th:replace} instead, when the template cache is
+ * disabled, outside of a web request, or when the URLs of the response are rewritten to
+ * carry the session identifier.
+ */
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+
+	private final Supplier<ITemplateEngine> templateEngine;
+
+	private final Cache cache;
+
+	private final boolean enabled;
+
+	/**
+	 * Create a new dialect.
+	 * @param templateEngine the engine rendering the cached fragments, which is usually
+	 * the one this dialect is registered with
+	 * @param cache the cache of the rendered fragments
+	 * @param enabled whether fragments are cached, rather than rendered every time
+	 */
+	public FragmentCacheDialect(Supplier<ITemplateEngine> templateEngine, Cache cache, boolean enabled) {
+		super("PetClinic Fragment Cache", "pc", StandardDialect.PROCESSOR_PRECEDENCE);
+		this.templateEngine = templateEngine;
+		this.cache = cache;
+		this.enabled = enabled;
+	}
+
+	@Override
+	public Set<IProcessor> getProcessors(String dialectPrefix) {
+		return Set.of(new CachedReplaceTagProcessor(dialectPrefix));
+	}
+
+	private class CachedReplaceTagProcessor extends AbstractAttributeTagProcessor {
+
+		// Same precedence as th:replace
+		private static final int PRECEDENCE = 100;
+
+		CachedReplaceTagProcessor(String dialectPrefix) {
+			super(TemplateMode.HTML, dialectPrefix, null, false, "replace", true, PRECEDENCE, true);
+		}
+
+		@Override
+		protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+				String attributeValue, IElementTagStructureHandler structureHandler) {
+			IWebExchange exchange = (context instanceof IWebContext webContext) ? webContext.getExchange() : null;
+			if (!FragmentCacheDialect.this.enabled || exchange == null || isRewritingUrls(exchange)) {
+				structureHandler.setAttribute("th:replace", attributeValue);
+				return;
+			}
+			FragmentExpression expression = (FragmentExpression) StandardExpressions
+				.getExpressionParser(context.getConfiguration())
+				.parseExpression(context, attributeValue);
+			ExecutedFragmentExpression executed = FragmentExpression.createExecutedFragmentExpression(context,
+					expression);
+			if (executed.hasSyntheticParameters()) {
+				throw new IllegalArgumentException(
+						"Parameters of cached fragment " + attributeValue + " must be named");
+			}
+			Map<String, Object> parameters = executed.getFragmentParameters();
+			FragmentKey key = new FragmentKey(FragmentExpression.resolveTemplateName(executed),
+					FragmentExpression.resolveFragments(executed),
+					(parameters != null) ? new HashMap<>(parameters) : Map.of(), context.getLocale(),
+					exchange.getRequest().getApplicationPath());
+			String markup = FragmentCacheDialect.this.cache.get(key, String.class);
+			if (markup == null) {
+				markup = render(context, exchange, key);
+				FragmentCacheDialect.this.cache.put(key, markup);
+			}
+			structureHandler.replaceWith(markup, false);
+		}
+
+		private boolean isRewritingUrls(IWebExchange exchange) {
+			String path = exchange.getRequest().getApplicationPath() + "/";
+			return !path.equals(exchange.transformURL(path));
+		}
+
+		private String render(ITemplateContext context, IWebExchange exchange, FragmentKey key) {
+			Map<String, Object> variables = new HashMap<>(key.parameters());
+			Object evaluationContext = context
+				.getVariable(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME);
+			if (evaluationContext != null) {
+				variables.put(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+						evaluationContext);
+			}
+			TemplateSpec template = new TemplateSpec(key.template(), key.fragments(), TemplateMode.HTML, null);
+			return FragmentCacheDialect.this.templateEngine.get()
+				.process(template, new WebContext(exchange, key.locale(), variables));
+		}
+
+	}
+
+	/**
+	 * Key of a rendered fragment.
+	 *
+	 * @param template the name of the template holding the fragment
+	 * @param fragments the selectors of the fragment
+	 * @param parameters the parameters of the fragment
+	 * @param locale the locale the fragment is rendered in
+	 * @param contextPath the context path of the links of the fragment
+	 */
+	record FragmentKey(String template, Set<String> fragments, Map<String, Object> parameters, Locale locale,
+			String contextPath) {
+
+	}
+
+}
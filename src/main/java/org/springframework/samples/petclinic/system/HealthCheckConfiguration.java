@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.InstantSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.health.registry.HealthContributorRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Background health checks configuration, enabled unless
+ * {@code petclinic.health-checks.enabled} is {@code false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty(name = "petclinic.health-checks.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(HealthCheckProperties.class)
+class HealthCheckConfiguration {
+
+	@Bean
+	BackgroundHealthChecks backgroundHealthChecks(HealthContributorRegistry registry, HealthCheckProperties properties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BackgroundHealthChecks(registry, properties, InstantSource.system(),
+				meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@link BackgroundHealthChecks}.
+ *
+ * <pre class="code">
+ * petclinic.health-checks.interval=10s
+ * petclinic.health-checks.max-age=30s
+ * petclinic.health-checks.failure-threshold=3
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.health-checks")
+public class HealthCheckProperties {
+
+	/**
+	 * Whether health indicators are evaluated in the background, rather than on every
+	 * call to the health endpoint.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Delay between the end of an evaluation of a health indicator and the start of the
+	 * next one.
+	 */
+	private Duration interval = Duration.ofSeconds(10);
+
+	/**
+	 * Age after which the last result of a health indicator is no longer trusted, and the
+	 * indicator is reported down. Catches evaluations that hang, for example on an
+	 * unreachable database.
+	 */
+	private Duration maxAge = Duration.ofSeconds(30);
+
+	/**
+	 * Number of consecutive failed evaluations after which a health indicator is reported
+	 * down. Until then, the last successful result is reported.
+	 */
+	private int failureThreshold = 3;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getInterval() {
+		return this.interval;
+	}
+
+	public void setInterval(Duration interval) {
+		this.interval = interval;
+	}
+
+	public Duration getMaxAge() {
+		return this.maxAge;
+	}
+
+	public void setMaxAge(Duration maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	public int getFailureThreshold() {
+		return this.failureThreshold;
+	}
+
+	public void setFailureThreshold(int failureThreshold) {
+		this.failureThreshold = failureThreshold;
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.Optional;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Lease-based leader election through a row of the {@code scheduler_lease} table. The
+ * leader is the instance whose lease has not expired: it renews its lease periodically,
+ * and any instance may take over once the lease expires without being renewed. Leases
+ * expire according to the clocks of the instances, which are expected to be synchronized
+ * well within the lease duration.
+ * <p>
+ * Publishes a {@code scheduler.leader} gauge, and a {@code scheduler.lock.contention}
+ * counter of the failed attempts to take over a lease held by another instance, tagged
+ * with {@code lock=leader}.
+ */
+class LeaderElection {
+
+	private static final Log logger = LogFactory.getLog(LeaderElection.class);
+
+	static final String LEASE = "leader";
+
+	private final JdbcClient jdbcClient;
+
+	private final String self;
+
+	private final Duration leaseDuration;
+
+	private final InstantSource clock;
+
+	private final Counter contention;
+
+	private volatile @Nullable Instant leaseUntil;
+
+	LeaderElection(JdbcClient jdbcClient, String self, Duration leaseDuration, InstantSource clock,
+			MeterRegistry registry) {
+		this.jdbcClient = jdbcClient;
+		this.self = self;
+		this.leaseDuration = leaseDuration;
+		this.clock = clock;
+		Gauge.builder("scheduler.leader", this, (election) -> election.isLeader() ? 1 : 0)
+			.description("Whether this instance runs the cluster jobs")
+			.register(registry);
+		this.contention = Counter.builder("scheduler.lock.contention")
+			.description("Failed attempts to take a lock held by another instance")
+			.tag("lock", LEASE)
+			.register(registry);
+	}
+
+	/**
+	 * Return the identifier of this instance.
+	 * @return the instance identifier
+	 */
+	String getSelf() {
+		return this.self;
+	}
+
+	/**
+	 * Renew the lease of this instance if it is the leader, or take it over if it has
+	 * expired.
+	 * @return whether this instance is the leader
+	 */
+	boolean renew() {
+		Instant now = this.clock.instant();
+		Instant leaseUntil = now.plus(this.leaseDuration);
+		int updated = this.jdbcClient.sql(
+				"UPDATE scheduler_lease SET owner = ?, lease_until = ? WHERE name = ? AND (owner = ? OR lease_until < ?)")
+			.param(this.self)
+			.param(Timestamp.from(leaseUntil))
+			.param(LEASE)
+			.param(this.self)
+			.param(Timestamp.from(now))
+			.update();
+		if (updated == 0 && !insert(leaseUntil)) {
+			this.contention.increment();
+			setLeaseUntil(null);
+			return false;
+		}
+		setLeaseUntil(leaseUntil);
+		return true;
+	}
+
+	private boolean insert(Instant leaseUntil) {
+		try {
+			this.jdbcClient.sql("INSERT INTO scheduler_lease (name, owner, lease_until) VALUES (?, ?, ?)")
+				.param(LEASE)
+				.param(this.self)
+				.param(Timestamp.from(leaseUntil))
+				.update();
+			return true;
+		}
+		catch (DuplicateKeyException ex) {
+			// Held by another instance
+			return false;
+		}
+	}
+
+	private void setLeaseUntil(@Nullable Instant leaseUntil) {
+		boolean wasLeader = this.leaseUntil != null;
+		this.leaseUntil = leaseUntil;
+		if (!wasLeader && leaseUntil != null) {
+			logger.info("Instance " + this.self + " is now the leader");
+		}
+		else if (wasLeader && leaseUntil == null) {
+			logger.info("Instance " + this.self + " is no longer the leader");
+		}
+	}
+
+	/**
+	 * Return whether this instance holds an unexpired lease.
+	 * @return whether this instance is the leader
+	 */
+	boolean isLeader() {
+		Instant leaseUntil = this.leaseUntil;
+		return leaseUntil != null && leaseUntil.isAfter(this.clock.instant());
+	}
+
+	/**
+	 * Return the current leader.
+	 * @return the identifier of the leader, or {@code null} if no lease is valid
+	 */
+	@Nullable String getLeader() {
+		Optional<String> leader = this.jdbcClient
+			.sql("SELECT owner FROM scheduler_lease WHERE name = ? AND lease_until >= ?")
+			.param(LEASE)
+			.param(Timestamp.from(this.clock.instant()))
+			.query(String.class)
+			.optional();
+		return leader.orElse(null);
+	}
+
+	/**
+	 * Give the lease up, so that another instance takes over without waiting for it to
+	 * expire.
+	 */
+	void release() {
+		if (this.leaseUntil == null) {
+			return;
+		}
+		this.jdbcClient.sql("UPDATE scheduler_lease SET lease_until = ? WHERE name = ? AND owner = ?")
+			.param(Timestamp.from(this.clock.instant()))
+			.param(LEASE)
+			.param(this.self)
+			.update();
+		setLeaseUntil(null);
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the list pages, such as the owners and vets lists, whose rows are read in
+ * chunks while the page is rendered (see {@link ChunkedRows}).
+ *
+ * <pre class="code">
+ * petclinic.lists.max-page-size=500
+ * petclinic.lists.chunk-size=50
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.lists")
+public class ListProperties {
+
+	/**
+	 * Maximum number of rows of a page, whatever size is requested.
+	 */
+	private int maxPageSize = 500;
+
+	/**
+	 * Number of rows read at once. Pages larger than that are read in several chunks, so
+	 * that only one chunk at a time is held in memory, and their size is rounded down to
+	 * a multiple of it.
+	 */
+	private int chunkSize = 50;
+
+	public int getMaxPageSize() {
+		return this.maxPageSize;
+	}
+
+	public void setMaxPageSize(int maxPageSize) {
+		this.maxPageSize = maxPageSize;
+	}
+
+	public int getChunkSize() {
+		return this.chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Return the size of the pages for a requested size.
+	 * @param requested the requested number of rows
+	 * @return the number of rows of a page, a multiple of the chunk size if it is larger
+	 */
+	public int pageSize(int requested) {
+		int size = Math.max(1, Math.min(requested, this.maxPageSize));
+		return (size > this.chunkSize) ? size - size % this.chunkSize : size;
+	}
+
+	/**
+	 * Return the number of rows read at once for pages of the given size.
+	 * @param pageSize the size of the pages, as returned by {@link #pageSize(int)}
+	 * @return the number of rows of a chunk, which divides the page size
+	 */
+	public int chunkSize(int pageSize) {
+		return Math.min(pageSize, this.chunkSize);
+	}
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Sheds the requests of the lowest priorities first while requests are delayed, so that
+ * the database keeps serving the ones that matter, such as booking a visit, when browsing
+ * saturates it.
+ * <p>
+ * Requests are classified by route: the {@code high-priority-routes}, and every request
+ * other than a GET or a HEAD, are {@link Priority#HIGH}, the GET and HEAD requests of the
+ * {@code low-priority-routes} are {@link Priority#LOW}, and the others
+ * {@link Priority#NORMAL}.
+ * <p>
+ * The delay of a request is the time it waited for its concurrency limit, plus the time
+ * it took beyond the usual latency of its handler method, which is what it spent waiting
+ * for busy resources such as database connections. As in CoDel, the shortest delay of
+ * each {@code interval} is compared to the {@code target-delay}: if even that delay is
+ * over the target, requests are queuing, and the shedding is raised to one more priority,
+ * from none to {@link Priority#LOW}, then also {@link Priority#NORMAL}. It is lowered by
+ * one priority after each interval within the target. {@link Priority#HIGH} requests are
+ * never shed.
+ * <p>
+ * Publishes a {@code http.server.shed} counter and a {@code http.server.queueing.delay}
+ * timer tagged with the {@code priority}, and a {@code http.server.shedding.level} gauge
+ * of the number of priorities currently shed.
+ *
+ * @see ConcurrencyLimitInterceptor
+ */
+class LoadShedder {
+
+	private static final Log logger = LogFactory.getLog(LoadShedder.class);
+
+	private static final Set<String> READS = Set.of("GET", "HEAD");
+
+	private final Set<String> highPriorityRoutes;
+
+	private final Set<String> lowPriorityRoutes;
+
+	private final long targetNanos;
+
+	private final long intervalNanos;
+
+	private final LongSupplier nanoTime;
+
+	private final Counter[] shed = new Counter[Priority.values().length];
+
+	private final Timer[] delays = new Timer[Priority.values().length];
+
+	private volatile int level;
+
+	private volatile long intervalStart;
+
+	private long minDelay = Long.MAX_VALUE;
+
+	LoadShedder(LoadSheddingProperties properties, LongSupplier nanoTime, MeterRegistry registry) {
+		this.highPriorityRoutes = Set.copyOf(properties.getHighPriorityRoutes());
+		this.lowPriorityRoutes = Set.copyOf(properties.getLowPriorityRoutes());
+		this.targetNanos = properties.getTargetDelay().toNanos();
+		this.intervalNanos = properties.getInterval().toNanos();
+		this.nanoTime = nanoTime;
+		this.intervalStart = nanoTime.getAsLong();
+		for (Priority priority : Priority.values()) {
+			String tag = priority.name().toLowerCase(Locale.ROOT);
+			this.shed[priority.ordinal()] = Counter.builder("http.server.shed")
+				.description("Requests rejected to relieve delayed requests of higher priorities")
+				.tag("priority", tag)
+				.register(registry);
+			this.delays[priority.ordinal()] = Timer.builder("http.server.queueing.delay")
+				.description("Time requests waited for their turn or for busy resources")
+				.tag("priority", tag)
+				.register(registry);
+		}
+		Gauge.builder("http.server.shedding.level", this, LoadShedder::getLevel)
+			.description("Number of priorities whose requests are shed")
+			.register(registry);
+	}
+
+	/**
+	 * Return the priority of a request.
+	 * @param method the HTTP method of the request
+	 * @param route the route pattern of the request, if known
+	 * @return the priority
+	 */
+	Priority classify(String method, @Nullable String route) {
+		if ((route != null && this.highPriorityRoutes.contains(route)) || !READS.contains(method)) {
+			return Priority.HIGH;
+		}
+		return (route != null && this.lowPriorityRoutes.contains(route)) ? Priority.LOW : Priority.NORMAL;
+	}
+
+	/**
+	 * Return whether a request should be rejected, counting it as shed if so.
+	 * @param priority the priority of the request
+	 * @return whether to reject the request
+	 */
+	boolean shed(Priority priority) {
+		if (this.nanoTime.getAsLong() - this.intervalStart >= this.intervalNanos) {
+			synchronized (this) {
+				rollInterval(this.nanoTime.getAsLong());
+			}
+		}
+		if (priority.ordinal() < Priority.values().length - this.level) {
+			return false;
+		}
+		this.shed[priority.ordinal()].increment();
+		return true;
+	}
+
+	/**
+	 * Record the delay of a completed request.
+	 * @param priority the priority of the request
+	 * @param delayNanos the delay of the request
+	 */
+	void record(Priority priority, long delayNanos) {
+		this.delays[priority.ordinal()].record(delayNanos, TimeUnit.NANOSECONDS);
+		synchronized (this) {
+			rollInterval(this.nanoTime.getAsLong());
+			this.minDelay = Math.min(this.minDelay, delayNanos);
+		}
+	}
+
+	private void rollInterval(long now) {
+		if (now - this.intervalStart < this.intervalNanos) {
+			return;
+		}
+		int level = this.level;
+		if (this.minDelay != Long.MAX_VALUE && this.minDelay > this.targetNanos) {
+			level = Math.min(Priority.values().length - 1, level + 1);
+		}
+		else {
+			level = Math.max(0, level - 1);
+		}
+		if (level != this.level) {
+			logger.info("Shedding " + (level == 0 ? "no requests"
+					: "requests of priority " + Priority.values()[Priority.values().length - level] + " and lower"));
+			this.level = level;
+		}
+		this.minDelay = Long.MAX_VALUE;
+		this.intervalStart = now;
+	}
+
+	/**
+	 * Return how many priorities are shed, starting from the lowest.
+	 * @return the shedding level
+	 */
+	int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Priority of a request, from the highest.
+	 */
+	enum Priority {
+
+		/**
+		 * Never shed, such as writes and booking visits.
+		 */
+		HIGH,
+
+		/**
+		 * Shed when shedding the low-priority requests is not enough.
+		 */
+		NORMAL,
+
+		/**
+		 * Shed first, such as browsing lists.
+		 */
+		LOW
+
+	}
+
+}
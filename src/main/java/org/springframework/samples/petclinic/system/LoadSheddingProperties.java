@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@link LoadShedder}.
+ *
+ * <pre class="code">
+ * petclinic.load-shedding.target-delay=100ms
+ * petclinic.load-shedding.interval=1s
+ * petclinic.load-shedding.high-priority-routes=/owners/{ownerId}/pets/{petId}/visits/new
+ * petclinic.load-shedding.low-priority-routes=/vets.html,/vets,/owners
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.load-shedding")
+public class LoadSheddingProperties {
+
+	/**
+	 * Whether low-priority requests are rejected while requests are delayed. Requires the
+	 * concurrency limits.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Delay that every request of an interval may exceed before more requests are shed.
+	 */
+	private Duration targetDelay = Duration.ofMillis(100);
+
+	/**
+	 * Interval over which the delays are compared to the target, and after which the
+	 * shedding is raised or lowered by one priority.
+	 */
+	private Duration interval = Duration.ofSeconds(1);
+
+	/**
+	 * Route patterns whose requests are never shed, whatever their method. Requests other
+	 * than GET and HEAD are never shed either.
+	 */
+	private List<String> highPriorityRoutes = new ArrayList<>(List.of("/owners/{ownerId}/pets/{petId}/visits/new"));
+
+	/**
+	 * Route patterns whose GET and HEAD requests are shed first.
+	 */
+	private List<String> lowPriorityRoutes = new ArrayList<>(List.of("/vets.html", "/vets", "/owners"));
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getTargetDelay() {
+		return this.targetDelay;
+	}
+
+	public void setTargetDelay(Duration targetDelay) {
+		this.targetDelay = targetDelay;
+	}
+
+	public Duration getInterval() {
+		return this.interval;
+	}
+
+	public void setInterval(Duration interval) {
+		this.interval = interval;
+	}
+
+	public List<String> getHighPriorityRoutes() {
+		return this.highPriorityRoutes;
+	}
+
+	public void setHighPriorityRoutes(List<String> highPriorityRoutes) {
+		this.highPriorityRoutes = highPriorityRoutes;
+	}
+
+	public List<String> getLowPriorityRoutes() {
+		return this.lowPriorityRoutes;
+	}
+
+	public void setLowPriorityRoutes(List<String> lowPriorityRoutes) {
+		this.lowPriorityRoutes = lowPriorityRoutes;
+	}
+
+}
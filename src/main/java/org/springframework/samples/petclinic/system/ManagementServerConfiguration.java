@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the management server, which serves the actuator endpoints on its own
+ * port and with its own small thread pool, so that the liveness and readiness probes keep
+ * being answered while the user requests saturate the main server.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ManagementThreadsProperties.class)
+class ManagementServerConfiguration {
+
+	@Bean
+	ManagementThreadPoolCustomizer managementThreadPoolCustomizer(ManagementThreadsProperties properties) {
+		return new ManagementThreadPoolCustomizer(properties);
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.coyote.AbstractProtocol;
+
+import org.springframework.boot.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.boot.web.server.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Sizes the thread pool of the management server once it has started. The management
+ * server runs in a child context, whose web server is created by Spring Boot from the
+ * same {@code server.tomcat.*} settings as the main one: shrinking its pool keeps a
+ * small, dedicated set of threads for the probes and the other actuator endpoints, which
+ * never queue behind the user requests. Events of the child context reach this listener
+ * through its parent, and the main server is left alone.
+ */
+class ManagementThreadPoolCustomizer implements ApplicationListener<WebServerInitializedEvent> {
+
+	private static final Log logger = LogFactory.getLog(ManagementThreadPoolCustomizer.class);
+
+	static final String MANAGEMENT = "management";
+
+	private final ManagementThreadsProperties properties;
+
+	ManagementThreadPoolCustomizer(ManagementThreadsProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public void onApplicationEvent(WebServerInitializedEvent event) {
+		if (!WebServerApplicationContext.hasServerNamespace(event.getApplicationContext(), MANAGEMENT)
+				|| !(event.getWebServer() instanceof TomcatWebServer webServer)) {
+			return;
+		}
+		for (Connector connector : webServer.getTomcat().getService().findConnectors()) {
+			if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol) {
+				// The core pool size follows the spare threads, and may not exceed the
+				// maximum pool size
+				protocol.setMinSpareThreads(Math.min(this.properties.getMinSpare(), this.properties.getMax()));
+				protocol.setMaxThreads(this.properties.getMax());
+				logger.info("Management server on port " + connector.getLocalPort() + " uses up to "
+						+ this.properties.getMax() + " threads");
+			}
+		}
+	}
+
+}
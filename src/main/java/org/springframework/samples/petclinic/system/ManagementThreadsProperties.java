@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the thread pool of the management server, which serves the actuator
+ * endpoints on {@code management.server.port}, separately from the user requests.
+ *
+ * <pre class="code">
+ * petclinic.management.threads.max=4
+ * petclinic.management.threads.min-spare=1
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.management.threads")
+public class ManagementThreadsProperties {
+
+	/**
+	 * Maximum number of threads serving the actuator endpoints. Requests beyond it wait
+	 * for a thread without delaying the user requests.
+	 */
+	private int max = 4;
+
+	/**
+	 * Number of threads kept alive while the actuator endpoints are idle.
+	 */
+	private int minSpare = 1;
+
+	public int getMax() {
+		return this.max;
+	}
+
+	public void setMax(int max) {
+		this.max = max;
+	}
+
+	public int getMinSpare() {
+		return this.minSpare;
+	}
+
+	public void setMinSpare(int minSpare) {
+		this.minSpare = minSpare;
+	}
+
+}
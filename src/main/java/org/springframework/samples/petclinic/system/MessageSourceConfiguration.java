@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Properties;
+
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+/**
+ * Message source configuration, replacing the {@code ResourceBundleMessageSource} of
+ * Spring Boot with a {@link PreloadedMessageSource} configured by the same
+ * {@code spring.messages} properties. The cache duration does not apply, since bundles
+ * are read once.
+ */
+@Configuration(proxyBeanMethods = false)
+class MessageSourceConfiguration {
+
+	@Bean
+	@ConfigurationProperties("spring.messages")
+	public MessageSourceProperties messageSourceProperties() {
+		return new MessageSourceProperties();
+	}
+
+	@Bean
+	public PreloadedMessageSource messageSource(MessageSourceProperties properties) {
+		PreloadedMessageSource messageSource = new PreloadedMessageSource(properties.getBasename(),
+				properties.getEncoding());
+		messageSource.setFallbackToSystemLocale(properties.isFallbackToSystemLocale());
+		messageSource.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+		messageSource.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+		List<Resource> commonMessages = properties.getCommonMessages();
+		if (commonMessages != null) {
+			Properties common = new Properties();
+			for (Resource resource : commonMessages) {
+				try {
+					PropertiesLoaderUtils.fillProperties(common, resource);
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException("Failed to read common messages from " + resource, ex);
+				}
+			}
+			messageSource.setCommonMessages(common);
+		}
+		return messageSource;
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+/**
+ * Thrown when a request names an entity that does not exist, such as an unknown owner id.
+ * Rendered as a lightweight {@code 404 Not Found} page by {@link NotFoundHandler}.
+ * <p>
+ * Unknown ids are cheap to request, crawlers try many of them, so this exception neither
+ * fills in its stack trace nor formats its message until asked to.
+ */
+public class NotFoundException extends RuntimeException {
+
+	private final String entity;
+
+	private final Object id;
+
+	/**
+	 * Create a new exception for a missing entity.
+	 * @param entity the kind of entity, such as {@code "Owner"}
+	 * @param id the identifier that was looked up
+	 */
+	public NotFoundException(String entity, Object id) {
+		super(null, null, false, false);
+		this.entity = entity;
+		this.id = id;
+	}
+
+	/**
+	 * Return the kind of entity that was not found.
+	 * @return the kind of entity
+	 */
+	public String getEntity() {
+		return this.entity;
+	}
+
+	/**
+	 * Return the identifier that was looked up.
+	 * @return the identifier
+	 */
+	public Object getId() {
+		return this.id;
+	}
+
+	@Override
+	public String getMessage() {
+		return this.entity + " not found with id: " + this.id;
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Renders a {@link NotFoundException} as a {@code 404 Not Found} response, with the
+ * {@code notFound} template rather than the full error page. The response is written
+ * directly, without dispatching to the error controller, and without a stack trace.
+ * <p>
+ * Publishes a {@code http.server.not.found} counter, tagged with the {@code route} that
+ * was requested, such as {@code /owners/{ownerId}}, and the {@code entity} that was not
+ * found.
+ */
+@ControllerAdvice
+class NotFoundHandler {
+
+	private final MeterRegistry registry;
+
+	NotFoundHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+	}
+
+	@ExceptionHandler(NotFoundException.class)
+	ModelAndView handleNotFound(NotFoundException ex, HttpServletRequest request) {
+		Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		Counter.builder("http.server.not.found")
+			.description("Requests for entities that do not exist")
+			.tag("route", (route != null) ? route.toString() : "UNKNOWN")
+			.tag("entity", ex.getEntity())
+			.register(this.registry)
+			.increment();
+		ModelAndView mav = new ModelAndView("notFound", HttpStatus.NOT_FOUND);
+		mav.addObject("message", ex.getMessage());
+		return mav;
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Declarative, per-cache settings for the caches created by {@link CacheConfiguration}.
+ * <p>
+ * Every cache is bounded: either by a maximum number of entries or by a maximum total
+ * weight, where the weight of an entry is the number of elements it holds (see
+ * {@link CacheConfiguration}). Caches that are not listed under
+ * {@code petclinic.cache.specs} fall back to {@link #getDefaults() the defaults}.
+ *
+ * <pre class="code">
+ * petclinic.cache.specs.vetPages.maximum-weight=500
+ * petclinic.cache.specs.vetPages.expire-after-write=10m
+ * petclinic.cache.specs.vetPages.refresh-after-write=5m
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.cache")
+public class PetClinicCacheProperties {
+
+	private final Spec defaults = new Spec();
+
+	private final Map<String, Spec> specs = new LinkedHashMap<>();
+
+	private final Invalidation invalidation = new Invalidation();
+
+	/**
+	 * Number of threads reloading stale entries of the caches with a refresh interval.
+	 */
+	private int refreshThreads = 2;
+
+	/**
+	 * Maximum time to wait for a load of the same entry already started by another
+	 * request, before loading it again.
+	 */
+	private Duration coalescingTimeout = Duration.ofSeconds(2);
+
+	public Spec getDefaults() {
+		return this.defaults;
+	}
+
+	public Map<String, Spec> getSpecs() {
+		return this.specs;
+	}
+
+	public Invalidation getInvalidation() {
+		return this.invalidation;
+	}
+
+	public int getRefreshThreads() {
+		return this.refreshThreads;
+	}
+
+	public void setRefreshThreads(int refreshThreads) {
+		this.refreshThreads = refreshThreads;
+	}
+
+	public Duration getCoalescingTimeout() {
+		return this.coalescingTimeout;
+	}
+
+	public void setCoalescingTimeout(Duration coalescingTimeout) {
+		this.coalescingTimeout = coalescingTimeout;
+	}
+
+	/**
+	 * Return the settings for the cache with the given name, or the defaults if the cache
+	 * has no explicit settings.
+	 * @param name the cache name
+	 * @return the settings to apply
+	 */
+	public Spec getSpec(String name) {
+		return this.specs.getOrDefault(name, this.defaults);
+	}
+
+	/**
+	 * Settings of a single cache.
+	 */
+	public static class Spec {
+
+		/**
+		 * Maximum number of entries. Ignored when a maximum weight is set.
+		 */
+		private long maximumSize = 100;
+
+		/**
+		 * Maximum total weight, where each entry weighs as many units as the elements it
+		 * holds.
+		 */
+		private @Nullable Long maximumWeight;
+
+		/**
+		 * Time after which an entry expires once it has been written.
+		 */
+		private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+		/**
+		 * Age after which an entry is reloaded in the background the next time it is
+		 * read, while the current entry is still served. Should be shorter than the
+		 * expiry. No refresh by default.
+		 */
+		private @Nullable Duration refreshAfterWrite;
+
+		public long getMaximumSize() {
+			return this.maximumSize;
+		}
+
+		public void setMaximumSize(long maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public @Nullable Long getMaximumWeight() {
+			return this.maximumWeight;
+		}
+
+		public void setMaximumWeight(@Nullable Long maximumWeight) {
+			this.maximumWeight = maximumWeight;
+		}
+
+		public Duration getExpireAfterWrite() {
+			return this.expireAfterWrite;
+		}
+
+		public void setExpireAfterWrite(Duration expireAfterWrite) {
+			this.expireAfterWrite = expireAfterWrite;
+		}
+
+		public @Nullable Duration getRefreshAfterWrite() {
+			return this.refreshAfterWrite;
+		}
+
+		public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+			this.refreshAfterWrite = refreshAfterWrite;
+		}
+
+	}
+
+	/**
+	 * Settings of the invalidation log shared by every replica, see
+	 * {@link CacheInvalidationLog}.
+	 */
+	public static class Invalidation {
+
+		/**
+		 * Delay between two polls of the invalidation log.
+		 */
+		private Duration pollInterval = Duration.ofMillis(500);
+
+		/**
+		 * Time after which a missing invalidation id is assumed to belong to a rolled
+		 * back insert rather than to one that is not committed yet.
+		 */
+		private Duration gapTimeout = Duration.ofSeconds(5);
+
+		/**
+		 * Time after which invalidations are deleted from the log.
+		 */
+		private Duration retention = Duration.ofHours(1);
+
+		public Duration getPollInterval() {
+			return this.pollInterval;
+		}
+
+		public void setPollInterval(Duration pollInterval) {
+			this.pollInterval = pollInterval;
+		}
+
+		public Duration getGapTimeout() {
+			return this.gapTimeout;
+		}
+
+		public void setGapTimeout(Duration gapTimeout) {
+			this.gapTimeout = gapTimeout;
+		}
+
+		public Duration getRetention() {
+			return this.retention;
+		}
+
+		public void setRetention(Duration retention) {
+			this.retention = retention;
+		}
+
+	}
+
+}
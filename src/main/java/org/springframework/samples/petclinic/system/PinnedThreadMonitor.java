@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Reports the virtual threads pinned to their carrier thread, from the
+ * {@code jdk.VirtualThreadPinned} events that the JVM records when a virtual thread
+ * blocks for longer than {@code petclinic.virtual-threads.pinned-threshold} while it
+ * cannot unmount, such as inside a {@code synchronized} block on Java 21 to 23. A pinned
+ * thread holds a carrier thread, and enough of them stall every virtual thread.
+ * <p>
+ * Each event is attributed to the JDBC driver whose code is on the stack: {@code h2},
+ * {@code mysql} or {@code postgresql}, or to {@code other} code. Publishes a
+ * {@code jvm.threads.virtual.pinned} timer tagged with that {@code source}, and logs the
+ * stack trace the first time a thread is pinned at a given place.
+ */
+class PinnedThreadMonitor implements SmartLifecycle {
+
+	private static final Log logger = LogFactory.getLog(PinnedThreadMonitor.class);
+
+	static final String EVENT = "jdk.VirtualThreadPinned";
+
+	private static final Map<String, String> DRIVERS = Map.of("org.h2.", "h2", "com.mysql.", "mysql", "org.postgresql.",
+			"postgresql");
+
+	private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+
+	private final Duration threshold;
+
+	private final MeterRegistry registry;
+
+	private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+	private @Nullable RecordingStream stream;
+
+	PinnedThreadMonitor(Duration threshold, MeterRegistry registry) {
+		this.threshold = threshold;
+		this.registry = registry;
+	}
+
+	@Override
+	public void start() {
+		RecordingStream stream = new RecordingStream();
+		stream.enable(EVENT).withThreshold(this.threshold).withStackTrace();
+		stream.onEvent(EVENT, this::onPinned);
+		stream.startAsync();
+		this.stream = stream;
+	}
+
+	private void onPinned(RecordedEvent event) {
+		RecordedStackTrace stackTrace = event.getStackTrace();
+		List<String> frames = (stackTrace != null) ? stackTrace.getFrames().stream().map(this::frame).toList()
+				: List.of();
+		record(event.getDuration(), frames);
+	}
+
+	private String frame(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+	}
+
+	/**
+	 * Record that a virtual thread was pinned.
+	 * @param duration how long the thread was pinned
+	 * @param frames the stack of the thread, innermost frame first, each as
+	 * {@code class.method:line}
+	 */
+	void record(Duration duration, List<String> frames) {
+		String source = source(frames);
+		Timer.builder("jvm.threads.virtual.pinned")
+			.description("Virtual threads blocked while pinned to their carrier thread")
+			.tag("source", source)
+			.register(this.registry)
+			.record(duration);
+		String site = frames.stream()
+			.filter((frame) -> JDK_PACKAGES.stream().noneMatch(frame::startsWith))
+			.findFirst()
+			.orElse("unknown");
+		if (this.reported.add(site)) {
+			logger.warn("Virtual thread pinned for " + duration.toMillis() + "ms in " + site + " (" + source
+					+ "), further pinning there is only counted:\n\tat " + String.join("\n\tat ", frames));
+		}
+	}
+
+	private static String source(List<String> frames) {
+		for (String frame : frames) {
+			for (Map.Entry<String, String> driver : DRIVERS.entrySet()) {
+				if (frame.startsWith(driver.getKey())) {
+					return driver.getValue();
+				}
+			}
+		}
+		return "other";
+	}
+
+	@Override
+	public void stop() {
+		RecordingStream stream = this.stream;
+		if (stream != null) {
+			stream.close();
+			this.stream = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.stream != null;
+	}
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link org.springframework.context.MessageSource} reading every bundle of its basenames
+ * once, such as {@code messages/messages.properties} and all its
+ * {@code messages/messages_<locale>.properties}, rather than looking messages up in
+ * {@link java.util.ResourceBundle resource bundles} as they are resolved. Each locale
+ * gets an immutable map of its messages, merged with those of its parent locales, and of
+ * their {@link MessageFormat}, created upfront. Resolving a message is thus a single
+ * lookup, and messages without arguments are returned as is, without going through
+ * {@code MessageFormat}.
+ * <p>
+ * Locales are resolved like
+ * {@link org.springframework.context.support.ResourceBundleMessageSource} does:
+ * {@code de_AT} falls back to {@code de}, then to the system locale if
+ * {@link #setFallbackToSystemLocale(boolean) enabled}, then to the base bundle. Bundles
+ * are not reloaded.
+ */
+public class PreloadedMessageSource extends AbstractMessageSource {
+
+	private static final int MAX_FALLBACKS = 100;
+
+	private final Map<Locale, Bundle> bundles;
+
+	private final Bundle base;
+
+	private final Map<Locale, Bundle> fallbacks = new ConcurrentHashMap<>();
+
+	private boolean fallbackToSystemLocale = true;
+
+	/**
+	 * Create a new instance, reading the bundles of the given basenames from the
+	 * classpath. Messages of the first basenames take precedence.
+	 * @param basenames the basenames, such as {@code messages/messages}
+	 * @param encoding the encoding of the bundles
+	 */
+	public PreloadedMessageSource(List<String> basenames, Charset encoding) {
+		Map<Locale, Map<String, String>> messages = new HashMap<>();
+		ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+		for (String basename : basenames) {
+			read(resolver, StringUtils.delete(basename, "classpath:"), encoding, messages);
+		}
+		Map<String, String> baseMessages = messages.getOrDefault(Locale.ROOT, Map.of());
+		Map<Locale, Bundle> bundles = new HashMap<>();
+		for (Locale locale : messages.keySet()) {
+			Map<String, String> merged = new HashMap<>(baseMessages);
+			for (Locale parent : List.of(new Locale(locale.getLanguage()),
+					new Locale(locale.getLanguage(), locale.getCountry()), locale)) {
+				merged.putAll(messages.getOrDefault(parent, Map.of()));
+			}
+			bundles.put(locale, new Bundle(merged, locale));
+		}
+		this.bundles = Map.copyOf(bundles);
+		this.base = this.bundles.getOrDefault(Locale.ROOT, new Bundle(Map.of(), Locale.ROOT));
+	}
+
+	private static void read(ResourcePatternResolver resolver, String basename, Charset encoding,
+			Map<Locale, Map<String, String>> messages) {
+		String name = basename.substring(basename.lastIndexOf('/') + 1);
+		try {
+			for (Resource resource : resolver.getResources("classpath*:" + basename + "*.properties")) {
+				Locale locale = locale(name, resource.getFilename());
+				if (locale != null) {
+					Properties properties = new Properties();
+					try (Reader reader = new InputStreamReader(resource.getInputStream(), encoding)) {
+						properties.load(reader);
+					}
+					Map<String, String> localeMessages = messages.computeIfAbsent(locale, (key) -> new HashMap<>());
+					properties.stringPropertyNames()
+						.forEach((code) -> localeMessages.putIfAbsent(code, properties.getProperty(code)));
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read the messages of " + basename, ex);
+		}
+	}
+
+	private static @Nullable Locale locale(String basename, @Nullable String filename) {
+		if (filename == null) {
+			return null;
+		}
+		String name = StringUtils.stripFilenameExtension(filename);
+		if (name.equals(basename)) {
+			return Locale.ROOT;
+		}
+		// Not the bundles of another basename starting with the same name
+		return name.startsWith(basename + "_") ? StringUtils.parseLocale(name.substring(basename.length() + 1)) : null;
+	}
+
+	/**
+	 * Set whether locales without a bundle fall back to the system locale before the base
+	 * bundle. Default is {@code true}, as in {@code ResourceBundleMessageSource}.
+	 * @param fallbackToSystemLocale whether to fall back to the system locale
+	 */
+	public void setFallbackToSystemLocale(boolean fallbackToSystemLocale) {
+		this.fallbackToSystemLocale = fallbackToSystemLocale;
+		this.fallbacks.clear();
+	}
+
+	@Override
+	protected @Nullable String resolveCodeWithoutArguments(String code, Locale locale) {
+		return bundle(locale).messages().get(code);
+	}
+
+	@Override
+	protected @Nullable MessageFormat resolveCode(String code, Locale locale) {
+		return bundle(locale).formats().get(code);
+	}
+
+	private Bundle bundle(Locale locale) {
+		Bundle bundle = this.bundles.get(locale);
+		if (bundle != null) {
+			return bundle;
+		}
+		bundle = this.fallbacks.get(locale);
+		if (bundle == null) {
+			bundle = fallback(locale, true);
+			// Locales come from requests, so only a few of them are remembered
+			if (this.fallbacks.size() < MAX_FALLBACKS) {
+				this.fallbacks.put(locale, bundle);
+			}
+		}
+		return bundle;
+	}
+
+	private Bundle fallback(Locale locale, boolean toSystemLocale) {
+		for (Locale parent : List.of(new Locale(locale.getLanguage(), locale.getCountry()),
+				new Locale(locale.getLanguage()))) {
+			Bundle bundle = this.bundles.get(parent);
+			if (bundle != null) {
+				return bundle;
+			}
+		}
+		Locale systemLocale = Locale.getDefault();
+		if (toSystemLocale && this.fallbackToSystemLocale && !systemLocale.equals(locale)) {
+			Bundle bundle = this.bundles.get(systemLocale);
+			return (bundle != null) ? bundle : fallback(systemLocale, false);
+		}
+		return this.base;
+	}
+
+	/**
+	 * The messages of a locale.
+	 *
+	 * @param messages the messages by code
+	 * @param formats the formats of the messages by code
+	 */
+	private record Bundle(Map<String, String> messages, Map<String, MessageFormat> formats) {
+
+		Bundle(Map<String, String> messages, Locale locale) {
+			this(Map.copyOf(messages), formats(messages, locale));
+		}
+
+		private static Map<String, MessageFormat> formats(Map<String, String> messages, Locale locale) {
+			Map<String, MessageFormat> formats = new LinkedHashMap<>();
+			messages.forEach((code, message) -> formats.put(code, new MessageFormat(message, locale)));
+			return Map.copyOf(formats);
+		}
+
+	}
+
+}
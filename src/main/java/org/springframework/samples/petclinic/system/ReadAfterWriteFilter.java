@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Makes clients read their own writes when reads go to replicas. A request that may
+ * write, such as the {@code POST} of a form, and the requests that follow it within the
+ * read-after-write window, such as the redirect to the updated page, read from the
+ * primary. The window is tracked with a short-lived cookie rather than a session, and is
+ * as long as a replica may lag behind the primary while still being read from.
+ *
+ * @see ReplicaRoutingDataSource
+ */
+class ReadAfterWriteFilter extends OncePerRequestFilter {
+
+	static final String COOKIE_NAME = "PETCLINIC_READ_PRIMARY";
+
+	private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+	private static final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+
+	private final Duration window;
+
+	ReadAfterWriteFilter(Duration window) {
+		this.window = window;
+	}
+
+	/**
+	 * Return whether the current request must read from the primary.
+	 * @return whether reads must go to the primary
+	 */
+	static boolean isPrimaryRequired() {
+		return primaryRequired.get() != null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		boolean write = !SAFE_METHODS.contains(request.getMethod());
+		if (write) {
+			// Set before the response is committed by the redirect
+			ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, "1")
+				.path("/")
+				.maxAge(this.window)
+				.httpOnly(true)
+				.sameSite("Lax")
+				.build();
+			response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+		}
+		if (!write && WebUtils.getCookie(request, COOKIE_NAME) == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		primaryRequired.set(Boolean.TRUE);
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			primaryRequired.remove();
+		}
+	}
+
+}
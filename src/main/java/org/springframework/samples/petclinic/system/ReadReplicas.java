@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+/**
+ * The read replicas of the database, each with its own connection pool, and what is known
+ * of their replication lag (see {@link ReplicaLagMonitor}). A replica is only read from
+ * once its lag has been measured below {@code petclinic.replicas.max-lag}, and until it
+ * cannot be reached.
+ */
+class ReadReplicas implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(ReadReplicas.class);
+
+	private final List<Replica> replicas;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	ReadReplicas(List<String> urls, @Nullable String username, @Nullable String password) {
+		List<Replica> replicas = new ArrayList<>();
+		for (String url : urls) {
+			String name = "replica-" + replicas.size();
+			HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(url)
+				.username(username)
+				.password(password)
+				.build();
+			dataSource.setPoolName(name);
+			dataSource.setReadOnly(true);
+			replicas.add(new Replica(name, url, dataSource));
+		}
+		this.replicas = List.copyOf(replicas);
+	}
+
+	/**
+	 * Return all the replicas, available or not.
+	 * @return the replicas
+	 */
+	List<Replica> getReplicas() {
+		return this.replicas;
+	}
+
+	/**
+	 * Return the next available replica, in turn.
+	 * @return the replica, or {@code null} if none is available
+	 */
+	@Nullable Replica next() {
+		int size = this.replicas.size();
+		int start = Math.floorMod(this.next.getAndIncrement(), Math.max(size, 1));
+		for (int i = 0; i < size; i++) {
+			Replica replica = this.replicas.get((start + i) % size);
+			if (replica.isAvailable()) {
+				return replica;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void destroy() {
+		for (Replica replica : this.replicas) {
+			replica.dataSource.close();
+		}
+	}
+
+	/**
+	 * A read replica.
+	 */
+	static final class Replica {
+
+		private final String name;
+
+		private final String url;
+
+		private final HikariDataSource dataSource;
+
+		private volatile @Nullable Duration lag;
+
+		private volatile boolean available;
+
+		Replica(String name, String url, HikariDataSource dataSource) {
+			this.name = name;
+			this.url = url;
+			this.dataSource = dataSource;
+		}
+
+		String getName() {
+			return this.name;
+		}
+
+		String getUrl() {
+			return this.url;
+		}
+
+		DataSource getDataSource() {
+			return this.dataSource;
+		}
+
+		/**
+		 * Return the last measured replication lag.
+		 * @return the lag, or {@code null} if it could not be measured
+		 */
+		@Nullable Duration getLag() {
+			return this.lag;
+		}
+
+		boolean isAvailable() {
+			return this.available;
+		}
+
+		/**
+		 * Record the replication lag, and whether the replica can be read from.
+		 * @param lag the lag, or {@code null} if it could not be measured
+		 * @param maxLag the lag above which the replica is not read from
+		 */
+		void update(@Nullable Duration lag, Duration maxLag) {
+			this.lag = lag;
+			setAvailable(lag != null && lag.compareTo(maxLag) <= 0, (lag != null) ? "lag is " + lag : "lag is unknown");
+		}
+
+		/**
+		 * Stop reading from this replica until its lag is measured again.
+		 * @param reason why the replica cannot be read from
+		 */
+		void markUnavailable(String reason) {
+			setAvailable(false, reason);
+		}
+
+		private void setAvailable(boolean available, String reason) {
+			if (available != this.available) {
+				this.available = available;
+				if (available) {
+					logger.info("Reading from " + this.name + " (" + this.url + "), " + reason);
+				}
+				else {
+					logger.warn("Not reading from " + this.name + " (" + this.url + "), " + reason);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy.FixedExpiration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * {@link CaffeineCache} with refresh-ahead semantics. Once an entry is older than the
+ * refresh interval (the soft TTL), {@link #get(Object, Callable)} keeps returning it
+ * immediately but also reloads it with the given value loader on a dedicated executor.
+ * Only one reload runs at a time for a given key. Entries are loaded, and reloaded, from
+ * the primary database rather than from a read replica (see
+ * {@link ReplicaRoutingDataSource#loadingOnPrimary(Callable)}).
+ * <p>
+ * A reload only replaces the entry it started from: if the entry is evicted or replaced
+ * in the meantime, the reloaded value is dropped, as it may predate the change that
+ * caused the eviction. Entries still expire after the cache's {@code expireAfterWrite}
+ * (the hard TTL) if they are not read.
+ * <p>
+ * Publishes a {@code cache.refresh.stale} counter of the gets served with a stale entry,
+ * and a {@code cache.refresh} timer of the reloads.
+ */
+class RefreshAheadCache extends CaffeineCache {
+
+	private static final Log logger = LogFactory.getLog(RefreshAheadCache.class);
+
+	private final FixedExpiration<Object, Object> expiration;
+
+	private final long refreshAfterWriteNanos;
+
+	private final Executor executor;
+
+	private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+	private final Counter staleGets;
+
+	private final Timer successes;
+
+	private final Timer failures;
+
+	RefreshAheadCache(String name, Cache<Object, Object> cache, boolean allowNullValues, Duration refreshAfterWrite,
+			Executor executor, MeterRegistry registry) {
+		super(name, cache, allowNullValues);
+		this.expiration = cache.policy()
+			.expireAfterWrite()
+			.orElseThrow(() -> new IllegalArgumentException("Cache '" + name + "' must expire after write"));
+		this.refreshAfterWriteNanos = refreshAfterWrite.toNanos();
+		this.executor = executor;
+		this.staleGets = Counter.builder("cache.refresh.stale")
+			.description("Gets served with an entry older than the refresh interval")
+			.tag("cache", name)
+			.tag("cache.manager", "cacheManager")
+			.register(registry);
+		this.successes = timer(registry, name, "success");
+		this.failures = timer(registry, name, "failure");
+	}
+
+	private static Timer timer(MeterRegistry registry, String name, String result) {
+		return Timer.builder("cache.refresh")
+			.description("Time spent reloading stale entries in the background")
+			.tag("cache", name)
+			.tag("cache.manager", "cacheManager")
+			.tag("result", result)
+			.publishPercentileHistogram()
+			.register(registry);
+	}
+
+	@Override
+	public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+		Callable<T> loader = ReplicaRoutingDataSource.loadingOnPrimary(valueLoader);
+		OptionalLong age = this.expiration.ageOf(key, TimeUnit.NANOSECONDS);
+		if (age.isPresent() && age.getAsLong() >= this.refreshAfterWriteNanos) {
+			this.staleGets.increment();
+			refresh(key, loader);
+		}
+		return super.get(key, loader);
+	}
+
+	private void refresh(Object key, Callable<?> valueLoader) {
+		Object current = getNativeCache().policy().getIfPresentQuietly(key);
+		if (current == null || !this.refreshing.add(key)) {
+			return;
+		}
+		try {
+			this.executor.execute(() -> reload(key, current, valueLoader));
+		}
+		catch (RejectedExecutionException ex) {
+			// Serve the stale entry until a later get finds the executor available
+			this.refreshing.remove(key);
+		}
+	}
+
+	private void reload(Object key, Object current, Callable<?> valueLoader) {
+		long start = System.nanoTime();
+		try {
+			Object value = toStoreValue(valueLoader.call());
+			getNativeCache().asMap().replace(key, current, value);
+			this.successes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+		catch (Exception ex) {
+			this.failures.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			logger.warn("Could not refresh an entry of cache '" + getName() + "': " + ex.getMessage());
+		}
+		finally {
+			this.refreshing.remove(key);
+		}
+	}
+
+}
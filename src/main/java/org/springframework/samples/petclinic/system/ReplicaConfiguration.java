@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.Assert;
+
+/**
+ * Read replica configuration, enabled by {@code petclinic.replicas.enabled}. The primary
+ * {@link DataSource} is wrapped in a {@link LazyConnectionDataSourceProxy}, which only
+ * obtains a connection once the transaction has been marked read-only or not: read-only
+ * transactions, such as the ones of the repository finders, get it from a replica, and
+ * all the others from the primary.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("petclinic.replicas.enabled")
+@EnableConfigurationProperties(ReplicaProperties.class)
+class ReplicaConfiguration {
+
+	@Bean
+	public ReadReplicas readReplicas(ReplicaProperties properties, DataSourceProperties dataSourceProperties) {
+		Assert.state(!properties.getUrls().isEmpty(),
+				"petclinic.replicas.urls is required when read replicas are enabled");
+		String username = (properties.getUsername() != null) ? properties.getUsername()
+				: dataSourceProperties.determineUsername();
+		String password = (properties.getPassword() != null) ? properties.getPassword()
+				: dataSourceProperties.determinePassword();
+		return new ReadReplicas(properties.getUrls(), username, password);
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(JdbcClient jdbcClient, ReadReplicas replicas,
+			ReplicaProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new ReplicaLagMonitor(jdbcClient, replicas, properties,
+				meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+	}
+
+	@Bean
+	public ReadAfterWriteFilter readAfterWriteFilter(ReplicaProperties properties) {
+		return new ReadAfterWriteFilter(properties.getMaxLag().plus(properties.getLagCheckInterval()));
+	}
+
+	@Bean
+	public ReplicasEndpoint replicasEndpoint(ReadReplicas replicas) {
+		return new ReplicasEndpoint(replicas);
+	}
+
+	/**
+	 * Route the read-only transactions of the primary {@link DataSource} to the replicas.
+	 */
+	@Bean
+	static BeanPostProcessor readReplicaDataSourcePostProcessor(ObjectProvider<ReadReplicas> replicas,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource primary && "dataSource".equals(beanName)) {
+					LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+					proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas.getObject(),
+							() -> meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+					return proxy;
+				}
+				return bean;
+			}
+
+		};
+	}
+
+}
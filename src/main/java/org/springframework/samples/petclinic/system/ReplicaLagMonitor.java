@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Measures the replication lag of the {@link ReadReplicas} through the
+ * {@code replica_heartbeat} table. Every {@code petclinic.replicas.lag-check-interval},
+ * the heartbeat is read from the primary and from each replica, the lag of a replica
+ * being how far its heartbeat is behind the one of the primary, and a new heartbeat is
+ * written to the primary. A replica that cannot be read, or has not replicated any
+ * heartbeat yet, has an unknown lag. While the primary is unavailable, replicas are read
+ * from, or not, as of the last check.
+ * <p>
+ * Heartbeats may be written by several instances of the application, whose clocks are
+ * expected to be synchronized well within {@code petclinic.replicas.max-lag}.
+ * <p>
+ * Publishes a {@code db.replica.lag} gauge of the lag of each replica, in seconds.
+ */
+class ReplicaLagMonitor implements SchedulingConfigurer {
+
+	private static final Log logger = LogFactory.getLog(ReplicaLagMonitor.class);
+
+	private static final String SELECT_HEARTBEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+	private final JdbcClient primary;
+
+	private final ReadReplicas replicas;
+
+	private final ReplicaProperties properties;
+
+	ReplicaLagMonitor(JdbcClient primary, ReadReplicas replicas, ReplicaProperties properties, MeterRegistry registry) {
+		this.primary = primary;
+		this.replicas = replicas;
+		this.properties = properties;
+		for (ReadReplicas.Replica replica : replicas.getReplicas()) {
+			Gauge.builder("db.replica.lag", replica, ReplicaLagMonitor::lagInSeconds)
+				.description("Replication lag of the replica, or NaN when unknown")
+				.baseUnit("seconds")
+				.tag("replica", replica.getName())
+				.register(registry);
+		}
+	}
+
+	private static double lagInSeconds(ReadReplicas.Replica replica) {
+		Duration lag = replica.getLag();
+		return (lag != null) ? lag.toNanos() / 1e9 : Double.NaN;
+	}
+
+	/**
+	 * Measure the lag of every replica, then write a new heartbeat.
+	 */
+	void check() {
+		Optional<Timestamp> primaryBeat = this.primary.sql(SELECT_HEARTBEAT).query(Timestamp.class).optional();
+		for (ReadReplicas.Replica replica : this.replicas.getReplicas()) {
+			replica.update(lag(replica, primaryBeat.orElse(null)), this.properties.getMaxLag());
+		}
+		beat();
+	}
+
+	private @Nullable Duration lag(ReadReplicas.Replica replica, @Nullable Timestamp primaryBeat) {
+		if (primaryBeat == null) {
+			return null;
+		}
+		try {
+			Optional<Timestamp> beat = JdbcClient.create(replica.getDataSource())
+				.sql(SELECT_HEARTBEAT)
+				.query(Timestamp.class)
+				.optional();
+			if (beat.isEmpty()) {
+				return null;
+			}
+			Duration lag = Duration.between(beat.get().toInstant(), primaryBeat.toInstant());
+			return lag.isNegative() ? Duration.ZERO : lag;
+		}
+		catch (DataAccessException ex) {
+			logger.debug("Could not read the heartbeat of " + replica.getName(), ex);
+			return null;
+		}
+	}
+
+	private void beat() {
+		Timestamp now = Timestamp.from(Instant.now());
+		int updated = this.primary.sql("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1").param(now).update();
+		if (updated == 0) {
+			try {
+				this.primary.sql("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)").param(now).update();
+			}
+			catch (DuplicateKeyException ex) {
+				// Inserted concurrently by another instance
+			}
+		}
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar registrar) {
+		registrar.addFixedDelayTask(this::check, this.properties.getLagCheckInterval());
+	}
+
+}
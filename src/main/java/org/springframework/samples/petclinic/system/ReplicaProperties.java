@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the read replicas of the database (see {@link ReadReplicas}). Read-only
+ * transactions go to a replica whose replication lag is below {@code max-lag}, and to the
+ * primary when there is none.
+ *
+ * <pre class="code">
+ * petclinic.replicas.enabled=true
+ * petclinic.replicas.urls=jdbc:postgresql://replica1/petclinic,jdbc:postgresql://replica2/petclinic
+ * petclinic.replicas.max-lag=10s
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.replicas")
+public class ReplicaProperties {
+
+	/**
+	 * Whether read-only transactions are routed to the replicas.
+	 */
+	private boolean enabled;
+
+	/**
+	 * JDBC URLs of the replicas.
+	 */
+	private List<String> urls = new ArrayList<>();
+
+	/**
+	 * Login username of the replicas. Defaults to the one of the primary.
+	 */
+	private @Nullable String username;
+
+	/**
+	 * Login password of the replicas. Defaults to the one of the primary.
+	 */
+	private @Nullable String password;
+
+	/**
+	 * Replication lag above which a replica is not read from. A client reads from the
+	 * primary for that long, plus the lag check interval, after each of its writes.
+	 */
+	private Duration maxLag = Duration.ofSeconds(10);
+
+	/**
+	 * Interval between two measures of the replication lag.
+	 */
+	private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public List<String> getUrls() {
+		return this.urls;
+	}
+
+	public void setUrls(List<String> urls) {
+		this.urls = urls;
+	}
+
+	public @Nullable String getUsername() {
+		return this.username;
+	}
+
+	public void setUsername(@Nullable String username) {
+		this.username = username;
+	}
+
+	public @Nullable String getPassword() {
+		return this.password;
+	}
+
+	public void setPassword(@Nullable String password) {
+		this.password = password;
+	}
+
+	public Duration getMaxLag() {
+		return this.maxLag;
+	}
+
+	public void setMaxLag(Duration maxLag) {
+		this.maxLag = maxLag;
+	}
+
+	public Duration getLagCheckInterval() {
+		return this.lagCheckInterval;
+	}
+
+	public void setLagCheckInterval(Duration lagCheckInterval) {
+		this.lagCheckInterval = lagCheckInterval;
+	}
+
+}
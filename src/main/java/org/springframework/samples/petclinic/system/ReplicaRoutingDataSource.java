@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * {@link DataSource} of the read-only transactions, used as the
+ * {@link LazyConnectionDataSourceProxy#setReadOnlyDataSource read-only DataSource} of the
+ * primary. Connections come from the available {@link ReadReplicas}, in turn, and from
+ * the primary if none is available, if none can be connected to, if the current request
+ * must read its own writes (see {@link ReadAfterWriteFilter}), or if the current thread
+ * is loading an entry of a cache (see {@link #loadingOnPrimary(Callable)}). Connections
+ * with other credentials than the configured ones always come from the primary.
+ * <p>
+ * Publishes a {@code db.replica.reads} counter of the connections, tagged with the
+ * {@code target} they were obtained from.
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource {
+
+	private static final String PRIMARY = "primary";
+
+	private static final ThreadLocal<Boolean> loadingCache = new ThreadLocal<>();
+
+	private final DataSource primary;
+
+	private final ReadReplicas replicas;
+
+	private final Supplier<MeterRegistry> meterRegistry;
+
+	private final Map<String, Counter> reads = new ConcurrentHashMap<>();
+
+	ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas, Supplier<MeterRegistry> meterRegistry) {
+		this.primary = primary;
+		this.replicas = replicas;
+		// The registry may not exist yet when the primary DataSource is created
+		this.meterRegistry = SingletonSupplier.of(meterRegistry);
+	}
+
+	/**
+	 * Wrap a cache loader so that its reads go to the primary. An entry loaded from a
+	 * lagging replica right after an eviction would otherwise bring back the evicted
+	 * value, and keep it until the entry expires, whichever request or thread loads it.
+	 * @param <T> the type of the loaded value
+	 * @param loader the cache loader
+	 * @return a loader reading from the primary
+	 */
+	static <T> Callable<T> loadingOnPrimary(Callable<T> loader) {
+		return () -> {
+			if (loadingCache.get() != null) {
+				return loader.call();
+			}
+			loadingCache.set(Boolean.TRUE);
+			try {
+				return loader.call();
+			}
+			finally {
+				loadingCache.remove();
+			}
+		};
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (!ReadAfterWriteFilter.isPrimaryRequired() && loadingCache.get() == null) {
+			ReadReplicas.Replica replica = this.replicas.next();
+			while (replica != null) {
+				try {
+					Connection connection = replica.getDataSource().getConnection();
+					count(replica.getName());
+					return connection;
+				}
+				catch (SQLException ex) {
+					replica.markUnavailable("connection failed: " + ex.getMessage());
+				}
+				replica = this.replicas.next();
+			}
+		}
+		count(PRIMARY);
+		return this.primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		// Replicas are only connected to with their configured credentials
+		count(PRIMARY);
+		return this.primary.getConnection(username, password);
+	}
+
+	private void count(String target) {
+		this.reads
+			.computeIfAbsent(target,
+					(name) -> Counter.builder("db.replica.reads")
+						.description("Connections of read-only transactions, by the database they come from")
+						.tag("target", name)
+						.register(this.meterRegistry.get()))
+			.increment();
+	}
+
+}
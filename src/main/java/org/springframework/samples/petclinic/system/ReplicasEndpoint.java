@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint describing the {@link ReadReplicas}: {@code GET /actuator/replicas}
+ * returns, for each replica, whether read-only transactions go to it and its last
+ * measured replication lag.
+ */
+@Endpoint(id = "replicas")
+public class ReplicasEndpoint {
+
+	private final ReadReplicas replicas;
+
+	ReplicasEndpoint(ReadReplicas replicas) {
+		this.replicas = replicas;
+	}
+
+	@ReadOperation
+	public List<ReplicaDescriptor> replicas() {
+		return this.replicas.getReplicas().stream().map(ReplicasEndpoint::describe).toList();
+	}
+
+	private static ReplicaDescriptor describe(ReadReplicas.Replica replica) {
+		Duration lag = replica.getLag();
+		return new ReplicaDescriptor(replica.getName(), replica.getUrl(), replica.isAvailable(),
+				(lag != null) ? lag.toMillis() : null);
+	}
+
+	/**
+	 * Description of a replica.
+	 *
+	 * @param name the name of the replica, also the name of its connection pool
+	 * @param url the JDBC URL of the replica
+	 * @param available whether read-only transactions go to the replica
+	 * @param lagMillis the last measured replication lag, or {@code null} if unknown
+	 */
+	public record ReplicaDescriptor(String name, String url, boolean available, @Nullable Long lagMillis) {
+
+	}
+
+}
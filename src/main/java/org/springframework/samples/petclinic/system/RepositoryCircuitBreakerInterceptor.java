@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Runs every repository call through the database {@link CircuitBreaker}. Calls are
+ * rejected with a {@link DatabaseUnavailableException} while the circuit is open, so that
+ * requests fail fast instead of piling up on JDBC connections. Only failures telling that
+ * the database is unavailable count as failures: a constraint violation, for instance,
+ * shows that the database responds.
+ * <p>
+ * Added to the repository proxies, beneath the caching layer, so that cached reads never
+ * reach the circuit breaker.
+ */
+class RepositoryCircuitBreakerInterceptor implements MethodInterceptor {
+
+	private final Supplier<CircuitBreaker> circuitBreaker;
+
+	RepositoryCircuitBreakerInterceptor(Supplier<CircuitBreaker> circuitBreaker) {
+		this.circuitBreaker = SingletonSupplier.of(circuitBreaker);
+	}
+
+	@Override
+	public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+		if (invocation.getMethod().getDeclaringClass() == Object.class) {
+			return invocation.proceed();
+		}
+		CircuitBreaker circuitBreaker = this.circuitBreaker.get();
+		if (!circuitBreaker.tryAcquirePermission()) {
+			throw new DatabaseUnavailableException(
+					"The database is unavailable, " + invocation.getMethod().getDeclaringClass().getSimpleName() + "."
+							+ invocation.getMethod().getName() + " was not called");
+		}
+		long start = System.nanoTime();
+		try {
+			Object result = invocation.proceed();
+			circuitBreaker.onSuccess(System.nanoTime() - start);
+			return result;
+		}
+		catch (Throwable ex) {
+			if (isDatabaseFailure(ex)) {
+				circuitBreaker.onFailure();
+			}
+			else {
+				circuitBreaker.onSuccess(System.nanoTime() - start);
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Return whether the given exception, or one of its causes, tells that the database
+	 * is unavailable or degraded.
+	 * @param ex the exception
+	 * @return whether the exception is a database failure
+	 */
+	static boolean isDatabaseFailure(Throwable ex) {
+		for (Throwable candidate = ex; candidate != null; candidate = candidate.getCause()) {
+			if (candidate instanceof TransactionException) {
+				return true;
+			}
+			if (candidate instanceof DataAccessException) {
+				return !(candidate instanceof NonTransientDataAccessException)
+						|| candidate instanceof DataAccessResourceFailureException;
+			}
+		}
+		return false;
+	}
+
+}
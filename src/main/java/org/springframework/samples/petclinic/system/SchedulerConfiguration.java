@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.InstantSource;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Cluster scheduling configuration, enabled unless {@code petclinic.scheduler.enabled} is
+ * {@code false}. Every {@link ClusterJob} bean is run by the {@link ClusterScheduler}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty(name = "petclinic.scheduler.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SchedulerProperties.class)
+class SchedulerConfiguration {
+
+	@Bean
+	public LeaderElection leaderElection(JdbcClient jdbcClient, SchedulerProperties properties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new LeaderElection(jdbcClient, UUID.randomUUID().toString(), properties.getLeaseDuration(),
+				InstantSource.system(), meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+	}
+
+	@Bean
+	public ClusterScheduler clusterScheduler(LeaderElection election, ObjectProvider<ClusterJob> jobs,
+			JdbcClient jdbcClient, SchedulerProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cluster-job-");
+		threadFactory.setDaemon(true);
+		return new ClusterScheduler(election, jobs.orderedStream().toList(), jdbcClient, properties,
+				Executors.newCachedThreadPool(threadFactory), InstantSource.system(),
+				meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+	}
+
+	@Bean
+	public ClusterJobsEndpoint clusterJobsEndpoint(ClusterScheduler scheduler, LeaderElection election) {
+		return new ClusterJobsEndpoint(scheduler, election);
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@link ClusterScheduler}.
+ *
+ * <pre class="code">
+ * petclinic.scheduler.lease-duration=30s
+ * petclinic.scheduler.renew-interval=5s
+ * petclinic.scheduler.history-retention=7d
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.scheduler")
+public class SchedulerProperties {
+
+	/**
+	 * Whether cluster jobs are scheduled by this instance.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Time after its last renewal after which the leadership of an instance expires, and
+	 * another instance may take over.
+	 */
+	private Duration leaseDuration = Duration.ofSeconds(30);
+
+	/**
+	 * Interval between two renewals of the leadership, which is also how often the leader
+	 * checks whether a job is due.
+	 */
+	private Duration renewInterval = Duration.ofSeconds(5);
+
+	/**
+	 * Time during which the runs of the jobs are kept in the {@code job_run} table.
+	 */
+	private Duration historyRetention = Duration.ofDays(7);
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getLeaseDuration() {
+		return this.leaseDuration;
+	}
+
+	public void setLeaseDuration(Duration leaseDuration) {
+		this.leaseDuration = leaseDuration;
+	}
+
+	public Duration getRenewInterval() {
+		return this.renewInterval;
+	}
+
+	public void setRenewInterval(Duration renewInterval) {
+		this.renewInterval = renewInterval;
+	}
+
+	public Duration getHistoryRetention() {
+		return this.historyRetention;
+	}
+
+	public void setHistoryRetention(Duration historyRetention) {
+		this.historyRetention = historyRetention;
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerCustomizer;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * Scheduling configuration. The periodic tasks of the application, such as the cluster
+ * heartbeats, the replica lag checks and the background health checks, are registered by
+ * their beans as {@link SchedulingConfigurer} and all run on the {@link TaskScheduler}
+ * auto-configured by Spring Boot, on virtual threads when they are enabled. The scheduler
+ * stops running them while the application context is stopped, and resumes when it is
+ * started again.
+ * <p>
+ * A failed run is logged, without its stack trace unless debug logging is enabled, and
+ * the task keeps its schedule: most of these tasks fail while the database is
+ * unavailable, and work again once it is back.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+class SchedulingConfiguration {
+
+	private static final Log logger = LogFactory.getLog(SchedulingConfiguration.class);
+
+	private static final ErrorHandler errorHandler = (ex) -> {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Scheduled task failed", ex);
+		}
+		else {
+			logger.warn("Scheduled task failed: " + ex.getMessage());
+		}
+	};
+
+	@Bean
+	ThreadPoolTaskSchedulerCustomizer threadPoolTaskSchedulerErrorHandler() {
+		return (scheduler) -> scheduler.setErrorHandler(errorHandler);
+	}
+
+	@Bean
+	SimpleAsyncTaskSchedulerCustomizer simpleAsyncTaskSchedulerErrorHandler() {
+		return (scheduler) -> scheduler.setErrorHandler(errorHandler);
+	}
+
+}
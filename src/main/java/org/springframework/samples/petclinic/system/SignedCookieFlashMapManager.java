@@ -0,0 +1,190 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * {@link org.springframework.web.servlet.FlashMapManager} keeping the flash attributes in
+ * a cookie rather than in the session, so that a redirect with a message does not create
+ * one. The cookie holds the flash maps as JSON, signed with an HMAC so that clients
+ * cannot forge attributes, and expires with them. Attributes are therefore restored as
+ * JSON values, such as strings, numbers, lists and maps, and are meant to be short
+ * messages: flash maps that would not fit in a cookie are dropped, and the cookie
+ * expired.
+ */
+class SignedCookieFlashMapManager extends AbstractFlashMapManager {
+
+	static final String COOKIE_NAME = "PETCLINIC_FLASH";
+
+	private static final String FLASH_MAPS_ATTRIBUTE = SignedCookieFlashMapManager.class.getName() + ".FLASH_MAPS";
+
+	private static final int MAX_COOKIE_SIZE = 4000;
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private static final TypeReference<List<StoredFlashMap>> STORED_FLASH_MAPS = new TypeReference<>() {
+	};
+
+	private final JsonMapper jsonMapper;
+
+	private final SecretKeySpec signingKey;
+
+	SignedCookieFlashMapManager(JsonMapper jsonMapper, byte[] signingKey) {
+		this.jsonMapper = jsonMapper;
+		this.signingKey = new SecretKeySpec(signingKey, ALGORITHM);
+	}
+
+	@Override
+	protected @Nullable List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+		// Updated earlier in this request, so the cookie of the request is outdated
+		@SuppressWarnings("unchecked")
+		List<FlashMap> updated = (List<FlashMap>) request.getAttribute(FLASH_MAPS_ATTRIBUTE);
+		if (updated != null) {
+			return new ArrayList<>(updated);
+		}
+		Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+		if (cookie == null) {
+			return null;
+		}
+		String value = cookie.getValue();
+		int separator = value.lastIndexOf('.');
+		if (separator == -1 || !MessageDigest.isEqual(sign(value.substring(0, separator)),
+				value.substring(separator + 1).getBytes(StandardCharsets.US_ASCII))) {
+			this.logger.debug("Ignoring flash attributes with an invalid signature");
+			return null;
+		}
+		try {
+			byte[] json = Base64.getUrlDecoder().decode(value.substring(0, separator));
+			List<FlashMap> flashMaps = new ArrayList<>();
+			for (StoredFlashMap stored : this.jsonMapper.readValue(json, STORED_FLASH_MAPS)) {
+				flashMaps.add(stored.toFlashMap());
+			}
+			return flashMaps;
+		}
+		catch (JacksonException | IllegalArgumentException ex) {
+			this.logger.debug("Ignoring unreadable flash attributes", ex);
+			return null;
+		}
+	}
+
+	@Override
+	protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request, HttpServletResponse response) {
+		request.setAttribute(FLASH_MAPS_ATTRIBUTE, List.copyOf(flashMaps));
+		ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(COOKIE_NAME)
+			.path("/")
+			.httpOnly(true)
+			.sameSite("Lax");
+		if (flashMaps.isEmpty()) {
+			cookie.maxAge(0);
+		}
+		else {
+			String value = encode(flashMaps);
+			if (value.length() > MAX_COOKIE_SIZE) {
+				// Expire the previous cookie too, whose attributes may have been used
+				this.logger
+					.warn("Dropping flash attributes of " + value.length() + " characters, too large for a cookie");
+				cookie.maxAge(0);
+			}
+			else {
+				cookie.value(value).maxAge(getFlashMapTimeout());
+			}
+		}
+		response.addHeader(HttpHeaders.SET_COOKIE, cookie.build().toString());
+	}
+
+	@Override
+	protected @Nullable Object getFlashMapsMutex(HttpServletRequest request) {
+		// Each client holds its own flash maps
+		return null;
+	}
+
+	private String encode(List<FlashMap> flashMaps) {
+		List<StoredFlashMap> stored = flashMaps.stream().map(StoredFlashMap::of).toList();
+		String payload = Base64.getUrlEncoder()
+			.withoutPadding()
+			.encodeToString(this.jsonMapper.writeValueAsBytes(stored));
+		return payload + "." + new String(sign(payload), StandardCharsets.US_ASCII);
+	}
+
+	private byte[] sign(String payload) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(this.signingKey);
+			byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getUrlEncoder().withoutPadding().encode(signature);
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Cannot sign flash attributes", ex);
+		}
+	}
+
+	/**
+	 * A {@link FlashMap} as written to the cookie.
+	 *
+	 * @param targetRequestPath the path of the request the attributes are for
+	 * @param targetRequestParams the parameters of the request the attributes are for
+	 * @param expirationTime the time the attributes expire, in milliseconds since the
+	 * epoch
+	 * @param attributes the attributes
+	 */
+	record StoredFlashMap(@Nullable String targetRequestPath, Map<String, List<String>> targetRequestParams,
+			long expirationTime, Map<String, Object> attributes) {
+
+		static StoredFlashMap of(FlashMap flashMap) {
+			return new StoredFlashMap(flashMap.getTargetRequestPath(), flashMap.getTargetRequestParams(),
+					flashMap.getExpirationTime(), flashMap);
+		}
+
+		FlashMap toFlashMap() {
+			FlashMap flashMap = new FlashMap();
+			flashMap.putAll(this.attributes);
+			if (this.targetRequestPath != null) {
+				flashMap.setTargetRequestPath(this.targetRequestPath);
+			}
+			flashMap.addTargetRequestParams(new LinkedMultiValueMap<>(this.targetRequestParams));
+			flashMap.setExpirationTime(this.expirationTime);
+			return flashMap;
+		}
+
+	}
+
+}
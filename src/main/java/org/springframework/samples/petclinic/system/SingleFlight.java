@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load, and the
+ * callers arriving while it is in flight wait for it and get the same result (or
+ * exception). Results are shared between callers, so they should be immutable.
+ * <p>
+ * Loads in flight are tracked in a {@link ConcurrentHashMap}, which only locks the bin of
+ * the key being registered, so that loads of different keys do not contend with each
+ * other. Waiters give up after the configured timeout and run the load themselves, so
+ * that a stuck load does not hold every caller of its key.
+ * <p>
+ * Publishes a {@code singleflight.coalesced} counter of the callers that shared the load
+ * of another caller, and a {@code singleflight.timeouts} counter of the callers that gave
+ * up waiting.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the loaded values
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	private final long timeoutNanos;
+
+	private final Counter coalesced;
+
+	private final Counter timeouts;
+
+	/**
+	 * Create a new instance.
+	 * @param name the name of the loads, used as the {@code name} tag of the metrics
+	 * @param timeout the maximum time to wait for a load started by another caller
+	 * @param registry the registry of the metrics
+	 */
+	public SingleFlight(String name, Duration timeout, MeterRegistry registry) {
+		this.timeoutNanos = timeout.toNanos();
+		this.coalesced = Counter.builder("singleflight.coalesced")
+			.description("Loads served by the concurrent load of the same key by another caller")
+			.tag("name", name)
+			.register(registry);
+		this.timeouts = Counter.builder("singleflight.timeouts")
+			.description("Loads run again after waiting too long for the load of the same key by another caller")
+			.tag("name", name)
+			.register(registry);
+	}
+
+	/**
+	 * Load the value of the given key, or wait for the load of that key already in
+	 * flight.
+	 * @param key the key
+	 * @param loader the load to run if none is in flight for the key
+	 * @return the loaded value
+	 */
+	public V load(K key, Supplier<V> loader) {
+		CompletableFuture<V> flight = new CompletableFuture<>();
+		CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, flight);
+		if (existing != null) {
+			this.coalesced.increment();
+			return await(key, existing, loader);
+		}
+		try {
+			V value = loader.get();
+			flight.complete(value);
+			return value;
+		}
+		catch (RuntimeException | Error ex) {
+			flight.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlight.remove(key, flight);
+		}
+	}
+
+	private V await(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+		try {
+			return flight.get(this.timeoutNanos, TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			this.timeouts.increment();
+			return loader.get();
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Load of " + key + " failed", ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the load of " + key, ex);
+		}
+	}
+
+	/**
+	 * Return the number of loads in flight.
+	 * @return the number of keys being loaded
+	 */
+	int inFlight() {
+		return this.inFlight.size();
+	}
+
+}
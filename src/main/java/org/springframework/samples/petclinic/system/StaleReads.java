@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Remembers the last value read for each key, and serves it when the database is
+ * unavailable, either because the read failed or because the database
+ * {@link CircuitBreaker} rejected it. The values returned this way are flagged as
+ * {@link Read#stale() stale}, so that they can be shown with a warning.
+ * <p>
+ * The last values are kept in memory, without expiry, up to the given number of keys.
+ * Empty {@link Optional} values are not kept: a key read as empty has no known value.
+ * Publishes a {@code stale.reads} counter of the reads served with a stale value.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values, which should be immutable or copied by the callers
+ */
+public class StaleReads<K, V> {
+
+	private final Cache<K, V> lastValues;
+
+	private final Counter staleReads;
+
+	/**
+	 * Create a new instance.
+	 * @param name the name of the reads, used as the {@code name} tag of the metrics
+	 * @param maximumSize the maximum number of keys whose last value is kept
+	 * @param registry the registry of the metrics
+	 */
+	public StaleReads(String name, long maximumSize, MeterRegistry registry) {
+		this.lastValues = Caffeine.newBuilder().maximumSize(maximumSize).build();
+		this.staleReads = Counter.builder("stale.reads")
+			.description("Reads served with the last known value while the database was unavailable")
+			.tag("name", name)
+			.register(registry);
+	}
+
+	/**
+	 * Read the value of the given key, or return its last known value if the database is
+	 * unavailable.
+	 * @param key the key
+	 * @param query the read
+	 * @return the value, flagged as stale if the read failed
+	 * @throws RuntimeException the failure of the read, if it is not a database failure
+	 * or if the key has no known value
+	 */
+	public Read<V> read(K key, Supplier<V> query) {
+		V value;
+		try {
+			value = query.get();
+		}
+		catch (RuntimeException ex) {
+			V lastValue = RepositoryCircuitBreakerInterceptor.isDatabaseFailure(ex) ? this.lastValues.getIfPresent(key)
+					: null;
+			if (lastValue == null) {
+				throw ex;
+			}
+			this.staleReads.increment();
+			return new Read<>(lastValue, true);
+		}
+		if (value instanceof Optional<?> optional && optional.isEmpty()) {
+			// Serving a value that no longer exists would resurrect it
+			this.lastValues.invalidate(key);
+		}
+		else if (!value.equals(this.lastValues.getIfPresent(key))) {
+			this.lastValues.put(key, value);
+		}
+		return new Read<>(value, false);
+	}
+
+	/**
+	 * The result of a {@link StaleReads#read read}.
+	 *
+	 * @param <V> the type of the value
+	 * @param value the value
+	 * @param stale whether the value is the last known one, rather than the current one
+	 */
+	public record Read<V>(V value, boolean stale) {
+
+		/**
+		 * Return a read of the given value, as fresh or stale as this one.
+		 * @param <R> the type of the new value
+		 * @param mapper the function computing the new value
+		 * @return the new read
+		 */
+		public <R> Read<R> map(Function<? super V, R> mapper) {
+			return new Read<>(mapper.apply(this.value), this.stale);
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ClusterMembership} of the members listed in {@code petclinic.cluster.members}.
+ */
+class StaticClusterMembership implements ClusterMembership {
+
+	private final List<String> members;
+
+	StaticClusterMembership(String self, List<String> members) {
+		List<String> all = new ArrayList<>(members);
+		if (!all.contains(self)) {
+			all.add(self);
+		}
+		this.members = List.copyOf(all);
+	}
+
+	@Override
+	public List<String> getMembers() {
+		return this.members;
+	}
+
+}
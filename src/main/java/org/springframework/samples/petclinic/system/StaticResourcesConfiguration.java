@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+/**
+ * Static resources configuration, replacing the default mappings that
+ * {@code spring.web.resources.add-mappings=false} turns off. The resources under
+ * {@code /resources} and the webjars are linked with a fingerprint of their content (see
+ * {@link FingerprintResourceResolver}), and cached by browsers for a year when requested
+ * that way. They are served from the gzipped copies the build writes next to them when
+ * the request accepts it (see {@code scripts/PrecompressAssets.java}), or as is
+ * otherwise, and never compressed on the fly.
+ * <p>
+ * The links in the stylesheets are left as they are, since they cannot be rewritten in
+ * the precompressed copies: the fonts and images they refer to keep the cache control of
+ * {@code spring.web.resources.cache}.
+ */
+@Configuration(proxyBeanMethods = false)
+class StaticResourcesConfiguration implements WebMvcConfigurer {
+
+	static final CacheControl FINGERPRINTED = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+	private final WebProperties.Resources resources;
+
+	StaticResourcesConfiguration(WebProperties webProperties) {
+		this.resources = webProperties.getResources();
+	}
+
+	/**
+	 * Rewrites the links to the static resources built by templates, adding their
+	 * fingerprint.
+	 * @return the filter
+	 */
+	@Bean
+	public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+		return new ResourceUrlEncodingFilter();
+	}
+
+	@Override
+	public void addResourceHandlers(ResourceHandlerRegistry registry) {
+		configure(registry.addResourceHandler("/resources/**").addResourceLocations("classpath:/static/resources/"));
+		configure(registry.addResourceHandler("/webjars/**")
+			.addResourceLocations("classpath:/META-INF/resources/webjars/"));
+	}
+
+	private void configure(ResourceHandlerRegistration registration) {
+		CacheControl cacheControl = this.resources.getCache().getCachecontrol().toHttpCacheControl();
+		if (cacheControl != null) {
+			registration.setCacheControl(cacheControl);
+		}
+		registration.resourceChain(this.resources.getChain().isCache())
+			.addResolver(new EncodedResourceResolver())
+			.addResolver(new FingerprintResourceResolver(FINGERPRINTED));
+	}
+
+}
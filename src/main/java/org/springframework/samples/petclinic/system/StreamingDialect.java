@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.web.servlet.IServletWebExchange;
+
+import jakarta.servlet.ServletResponse;
+
+/**
+ * Thymeleaf dialect sending what has been rendered so far to the browser. The element
+ * carrying {@code pc:flush} is removed, and the response is flushed where it stood:
+ *
+ * <pre class="code">
+ * &lt;th:block pc:flush="" /&gt;
+ * </pre>
+ *
+ * Templates are rendered straight into the response (see
+ * {@code spring.thymeleaf.servlet.produce-partial-output-while-processing}), so that a
+ * list page flushing right after the layout head lets the browser load the stylesheets
+ * and draw the navbar while its rows are still being read. The response is committed once
+ * flushed: an error occurring later on can no longer be rendered as an error page.
+ */
+public class StreamingDialect extends AbstractProcessorDialect {
+
+	public StreamingDialect() {
+		super("PetClinic Streaming", "pc", StandardDialect.PROCESSOR_PRECEDENCE);
+	}
+
+	@Override
+	public Set<IProcessor> getProcessors(String dialectPrefix) {
+		return Set.of(new FlushTagProcessor(dialectPrefix));
+	}
+
+	private static class FlushTagProcessor extends AbstractAttributeTagProcessor {
+
+		private static final int PRECEDENCE = 1000;
+
+		FlushTagProcessor(String dialectPrefix) {
+			super(TemplateMode.HTML, dialectPrefix, null, false, "flush", true, PRECEDENCE, true);
+		}
+
+		@Override
+		protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+				String attributeValue, IElementTagStructureHandler structureHandler) {
+			structureHandler.removeElement();
+			if (context instanceof IWebContext webContext
+					&& webContext.getExchange() instanceof IServletWebExchange exchange
+					&& exchange.getNativeResponseObject() instanceof ServletResponse response) {
+				try {
+					response.flushBuffer();
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Caffeine {@link StatsCounter} that additionally records every load into a
+ * {@code cache.load.latency} timer with a percentile histogram, tagged with the cache
+ * name. Hits, misses, evictions and size are published from the {@link CacheStats}
+ * snapshot by Spring Boot's cache metrics, which use the same {@code cache} and
+ * {@code cache.manager} tags.
+ */
+class TimedStatsCounter implements StatsCounter {
+
+	private final StatsCounter delegate = new ConcurrentStatsCounter();
+
+	private final Timer successes;
+
+	private final Timer failures;
+
+	TimedStatsCounter(MeterRegistry registry, String cacheName) {
+		this.successes = timer(registry, cacheName, "success");
+		this.failures = timer(registry, cacheName, "failure");
+	}
+
+	private static Timer timer(MeterRegistry registry, String cacheName, String result) {
+		return Timer.builder("cache.load.latency")
+			.description("Time spent loading values into the cache on a miss")
+			.tag("cache", cacheName)
+			.tag("cache.manager", "cacheManager")
+			.tag("result", result)
+			.publishPercentileHistogram()
+			.register(registry);
+	}
+
+	@Override
+	public void recordHits(int count) {
+		this.delegate.recordHits(count);
+	}
+
+	@Override
+	public void recordMisses(int count) {
+		this.delegate.recordMisses(count);
+	}
+
+	@Override
+	public void recordLoadSuccess(long loadTime) {
+		this.delegate.recordLoadSuccess(loadTime);
+		this.successes.record(loadTime, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordLoadFailure(long loadTime) {
+		this.delegate.recordLoadFailure(loadTime);
+		this.failures.record(loadTime, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordEviction(int weight, RemovalCause cause) {
+		this.delegate.recordEviction(weight, cause);
+	}
+
+	@Override
+	public CacheStats snapshot() {
+		return this.delegate.snapshot();
+	}
+
+}
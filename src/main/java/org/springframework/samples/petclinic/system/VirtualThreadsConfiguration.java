@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Virtual threads configuration, enabled by {@code spring.threads.virtual.enabled} on
+ * Java 21 or later. Spring Boot then handles the requests, and runs the {@code @Async}
+ * methods and the scheduled tasks, on virtual threads.
+ * <p>
+ * Requests are no longer limited by the size of the Tomcat thread pool, so the connection
+ * pool is fronted by a {@link ConnectionLimitingDataSource}, sized after it by default,
+ * and pinned virtual threads are reported by a {@link PinnedThreadMonitor}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(VirtualThreadsProperties.class)
+class VirtualThreadsConfiguration {
+
+	@Bean
+	public PinnedThreadMonitor pinnedThreadMonitor(VirtualThreadsProperties properties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new PinnedThreadMonitor(properties.getPinnedThreshold(),
+				meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+	}
+
+	/**
+	 * Limit the connections borrowed at once from the connection pool. Applied before the
+	 * other wrappers of the {@link DataSource}, so that only the connections of the pool
+	 * itself are counted.
+	 */
+	@Bean
+	static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+			ObjectProvider<VirtualThreadsProperties> properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new ConnectionLimitingPostProcessor(properties, meterRegistry);
+	}
+
+	private static final class ConnectionLimitingPostProcessor implements BeanPostProcessor, Ordered {
+
+		private final ObjectProvider<VirtualThreadsProperties> properties;
+
+		private final ObjectProvider<MeterRegistry> meterRegistry;
+
+		ConnectionLimitingPostProcessor(ObjectProvider<VirtualThreadsProperties> properties,
+				ObjectProvider<MeterRegistry> meterRegistry) {
+			this.properties = properties;
+			this.meterRegistry = meterRegistry;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof HikariDataSource pool && "dataSource".equals(beanName)) {
+				Integer permits = this.properties.getObject().getConnectionPermits();
+				return new ConnectionLimitingDataSource(pool, (permits != null) ? permits : pool.getMaximumPoolSize(),
+						Duration.ofMillis(pool.getConnectionTimeout()),
+						this.meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+			}
+			return bean;
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+	}
+
+}
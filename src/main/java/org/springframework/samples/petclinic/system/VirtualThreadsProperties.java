@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings applying when requests are handled on virtual threads, which
+ * {@code spring.threads.virtual.enabled} turns on when running on Java 21 or later.
+ *
+ * <pre class="code">
+ * spring.threads.virtual.enabled=true
+ * petclinic.virtual-threads.connection-permits=10
+ * petclinic.virtual-threads.pinned-threshold=20ms
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.virtual-threads")
+public class VirtualThreadsProperties {
+
+	/**
+	 * Maximum number of database connections borrowed at once, the other threads waiting
+	 * for one in turn. Defaults to the maximum size of the connection pool.
+	 */
+	private @Nullable Integer connectionPermits;
+
+	/**
+	 * Time a virtual thread may stay blocked while pinned to its carrier thread before it
+	 * is reported.
+	 */
+	private Duration pinnedThreshold = Duration.ofMillis(20);
+
+	public @Nullable Integer getConnectionPermits() {
+		return this.connectionPermits;
+	}
+
+	public void setConnectionPermits(@Nullable Integer connectionPermits) {
+		this.connectionPermits = connectionPermits;
+	}
+
+	public Duration getPinnedThreshold() {
+		return this.pinnedThreshold;
+	}
+
+	public void setPinnedThreshold(Duration pinnedThreshold) {
+		this.pinnedThreshold = pinnedThreshold;
+	}
+
+}
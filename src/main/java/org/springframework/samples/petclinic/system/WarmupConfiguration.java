@@ -0,0 +1,39 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs the {@link WarmupTask WarmupTasks} at startup. Spring Boot only reports the
+ * application as ready to accept traffic once its runners have completed, so the
+ * readiness probe stays down until the warm-up is done or has timed out.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(WarmupProperties.class)
+class WarmupConfiguration {
+
+	@Bean
+	WarmupRunner warmupRunner(WarmupProperties properties, List<WarmupTask> tasks) {
+		return new WarmupRunner(properties, tasks);
+	}
+
+}
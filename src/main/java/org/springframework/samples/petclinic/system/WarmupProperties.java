@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the warm-up run at startup by the {@link WarmupTask WarmupTasks}. Setting a
+ * page count to {@code 0}, or clearing the list of owner prefixes, skips the
+ * corresponding set.
+ *
+ * <pre class="code">
+ * petclinic.warmup.timeout=30s
+ * petclinic.warmup.owner-prefixes=,Davis,Es
+ * </pre>
+ */
+@ConfigurationProperties("petclinic.warmup")
+public class WarmupProperties {
+
+	/**
+	 * Whether to warm up before accepting traffic.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Maximum time to wait for the warm-up. The application accepts traffic once it
+	 * expires, even if some stages did not run.
+	 */
+	private Duration timeout = Duration.ofSeconds(30);
+
+	/**
+	 * Number of vet pages to load, starting from the first one.
+	 */
+	private int vetPages = 2;
+
+	/**
+	 * Owner last name prefixes to search for. The empty prefix lists every owner, like
+	 * the "Find Owner" page does by default.
+	 */
+	private List<String> ownerPrefixes = new ArrayList<>(List.of(""));
+
+	/**
+	 * Number of result pages to load for each owner prefix, starting from the first one.
+	 */
+	private int ownerPages = 2;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getTimeout() {
+		return this.timeout;
+	}
+
+	public void setTimeout(Duration timeout) {
+		this.timeout = timeout;
+	}
+
+	public int getVetPages() {
+		return this.vetPages;
+	}
+
+	public void setVetPages(int vetPages) {
+		this.vetPages = vetPages;
+	}
+
+	public List<String> getOwnerPrefixes() {
+		return this.ownerPrefixes;
+	}
+
+	public void setOwnerPrefixes(List<String> ownerPrefixes) {
+		this.ownerPrefixes = ownerPrefixes;
+	}
+
+	public int getOwnerPages() {
+		return this.ownerPages;
+	}
+
+	public void setOwnerPages(int ownerPages) {
+		this.ownerPages = ownerPages;
+	}
+
+}
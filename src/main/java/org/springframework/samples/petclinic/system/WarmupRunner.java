@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * {@link ApplicationRunner} running every {@link WarmupTask} in turn on a dedicated
+ * thread, and waiting for them at most {@link WarmupProperties#getTimeout()}. The
+ * duration of each stage is logged. A failing stage does not prevent the next ones from
+ * running, and a warm-up that times out is interrupted.
+ */
+class WarmupRunner implements ApplicationRunner {
+
+	private static final Log logger = LogFactory.getLog(WarmupRunner.class);
+
+	private final WarmupProperties properties;
+
+	private final List<WarmupTask> tasks;
+
+	WarmupRunner(WarmupProperties properties, List<WarmupTask> tasks) {
+		this.properties = properties;
+		this.tasks = tasks;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!this.properties.isEnabled() || this.tasks.isEmpty()) {
+			return;
+		}
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("warmup-"));
+		Future<?> warmup = executor.submit(this::runTasks);
+		try {
+			warmup.get(this.properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+			logger.info("Warm-up completed in " + elapsedMillis(start) + " ms");
+		}
+		catch (TimeoutException ex) {
+			warmup.cancel(true);
+			logger.warn("Warm-up timed out after " + this.properties.getTimeout().toMillis()
+					+ " ms, accepting traffic anyway");
+		}
+		catch (ExecutionException ex) {
+			logger.warn("Warm-up failed", ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void runTasks() {
+		for (WarmupTask task : this.tasks) {
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			long start = System.nanoTime();
+			try {
+				task.warmUp();
+				logger.info("Warm-up stage '" + task.getName() + "' completed in " + elapsedMillis(start) + " ms");
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Warm-up stage '" + task.getName() + "' failed after " + elapsedMillis(start) + " ms: "
+						+ ex.getMessage());
+			}
+		}
+	}
+
+	private static long elapsedMillis(long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+/**
+ * A stage of the warm-up run at startup, before the application reports itself ready to
+ * accept traffic. Stages run in their {@link org.springframework.core.annotation.Order
+ * order}, on a single thread.
+ *
+ * @see WarmupProperties
+ */
+public interface WarmupTask {
+
+	/**
+	 * Return the name of this stage, as logged with its duration.
+	 * @return the stage name
+	 */
+	String getName();
+
+	/**
+	 * Load the data, and exercise the code paths, that the first requests will need.
+	 */
+	void warmUp();
+
+}
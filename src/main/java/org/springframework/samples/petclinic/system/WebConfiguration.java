@@ -1,13 +1,20 @@
 package org.springframework.samples.petclinic.system;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.FlashMapManager;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
-import org.springframework.web.servlet.i18n.SessionLocaleResolver;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.Locale;
 
 /**
@@ -17,25 +24,55 @@ import java.util.Locale;
  * Handles loading language-specific messages, tracking the user's language, and allowing
  * language changes via the URL parameter (e.g., <code>?lang=de</code>).
  * </p>
+ * <p>
+ * The language and the flash attributes are kept in cookies, so that no HTTP session is
+ * ever created.
+ * </p>
  *
  * @author Anuj Ashok Potdar
  */
 @Configuration
+@EnableConfigurationProperties(FlashProperties.class)
 @SuppressWarnings("unused")
 public class WebConfiguration implements WebMvcConfigurer {
 
+	private static final int MIN_SIGNING_KEY_LENGTH = 32;
+
 	/**
-	 * Uses session storage to remember the user’s language setting across requests.
-	 * Defaults to English if nothing is specified.
-	 * @return session-based {@link LocaleResolver}
+	 * Uses a cookie to remember the user’s language setting across requests. Defaults to
+	 * English if nothing is specified.
+	 * @return cookie-based {@link LocaleResolver}
 	 */
 	@Bean
 	public LocaleResolver localeResolver() {
-		SessionLocaleResolver resolver = new SessionLocaleResolver();
+		CookieLocaleResolver resolver = new CookieLocaleResolver("PETCLINIC_LOCALE");
 		resolver.setDefaultLocale(Locale.ENGLISH);
 		return resolver;
 	}
 
+	/**
+	 * Keeps the flash attributes of redirects, such as "New Owner Created", in a signed
+	 * cookie rather than in the session.
+	 * @param properties the flash settings
+	 * @param jsonMapper the mapper writing the attributes
+	 * @return cookie-based {@link FlashMapManager}
+	 */
+	@Bean
+	public FlashMapManager flashMapManager(FlashProperties properties, JsonMapper jsonMapper) {
+		String signingKey = properties.getSigningKey();
+		byte[] key;
+		if (StringUtils.hasText(signingKey)) {
+			key = signingKey.getBytes(StandardCharsets.UTF_8);
+			Assert.state(key.length >= MIN_SIGNING_KEY_LENGTH, () -> "petclinic.flash.signing-key must be at least "
+					+ MIN_SIGNING_KEY_LENGTH + " bytes long, but is " + key.length);
+		}
+		else {
+			key = new byte[MIN_SIGNING_KEY_LENGTH];
+			new SecureRandom().nextBytes(key);
+		}
+		return new SignedCookieFlashMapManager(jsonMapper, key);
+	}
+
 	/**
 	 * Allows the app to switch languages using a URL parameter like
 	 * <code>?lang=es</code>.
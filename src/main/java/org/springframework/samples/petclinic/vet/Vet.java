@@ -15,21 +15,24 @@
  */
 package org.springframework.samples.petclinic.vet;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.samples.petclinic.model.NamedEntity;
 import org.springframework.samples.petclinic.model.Person;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.xml.bind.annotation.XmlElement;
 import org.jspecify.annotations.Nullable;
 
@@ -43,6 +46,7 @@ import org.jspecify.annotations.Nullable;
  */
 @Entity
 @Table(name = "vets")
+@EntityListeners(VetEntityListener.class)
 public class Vet extends Person {
 
 	@ManyToMany(fetch = FetchType.EAGER)
@@ -50,7 +54,25 @@ public class Vet extends Person {
 			inverseJoinColumns = @JoinColumn(name = "specialty_id"))
 	private @Nullable Set<Specialty> specialties;
 
+	/**
+	 * Immutable view of {@link #specialties} sorted by name, so that reading the
+	 * specialties of a (cached) vet does not allocate. Built after loading and after
+	 * adding a specialty, and dropped whenever the set is handed out for mutation.
+	 */
+	@Transient
+	private transient @Nullable List<Specialty> sortedSpecialties;
+
+	/**
+	 * Return the mutable set of specialties, for a single mutation. Drops the sorted
+	 * view, which is built again on the next read.
+	 * @return the specialties
+	 */
 	protected Set<Specialty> getSpecialtiesInternal() {
+		this.sortedSpecialties = null;
+		return specialties();
+	}
+
+	private Set<Specialty> specialties() {
 		if (this.specialties == null) {
 			this.specialties = new HashSet<>();
 		}
@@ -59,17 +81,34 @@ public class Vet extends Person {
 
 	@XmlElement
 	public List<Specialty> getSpecialties() {
-		return getSpecialtiesInternal().stream()
-			.sorted(Comparator.comparing(NamedEntity::getName))
-			.collect(Collectors.toList());
+		List<Specialty> sorted = this.sortedSpecialties;
+		// The set may still have been empty when @PostLoad ran
+		if (sorted == null || sorted.size() != specialties().size()) {
+			sorted = sortSpecialties();
+		}
+		return sorted;
 	}
 
 	public int getNrOfSpecialties() {
-		return getSpecialtiesInternal().size();
+		return specialties().size();
 	}
 
 	public void addSpecialty(Specialty specialty) {
-		getSpecialtiesInternal().add(specialty);
+		specialties().add(specialty);
+		sortSpecialties();
+	}
+
+	@PostLoad
+	void onLoad() {
+		sortSpecialties();
+	}
+
+	private List<Specialty> sortSpecialties() {
+		List<Specialty> sorted = new ArrayList<>(specialties());
+		sorted.sort(Comparator.comparing(NamedEntity::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+		List<Specialty> immutable = List.copyOf(sorted);
+		this.sortedSpecialties = immutable;
+		return immutable;
 	}
 
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.system.CacheInvalidationLog;
+import org.springframework.samples.petclinic.system.CacheRefresher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the {@code vets} and {@code vetPages} caches of {@link VetRepository} in sync
+ * with vet and specialty writes. Listens to the events published by
+ * {@link VetEntityListener} once the writing transaction has committed, and evicts only
+ * the entries holding the changed vet (or a vet with the changed specialty). Inserting or
+ * deleting a vet shifts every page, so it clears all pages.
+ * <p>
+ * The other replicas are notified through the {@link CacheInvalidationLog}. They cannot
+ * tell which of their pages hold the changed vet from a key, so they clear both caches.
+ *
+ * @see org.springframework.samples.petclinic.system.CacheAdminEndpoint
+ */
+@Component
+class VetCacheInvalidator {
+
+	static final String VETS = "vets";
+
+	static final String VET_PAGES = "vetPages";
+
+	private static final Log logger = LogFactory.getLog(VetCacheInvalidator.class);
+
+	private final CacheManager cacheManager;
+
+	private final CacheInvalidationLog invalidationLog;
+
+	VetCacheInvalidator(CacheManager cacheManager, CacheInvalidationLog invalidationLog) {
+		this.cacheManager = cacheManager;
+		this.invalidationLog = invalidationLog;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	void onVetChanged(VetChangedEvent event) {
+		evictAll(VETS);
+		if (event.membershipChanged()) {
+			evictAll(VET_PAGES);
+		}
+		else {
+			evictPages(vet -> Objects.equals(vet.getId(), event.vetId()));
+		}
+		publish();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	void onSpecialtyChanged(SpecialtyChangedEvent event) {
+		evictAll(VETS);
+		evictPages(vet -> vet.getSpecialties()
+			.stream()
+			.anyMatch(specialty -> Objects.equals(specialty.getId(), event.specialtyId())));
+		publish();
+	}
+
+	private void publish() {
+		this.invalidationLog.publish(VETS, null);
+		this.invalidationLog.publish(VET_PAGES, null);
+	}
+
+	private void evictAll(String cacheName) {
+		Cache cache = this.cacheManager.getCache(cacheName);
+		if (cache != null) {
+			cache.invalidate();
+		}
+	}
+
+	private void evictPages(Predicate<Vet> affected) {
+		Cache cache = this.cacheManager.getCache(VET_PAGES);
+		if (cache == null) {
+			return;
+		}
+		if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+			cache.invalidate();
+			return;
+		}
+		Map<?, ?> entries = nativeCache.asMap();
+		int before = entries.size();
+		entries.values()
+			.removeIf(value -> value instanceof Page<?> page
+					&& page.stream().anyMatch(element -> element instanceof Vet vet && affected.test(vet)));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Evicted " + (before - entries.size()) + " of " + before + " cached vet pages");
+		}
+	}
+
+	/**
+	 * Reload all vets after the {@code vets} cache has been cleared.
+	 */
+	@Component
+	static class VetsRefresher implements CacheRefresher {
+
+		private final VetRepository vets;
+
+		VetsRefresher(VetRepository vets) {
+			this.vets = vets;
+		}
+
+		@Override
+		public String getCacheName() {
+			return VETS;
+		}
+
+		@Override
+		public void refresh() {
+			this.vets.findAll();
+		}
+
+	}
+
+	/**
+	 * Reload the first page of vets, as shown by {@code /vets.html}, after the
+	 * {@code vetPages} cache has been cleared.
+	 */
+	@Component
+	static class VetPagesRefresher implements CacheRefresher {
+
+		private final VetRepository vets;
+
+		VetPagesRefresher(VetRepository vets) {
+			this.vets = vets;
+		}
+
+		@Override
+		public String getCacheName() {
+			return VET_PAGES;
+		}
+
+		@Override
+		public void refresh() {
+			this.vets.findAll(PageRequest.of(0, VetController.PAGE_SIZE));
+		}
+
+	}
+
+}
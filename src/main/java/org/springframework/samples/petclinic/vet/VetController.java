@@ -17,14 +17,22 @@ package org.springframework.samples.petclinic.vet;
 
 import java.util.List;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.system.ChunkedRows;
+import org.springframework.samples.petclinic.system.ListProperties;
+import org.springframework.samples.petclinic.system.StaleReads;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
 
 /**
  * @author Juergen Hoeller
@@ -35,44 +43,67 @@ import org.springframework.web.bind.annotation.ResponseBody;
 @Controller
 class VetController {
 
+	static final int PAGE_SIZE = 5;
+
+	private static final int STALE_PAGES = 100;
+
+	private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
 	private final VetRepository vetRepository;
 
-	public VetController(VetRepository vetRepository) {
+	private final ListProperties listProperties;
+
+	private final StaleReads<Pageable, Page<Vet>> stalePages;
+
+	private final StaleReads<String, List<Vet>> staleVets;
+
+	public VetController(VetRepository vetRepository, ObjectProvider<ListProperties> listProperties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
 		this.vetRepository = vetRepository;
+		this.listProperties = listProperties.getIfAvailable(ListProperties::new);
+		MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+		this.stalePages = new StaleReads<>(VetCacheInvalidator.VET_PAGES, STALE_PAGES, registry);
+		this.staleVets = new StaleReads<>(VetCacheInvalidator.VETS, 1, registry);
 	}
 
 	@GetMapping("/vets.html")
-	public String showVetList(@RequestParam(defaultValue = "1") int page, Model model) {
-		// Here we are returning an object of type 'Vets' rather than a collection of Vet
-		// objects so it is simpler for Object-Xml mapping
-		Vets vets = new Vets();
-		Page<Vet> paginated = findPaginated(page);
-		vets.getVetList().addAll(paginated.toList());
-		return addPaginationModel(page, paginated, model);
-	}
-
-	private String addPaginationModel(int page, Page<Vet> paginated, Model model) {
-		List<Vet> listVets = paginated.getContent();
+	public String showVetList(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(defaultValue = "" + PAGE_SIZE) int size, Model model) {
+		// The first chunk of the page is read with the total number of vets, the other
+		// ones while rendering the page
+		int pageSize = this.listProperties.pageSize(size);
+		int chunkSize = this.listProperties.chunkSize(pageSize);
+		int firstChunk = (page - 1) * (pageSize / chunkSize);
+		StaleReads.Read<Page<Vet>> read = findChunk(PageRequest.of(firstChunk, chunkSize));
+		Page<Vet> paginated = read.value();
+		long total = paginated.getTotalElements();
+		ChunkedRows<Vet> listVets = new ChunkedRows<>(paginated.getContent(),
+				ChunkedRows.rowsOnPage(page, pageSize, total),
+				(chunk) -> findChunk(PageRequest.of(firstChunk + chunk, chunkSize)).value().getContent());
+		model.addAttribute("stale", read.stale());
 		model.addAttribute("currentPage", page);
-		model.addAttribute("totalPages", paginated.getTotalPages());
-		model.addAttribute("totalItems", paginated.getTotalElements());
+		model.addAttribute("pageSize", pageSize);
+		model.addAttribute("totalPages", ChunkedRows.pageCount(pageSize, total));
+		model.addAttribute("totalItems", total);
 		model.addAttribute("listVets", listVets);
 		return "vets/vetList";
 	}
 
-	private Page<Vet> findPaginated(int page) {
-		int pageSize = 5;
-		Pageable pageable = PageRequest.of(page - 1, pageSize);
-		return vetRepository.findAll(pageable);
+	private StaleReads.Read<Page<Vet>> findChunk(Pageable pageable) {
+		return this.stalePages.read(pageable, () -> vetRepository.findAll(pageable));
 	}
 
 	@GetMapping({ "/vets" })
-	public @ResponseBody Vets showResourcesVetList() {
+	public ResponseEntity<Vets> showResourcesVetList() {
 		// Here we are returning an object of type 'Vets' rather than a collection of Vet
 		// objects so it is simpler for JSon/Object mapping
 		Vets vets = new Vets();
-		vets.getVetList().addAll(this.vetRepository.findAll());
-		return vets;
+		StaleReads.Read<List<Vet>> read = this.staleVets.read("all", () -> List.copyOf(this.vetRepository.findAll()));
+		vets.getVetList().addAll(read.value());
+		if (read.stale()) {
+			return ResponseEntity.ok().header(HttpHeaders.WARNING, STALE_WARNING).body(vets);
+		}
+		return ResponseEntity.ok(vets);
 	}
 
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener turning writes of {@link Vet Vets} and {@link Specialty
+ * Specialties} into {@link VetChangedEvent} and {@link SpecialtyChangedEvent} application
+ * events. Instantiated by Hibernate through the Spring bean container, so that it has
+ * access to the {@link ApplicationEventPublisher}.
+ *
+ * @see VetCacheInvalidator
+ */
+class VetEntityListener {
+
+	private final ApplicationEventPublisher events;
+
+	VetEntityListener(ApplicationEventPublisher events) {
+		this.events = events;
+	}
+
+	@PostPersist
+	@PostRemove
+	void membershipChanged(Object entity) {
+		publish(entity, true);
+	}
+
+	@PostUpdate
+	void updated(Object entity) {
+		publish(entity, false);
+	}
+
+	private void publish(Object entity, boolean membershipChanged) {
+		if (entity instanceof Vet vet && vet.getId() != null) {
+			this.events.publishEvent(new VetChangedEvent(vet.getId(), membershipChanged));
+		}
+		else if (entity instanceof Specialty specialty && specialty.getId() != null) {
+			this.events.publishEvent(new SpecialtyChangedEvent(specialty.getId()));
+		}
+	}
+
+}
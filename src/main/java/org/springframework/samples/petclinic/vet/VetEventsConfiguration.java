@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.List;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes a {@link VetChangedEvent} when only the specialties of a {@link Vet} change.
+ * JPA does not call {@code @PostUpdate} for collection-only changes, so
+ * {@link VetEntityListener} cannot see them; this registers Hibernate collection event
+ * listeners instead.
+ */
+@Configuration(proxyBeanMethods = false)
+class VetEventsConfiguration {
+
+	@Bean
+	HibernatePropertiesCustomizer vetCollectionEventsCustomizer(ApplicationEventPublisher events) {
+		return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+				(IntegratorProvider) () -> List.of(new SpecialtiesChangedListener(events)));
+	}
+
+	static class SpecialtiesChangedListener
+			implements Integrator, PostCollectionUpdateEventListener, PostCollectionRecreateEventListener {
+
+		private final ApplicationEventPublisher events;
+
+		SpecialtiesChangedListener(ApplicationEventPublisher events) {
+			this.events = events;
+		}
+
+		@Override
+		public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+				SessionFactoryImplementor sessionFactory) {
+			sessionFactory.getEventListenerRegistry().appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+			sessionFactory.getEventListenerRegistry().appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+		}
+
+		@Override
+		public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+			publish(event);
+		}
+
+		@Override
+		public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+			publish(event);
+		}
+
+		private void publish(AbstractCollectionEvent event) {
+			if (event.getAffectedOwnerOrNull() instanceof Vet vet && vet.getId() != null) {
+				this.events.publishEvent(new VetChangedEvent(vet.getId(), false));
+			}
+		}
+
+	}
+
+}
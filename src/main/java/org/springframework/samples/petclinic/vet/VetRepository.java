@@ -51,7 +51,7 @@ public interface VetRepository extends Repository<Vet, Integer> {
 	 * @
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
+	@Cacheable(cacheNames = "vets", key = "'all'", sync = true)
 	Collection<Vet> findAll() throws DataAccessException;
 
 	/**
@@ -72,7 +72,7 @@ public interface VetRepository extends Repository<Vet, Integer> {
 	 * @
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
+	@Cacheable(cacheNames = "vetPages", keyGenerator = "pageableKeyGenerator", sync = true)
 	Page<Vet> findAll(Pageable pageable) throws DataAccessException;
 
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.vet;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.system.WarmupProperties;
+import org.springframework.samples.petclinic.system.WarmupTask;
+import org.springframework.stereotype.Component;
+
+/**
+ * Populates the {@code vets} cache, and the {@code vetPages} cache with the first
+ * {@code petclinic.warmup.vet-pages} pages of {@code /vets.html}. Specialties are loaded
+ * with the vets.
+ */
+@Component
+@Order(2)
+class VetWarmupTask implements WarmupTask {
+
+	private final VetRepository vets;
+
+	private final WarmupProperties properties;
+
+	VetWarmupTask(VetRepository vets, WarmupProperties properties) {
+		this.vets = vets;
+		this.properties = properties;
+	}
+
+	@Override
+	public String getName() {
+		return "vets";
+	}
+
+	@Override
+	public void warmUp() {
+		this.vets.findAll();
+		for (int page = 0; page < this.properties.getVetPages(); page++) {
+			if (this.vets.findAll(PageRequest.of(page, VetController.PAGE_SIZE)).isLast()) {
+				break;
+			}
+		}
+	}
+
+}
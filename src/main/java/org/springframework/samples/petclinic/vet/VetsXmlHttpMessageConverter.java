@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes {@link Vets} as XML with a StAX {@link XMLStreamWriter}, vet by vet, instead of
+ * building and marshalling the whole JAXB tree. The document has the same shape as the
+ * one produced by JAXB for {@link Vets}, byte for byte:
+ *
+ * <pre class="code">
+ * &lt;vets&gt;
+ *   &lt;vetList&gt;
+ *     &lt;id&gt;1&lt;/id&gt;&lt;firstName&gt;James&lt;/firstName&gt;&lt;lastName&gt;Carter&lt;/lastName&gt;
+ *     &lt;specialties&gt;&lt;id&gt;1&lt;/id&gt;&lt;name&gt;radiology&lt;/name&gt;&lt;/specialties&gt;
+ *   &lt;/vetList&gt;
+ * &lt;/vets&gt;
+ * </pre>
+ *
+ * Takes precedence over the JAXB converter for {@link Vets}, which remains in place for
+ * every other {@code @XmlRootElement} type.
+ *
+ * @see #writeVets(Iterator, OutputStream)
+ */
+@Component
+public class VetsXmlHttpMessageConverter extends AbstractHttpMessageConverter<Vets> {
+
+	/**
+	 * Number of vets written between two flushes of the underlying stream.
+	 */
+	private static final int FLUSH_INTERVAL = 50;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * XML declaration written by JAXB, which {@link XMLStreamWriter} cannot produce as it
+	 * has no {@code standalone} pseudo-attribute.
+	 */
+	private static final String PROLOG = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+
+	private final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+
+	public VetsXmlHttpMessageConverter() {
+		super(StandardCharsets.UTF_8, MediaType.APPLICATION_XML, MediaType.TEXT_XML);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return Vets.class == clazz;
+	}
+
+	@Override
+	protected boolean canRead(@Nullable MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	protected Vets readInternal(Class<? extends Vets> clazz, HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("Reading Vets from XML is not supported", inputMessage);
+	}
+
+	@Override
+	protected void writeInternal(Vets vets, HttpOutputMessage outputMessage) throws IOException {
+		writeVets(vets.getVetList().iterator(), outputMessage.getBody());
+	}
+
+	/**
+	 * Write the vets returned by the given cursor as a {@code vets} document, flushing
+	 * the stream periodically so that the response is sent while it is written.
+	 * @param vets the cursor over the vets to write
+	 * @param out the stream to write to
+	 * @throws IOException if the document cannot be written
+	 */
+	public void writeVets(Iterator<Vet> vets, OutputStream out) throws IOException {
+		try {
+			// The JDK writer encodes char by char, so buffer before hitting the stream
+			BufferedWriter buffer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+					BUFFER_SIZE);
+			buffer.write(PROLOG);
+			XMLStreamWriter writer = this.outputFactory.createXMLStreamWriter(buffer);
+			writer.writeStartElement("vets");
+			int count = 0;
+			while (vets.hasNext()) {
+				writeVet(writer, vets.next());
+				if (++count % FLUSH_INTERVAL == 0) {
+					writer.flush();
+				}
+			}
+			writer.writeEndElement();
+			writer.writeEndDocument();
+			writer.flush();
+			writer.close();
+		}
+		catch (XMLStreamException ex) {
+			throw new HttpMessageNotWritableException("Could not write vets: " + ex.getMessage(), ex);
+		}
+	}
+
+	private void writeVet(XMLStreamWriter writer, Vet vet) throws XMLStreamException {
+		writer.writeStartElement("vetList");
+		writeElement(writer, "id", vet.getId());
+		writeElement(writer, "firstName", vet.getFirstName());
+		writeElement(writer, "lastName", vet.getLastName());
+		for (Specialty specialty : vet.getSpecialties()) {
+			writer.writeStartElement("specialties");
+			writeElement(writer, "id", specialty.getId());
+			writeElement(writer, "name", specialty.getName());
+			writer.writeEndElement();
+		}
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Write a simple element, omitting it when the value is {@code null} like JAXB does.
+	 */
+	private void writeElement(XMLStreamWriter writer, String name, @Nullable Object value) throws XMLStreamException {
+		if (value != null) {
+			writer.writeStartElement(name);
+			writer.writeCharacters(value.toString());
+			writer.writeEndElement();
+		}
+	}
+
+}
@@ -1,3 +1,8 @@
+DROP TABLE job_run IF EXISTS;
+DROP TABLE scheduler_lease IF EXISTS;
+DROP TABLE replica_heartbeat IF EXISTS;
+DROP TABLE cluster_member IF EXISTS;
+DROP TABLE cache_invalidation IF EXISTS;
 DROP TABLE vet_specialties IF EXISTS;
 DROP TABLE vets IF EXISTS;
 DROP TABLE specialties IF EXISTS;
@@ -62,3 +67,39 @@ CREATE TABLE visits (
 );
 ALTER TABLE visits ADD CONSTRAINT fk_visits_pets FOREIGN KEY (pet_id) REFERENCES pets (id);
 CREATE INDEX visits_pet_id ON visits (pet_id);
+
+CREATE TABLE cache_invalidation (
+  id         BIGINT IDENTITY PRIMARY KEY,
+  origin     VARCHAR(36) NOT NULL,
+  cache_name VARCHAR(80) NOT NULL,
+  cache_key  VARCHAR(255),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+CREATE INDEX cache_invalidation_created_at ON cache_invalidation (created_at);
+
+CREATE TABLE cluster_member (
+  member       VARCHAR(255) NOT NULL PRIMARY KEY,
+  heartbeat_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE replica_heartbeat (
+  id      INTEGER NOT NULL PRIMARY KEY,
+  beat_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE scheduler_lease (
+  name        VARCHAR(80) NOT NULL PRIMARY KEY,
+  owner       VARCHAR(36) NOT NULL,
+  lease_until TIMESTAMP NOT NULL
+);
+
+CREATE TABLE job_run (
+  job_name     VARCHAR(80) NOT NULL,
+  window_start TIMESTAMP NOT NULL,
+  owner        VARCHAR(36) NOT NULL,
+  started_at   TIMESTAMP NOT NULL,
+  finished_at  TIMESTAMP,
+  outcome      VARCHAR(10) NOT NULL,
+  error        VARCHAR(255),
+  PRIMARY KEY (job_name, window_start)
+);
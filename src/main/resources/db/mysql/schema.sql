@@ -53,3 +53,39 @@ CREATE TABLE IF NOT EXISTS visits (
   description VARCHAR(255),
   FOREIGN KEY (pet_id) REFERENCES pets(id)
 ) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS cache_invalidation (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  origin VARCHAR(36) NOT NULL,
+  cache_name VARCHAR(80) NOT NULL,
+  cache_key VARCHAR(255),
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  INDEX(created_at)
+) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS cluster_member (
+  member VARCHAR(255) NOT NULL PRIMARY KEY,
+  heartbeat_at TIMESTAMP NOT NULL
+) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+  id INT(4) NOT NULL PRIMARY KEY,
+  beat_at TIMESTAMP(3) NOT NULL
+) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+  name VARCHAR(80) NOT NULL PRIMARY KEY,
+  owner VARCHAR(36) NOT NULL,
+  lease_until TIMESTAMP(3) NOT NULL
+) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS job_run (
+  job_name VARCHAR(80) NOT NULL,
+  window_start TIMESTAMP(3) NOT NULL,
+  owner VARCHAR(36) NOT NULL,
+  started_at TIMESTAMP(3) NOT NULL,
+  finished_at TIMESTAMP(3) NULL,
+  outcome VARCHAR(10) NOT NULL,
+  error VARCHAR(255),
+  PRIMARY KEY (job_name, window_start)
+) engine=InnoDB;
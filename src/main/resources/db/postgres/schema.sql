@@ -50,3 +50,39 @@ CREATE TABLE IF NOT EXISTS visits (
   description TEXT
 );
 CREATE INDEX ON visits (pet_id);
+
+CREATE TABLE IF NOT EXISTS cache_invalidation (
+  id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  origin     TEXT NOT NULL,
+  cache_name TEXT NOT NULL,
+  cache_key  TEXT,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX ON cache_invalidation (created_at);
+
+CREATE TABLE IF NOT EXISTS cluster_member (
+  member       TEXT NOT NULL PRIMARY KEY,
+  heartbeat_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+  id      INTEGER NOT NULL PRIMARY KEY,
+  beat_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+  name        VARCHAR(80) NOT NULL PRIMARY KEY,
+  owner       VARCHAR(36) NOT NULL,
+  lease_until TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS job_run (
+  job_name     VARCHAR(80) NOT NULL,
+  window_start TIMESTAMP NOT NULL,
+  owner        VARCHAR(36) NOT NULL,
+  started_at   TIMESTAMP NOT NULL,
+  finished_at  TIMESTAMP,
+  outcome      VARCHAR(10) NOT NULL,
+  error        VARCHAR(255),
+  PRIMARY KEY (job_name, window_start)
+);
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Integration tests for {@link OwnerCacheInvalidator}.
+ */
+@SpringBootTest
+class OwnerCacheInvalidatorTests {
+
+	@Autowired
+	private OwnerDetailsService ownerDetails;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcClient jdbcClient;
+
+	@Test
+	void shouldEvictOwnerWhenSaved() {
+		assertThat(this.ownerDetails.findOwner(1).value()).isPresent();
+		Cache cache = this.cacheManager.getCache(OwnerDetailsService.OWNERS);
+		assertThat(cache.get("1")).isNotNull();
+
+		Owner owner = this.owners.findById(1).orElseThrow();
+		String telephone = owner.getTelephone();
+		try {
+			owner.setTelephone("6085550000");
+			this.owners.save(owner);
+
+			assertThat(cache.get("1")).isNull();
+			assertThat(this.ownerDetails.findOwner(1).value().orElseThrow().getTelephone()).isEqualTo("6085550000");
+			assertThat(this.jdbcClient
+				.sql("SELECT COUNT(*) FROM cache_invalidation WHERE cache_name = 'owners' AND cache_key = '1'")
+				.query(Long.class)
+				.single()).isPositive();
+		}
+		finally {
+			owner.setTelephone(telephone);
+			this.owners.save(owner);
+		}
+	}
+
+}
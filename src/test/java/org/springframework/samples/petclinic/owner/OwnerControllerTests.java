@@ -16,14 +16,19 @@
 
 package org.springframework.samples.petclinic.owner;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.samples.petclinic.system.StaleReads;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -33,6 +38,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
@@ -44,18 +51,20 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
- * Test class for {@link OwnerController}
+ * Test class for {@link OwnerController} and {@link OwnerDetailsController}
  *
  * @author Colin But
  * @author Wick Dynex
  */
-@WebMvcTest(OwnerController.class)
+@WebMvcTest({ OwnerController.class, OwnerDetailsController.class })
+@Import(SimpleMeterRegistry.class)
 @DisabledInNativeImage
 @DisabledInAotMode
 class OwnerControllerTests {
@@ -68,6 +77,12 @@ class OwnerControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private OwnerDetailsService ownerDetails;
+
+	@Autowired
+	private MeterRegistry registry;
+
 	private Owner george() {
 		Owner george = new Owner();
 		george.setId(TEST_OWNER_ID);
@@ -95,6 +110,7 @@ class OwnerControllerTests {
 			.willReturn(new PageImpl<>(List.of(george)));
 
 		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george));
+		given(this.ownerDetails.findOwner(TEST_OWNER_ID)).willReturn(new StaleReads.Read<>(Optional.of(george), false));
 		Visit visit = new Visit();
 		visit.setDate(LocalDate.now());
 		george.getPet("Max").getVisits().add(visit);
@@ -146,6 +162,22 @@ class OwnerControllerTests {
 		mockMvc.perform(get("/owners?page=1")).andExpect(status().isOk()).andExpect(view().name("owners/ownersList"));
 	}
 
+	@Test
+	void testProcessFindFormReadsLargePageInChunks() throws Exception {
+		// 120 rows are rounded down to 2 chunks of 50, page 2 starting with chunk 2
+		Page<Owner> firstChunk = new PageImpl<>(List.of(george(), new Owner()), PageRequest.of(2, 50), 250);
+		when(this.owners.findByLastNameStartingWith(eq(""), eq(PageRequest.of(2, 50)))).thenReturn(firstChunk);
+		when(this.owners.findChunkByLastNameStartingWith(eq(""), eq(PageRequest.of(3, 50))))
+			.thenReturn(List.of(new Owner()));
+		mockMvc.perform(get("/owners?page=2&size=120"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("pageSize", 100))
+			.andExpect(model().attribute("totalPages", 3))
+			.andExpect(content().string(containsString("/owners?page=3&amp;size=100")));
+		verify(this.owners).findChunkByLastNameStartingWith("", PageRequest.of(3, 50));
+		verify(this.owners).findChunkByLastNameStartingWith("", PageRequest.of(4, 50));
+	}
+
 	@Test
 	void testProcessFindFormByLastName() throws Exception {
 		Page<Owner> tasks = new PageImpl<>(List.of(george()));
@@ -228,6 +260,65 @@ class OwnerControllerTests {
 			.andExpect(view().name("owners/ownerDetails"));
 	}
 
+	@Test
+	void testShowOwnerLoadsVisitsLazily() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("data-visits=\"1/pets/1/visits/fragment\"")))
+			.andExpect(content().string(not(containsString("Visit Date"))));
+	}
+
+	@Test
+	void testShowVisits() throws Exception {
+		String etag = mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits/fragment", TEST_OWNER_ID, 1))
+			.andExpect(status().isOk())
+			.andExpect(view().name("owners/petVisits :: visits"))
+			.andExpect(content().string(containsString(LocalDate.now().toString())))
+			.andExpect(content().string(not(containsString("<html"))))
+			.andExpect(header().string("Cache-Control", "no-cache, private"))
+			.andReturn()
+			.getResponse()
+			.getHeader("ETag");
+
+		mockMvc
+			.perform(get("/owners/{ownerId}/pets/{petId}/visits/fragment", TEST_OWNER_ID, 1).header("If-None-Match",
+					etag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+		mockMvc
+			.perform(get("/owners/{ownerId}/pets/{petId}/visits/fragment", TEST_OWNER_ID, 1).param("lang", "de")
+				.header("If-None-Match", etag))
+			.andExpect(status().isOk());
+
+		Visit visit = new Visit();
+		visit.setDescription("rabies shot");
+		this.ownerDetails.findOwner(TEST_OWNER_ID).value().orElseThrow().addVisit(1, visit);
+		mockMvc
+			.perform(get("/owners/{ownerId}/pets/{petId}/visits/fragment", TEST_OWNER_ID, 1).header("If-None-Match",
+					etag))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("rabies shot")));
+	}
+
+	@Test
+	void testShowUnknownOwner() throws Exception {
+		given(this.ownerDetails.findOwner(99)).willReturn(new StaleReads.Read<>(Optional.empty(), false));
+		mockMvc.perform(get("/owners/{ownerId}", 99))
+			.andExpect(status().isNotFound())
+			.andExpect(view().name("notFound"))
+			.andExpect(content().string(containsString("Owner not found with id: 99")))
+			.andExpect(content().string(not(containsString("navbar"))));
+		mockMvc.perform(get("/owners/{ownerId}/edit", 99)).andExpect(status().isNotFound());
+
+		assertThat(this.registry.get("http.server.not.found").tag("route", "/owners/{ownerId}").counter().count())
+			.isEqualTo(1);
+		assertThat(this.registry.get("http.server.not.found")
+			.tag("route", "/owners/{ownerId}/edit")
+			.tag("entity", "Owner")
+			.counter()
+			.count()).isEqualTo(1);
+	}
+
 	@Test
 	public void testProcessUpdateOwnerFormWithIdMismatch() throws Exception {
 		int pathOwnerId = 1;
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.samples.petclinic.system.ClusterRouter;
+import org.springframework.samples.petclinic.system.DatabaseUnavailableException;
+import org.springframework.samples.petclinic.system.PetClinicCacheProperties;
+import org.springframework.samples.petclinic.system.StaleReads;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Tests for {@link OwnerDetailsService}.
+ */
+class OwnerDetailsServiceTests {
+
+	private static final String PEER = "http://localhost:8081";
+
+	private final OwnerRepository owners = mock(OwnerRepository.class);
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(OwnerDetailsService.OWNERS);
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private final ClusterRouter router = mock(ClusterRouter.class);
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setup() {
+		given(this.owners.findById(1)).willReturn(Optional.of(george()));
+		given(this.router.memberFor(1)).willReturn(PEER);
+	}
+
+	@Test
+	void shouldCacheOwnersAsDetachedCopies() {
+		OwnerDetailsService ownerDetails = ownerDetails(null);
+		Owner first = ownerDetails.findOwner(1).value().orElseThrow();
+		Owner second = ownerDetails.findOwner(1).value().orElseThrow();
+
+		assertThat(first).isNotSameAs(second);
+		assertThat(second.getLastName()).isEqualTo("Franklin");
+		assertThat(second.getPet("Max").getVisits()).hasSize(1);
+		verify(this.owners, times(1)).findById(1);
+		assertThat(lookups("local")).isEqualTo(2);
+	}
+
+	@Test
+	void shouldNotCacheUnknownOwners() {
+		OwnerDetailsService ownerDetails = ownerDetails(null);
+
+		assertThat(ownerDetails.findOwner(2).value()).isEmpty();
+		assertThat(ownerDetails.findDocument(3)).isNull();
+		assertThat(this.cacheManager.getCache(OwnerDetailsService.OWNERS).get("2")).isNull();
+		assertThat(this.cacheManager.getCache(OwnerDetailsService.OWNERS).get("3")).isNull();
+	}
+
+	@Test
+	void shouldFetchOwnersFromOwningMember() {
+		given(this.router.fetch(PEER, "/internal/owners/1")).willReturn(this.jsonMapper.writeValueAsString(george()));
+		Owner owner = ownerDetails(this.router).findOwner(1).value().orElseThrow();
+
+		assertThat(owner.getLastName()).isEqualTo("Franklin");
+		verify(this.owners, never()).findById(1);
+		assertThat(this.cacheManager.getCache(OwnerDetailsService.OWNERS).get("1")).isNull();
+		assertThat(lookups("peer")).isEqualTo(1);
+	}
+
+	@Test
+	void shouldTrustOwningMemberForMissingOwners() {
+		assertThat(ownerDetails(this.router).findOwner(1).value()).isEmpty();
+		verify(this.owners, never()).findById(1);
+	}
+
+	@Test
+	void shouldReadDatabaseWhenOwningMemberIsUnavailable() {
+		given(this.router.fetch(PEER, "/internal/owners/1")).willThrow(new ResourceAccessException("timeout"));
+		Owner owner = ownerDetails(this.router).findOwner(1).value().orElseThrow();
+
+		assertThat(owner.getLastName()).isEqualTo("Franklin");
+		assertThat(this.cacheManager.getCache(OwnerDetailsService.OWNERS).get("1")).isNull();
+		assertThat(lookups("fallback")).isEqualTo(1);
+	}
+
+	@Test
+	void shouldServeLastOwnerWhenDatabaseIsUnavailable() {
+		OwnerDetailsService ownerDetails = ownerDetails(null);
+		assertThat(ownerDetails.findOwner(1).stale()).isFalse();
+		this.cacheManager.getCache(OwnerDetailsService.OWNERS).clear();
+		given(this.owners.findById(1)).willThrow(new DatabaseUnavailableException("open"));
+
+		StaleReads.Read<Optional<Owner>> read = ownerDetails.findOwner(1);
+		assertThat(read.stale()).isTrue();
+		assertThat(read.value()).hasValueSatisfying((owner) -> assertThat(owner.getLastName()).isEqualTo("Franklin"));
+	}
+
+	@Test
+	void shouldFetchOwnerOnceForConcurrentLookups() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		String document = this.jsonMapper.writeValueAsString(george());
+		given(this.router.fetch(PEER, "/internal/owners/1")).willAnswer(invocation -> {
+			release.await();
+			return document;
+		});
+		OwnerDetailsService ownerDetails = ownerDetails(this.router);
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			List<Future<Optional<Owner>>> lookups = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				lookups.add(executor.submit(() -> ownerDetails.findOwner(1).value()));
+			}
+			await().until(() -> this.registry.get("singleflight.coalesced").counter().count() == 2);
+			release.countDown();
+
+			List<Owner> found = new ArrayList<>();
+			for (Future<Optional<Owner>> lookup : lookups) {
+				found.add(lookup.get().orElseThrow());
+			}
+			assertThat(found).extracting(Owner::getLastName).containsOnly("Franklin");
+			assertThat(found).doesNotHaveDuplicates();
+			verify(this.router, times(1)).fetch(PEER, "/internal/owners/1");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private OwnerDetailsService ownerDetails(ClusterRouter router) {
+		return new OwnerDetailsService(this.owners, this.cacheManager, this.jsonMapper, new PetClinicCacheProperties(),
+				provider(ClusterRouter.class, router), provider(MeterRegistry.class, this.registry));
+	}
+
+	private double lookups(String outcome) {
+		return this.registry.get("owner.lookups").tag("outcome", outcome).counter().count();
+	}
+
+	private static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		if (bean != null) {
+			beanFactory.addBean(type.getName(), bean);
+		}
+		return beanFactory.getBeanProvider(type);
+	}
+
+	private static Owner george() {
+		Owner george = new Owner();
+		george.setId(1);
+		george.setFirstName("George");
+		george.setLastName("Franklin");
+		george.setAddress("110 W. Liberty St.");
+		george.setCity("Madison");
+		george.setTelephone("6085551023");
+		PetType dog = new PetType();
+		dog.setName("dog");
+		Pet max = new Pet();
+		max.setType(dog);
+		max.setName("Max");
+		max.setBirthDate(LocalDate.of(2020, 1, 1));
+		george.addPet(max);
+		max.setId(1);
+		Visit visit = new Visit();
+		visit.setDescription("rabies shot");
+		max.addVisit(visit);
+		return george;
+	}
+
+}
@@ -91,4 +91,12 @@ class VisitControllerTests {
 			.andExpect(view().name("pets/createOrUpdateVisitForm"));
 	}
 
+	@Test
+	void testInitNewVisitFormForUnknownPet() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, 99))
+			.andExpect(status().isNotFound())
+			.andExpect(view().name("notFound"))
+			.andExpect(model().attribute("message", "Pet not found with id: 99"));
+	}
+
 }
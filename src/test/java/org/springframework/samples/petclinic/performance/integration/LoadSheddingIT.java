@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.performance.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Load test of the load shedding: a browse storm on the owner lists saturates a small
+ * connection pool while visits are booked, and the bookings must stay within their SLO
+ * because the browsing is shed. The browsers wait as long as the {@code Retry-After} of
+ * their rejected requests asks. Not run by the build, run it with
+ * {@code ./mvnw test -Dtest=LoadSheddingIT}.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = { "spring.datasource.hikari.maximum-pool-size=2", "petclinic.load-shedding.target-delay=20ms",
+				"petclinic.load-shedding.interval=200ms", "petclinic.circuit-breaker.slow-call-threshold=1m" })
+class LoadSheddingIT {
+
+	private static final int BROWSERS = 32;
+
+	private static final int BOOKINGS = 100;
+
+	private static final long BOOKING_SLO_MILLIS = 500;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void shouldKeepBookingsWithinSloDuringBrowseStorm() throws Exception {
+		RestClient client = RestClient.builder()
+			.baseUrl("http://localhost:" + this.port)
+			.requestFactory(new SimpleClientHttpRequestFactory())
+			.defaultStatusHandler((status) -> true, (request, response) -> {
+			})
+			.build();
+		AtomicBoolean storming = new AtomicBoolean(true);
+		ExecutorService browsers = Executors.newFixedThreadPool(BROWSERS);
+		for (int i = 0; i < BROWSERS; i++) {
+			int browser = i;
+			browsers.execute(() -> {
+				while (storming.get()) {
+					String uri = (browser % 2 == 0) ? "/owners?lastName=" : "/owners?page=2";
+					ResponseEntity<Void> response = client.get().uri(uri).retrieve().toBodilessEntity();
+					String retryAfter = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+					if (retryAfter != null) {
+						pause(TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter)));
+					}
+				}
+			});
+		}
+		try {
+			// Let the shedding react to the storm before measuring
+			Thread.sleep(2000);
+			List<Long> latencies = new ArrayList<>();
+			for (int i = 0; i < BOOKINGS; i++) {
+				long start = System.nanoTime();
+				int status = client.post()
+					.uri("/owners/1/pets/1/visits/new")
+					.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+					.body("date=" + LocalDate.now() + "&description=Checkup " + i)
+					.retrieve()
+					.toBodilessEntity()
+					.getStatusCode()
+					.value();
+				latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				assertThat(status).isEqualTo(302);
+			}
+			latencies.sort(null);
+			long p95 = latencies.get(BOOKINGS * 95 / 100 - 1);
+			Counter counter = this.registry.find("http.server.shed").tag("priority", "low").counter();
+			double shed = (counter != null) ? counter.count() : 0;
+			System.out.println("Booking latency p50=" + latencies.get(BOOKINGS / 2) + "ms p95=" + p95
+					+ "ms, browsing requests shed: " + (long) shed);
+			assertThat(p95).isLessThanOrEqualTo(BOOKING_SLO_MILLIS);
+			assertThat(shed).isPositive();
+		}
+		finally {
+			storming.set(false);
+			browsers.shutdown();
+			browsers.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	private static void pause(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
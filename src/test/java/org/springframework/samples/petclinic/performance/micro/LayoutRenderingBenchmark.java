@@ -0,0 +1,131 @@
+/*
+ * JMH Micro-Benchmark for the rendering of pages through fragments/layout
+ *
+ * To run:
+ * 1. mvn clean package
+ * 2. java -jar target/benchmarks.jar LayoutRenderingBenchmark -prof gc
+ */
+
+package org.springframework.samples.petclinic.performance.micro;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.samples.petclinic.system.FragmentCacheDialect;
+import org.springframework.samples.petclinic.system.PreloadedMessageSource;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * JMH benchmarks for the rendering of the welcome page, whose head, navbar and footer
+ * come from {@code fragments/layout}, with and without the {@link FragmentCacheDialect}
+ * caching them, and with messages resolved from resource bundles or from a
+ * {@link PreloadedMessageSource}.
+ *
+ * Note: The templates are parsed once and cached by both engines, so only the cost of
+ * processing them is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class LayoutRenderingBenchmark {
+
+	private SpringTemplateEngine cachingEngine;
+
+	private SpringTemplateEngine engine;
+
+	private SpringTemplateEngine preloadedMessagesEngine;
+
+	private JakartaServletWebApplication application;
+
+	private MockServletContext servletContext;
+
+	@Setup
+	public void setup() {
+		servletContext = new MockServletContext();
+		application = JakartaServletWebApplication.buildApplication(servletContext);
+		ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+		messageSource.setBasename("messages/messages");
+		messageSource.setDefaultEncoding("UTF-8");
+		cachingEngine = engine(true, messageSource);
+		engine = engine(false, messageSource);
+		preloadedMessagesEngine = engine(false,
+				new PreloadedMessageSource(List.of("messages/messages"), StandardCharsets.UTF_8));
+	}
+
+	private static SpringTemplateEngine engine(boolean cached, MessageSource messageSource) {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setCharacterEncoding("UTF-8");
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(resolver);
+		engine.setTemplateEngineMessageSource(messageSource);
+		engine.addDialect(new FragmentCacheDialect(() -> engine, new ConcurrentMapCache("fragments"), cached));
+		return engine;
+	}
+
+	@Benchmark
+	public String benchmarkWelcome() {
+		// Benchmark a page view rendering the whole layout
+		return render(engine);
+	}
+
+	@Benchmark
+	public String benchmarkWelcomeCachedFragments() {
+		// Benchmark a page view reusing the rendered head, navbar and footer
+		return render(cachingEngine);
+	}
+
+	@Benchmark
+	public String benchmarkWelcomePreloadedMessages() {
+		// Benchmark a page view rendering the whole layout, with preloaded messages
+		return render(preloadedMessagesEngine);
+	}
+
+	private String render(SpringTemplateEngine engine) {
+		MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/");
+		WebContext context = new WebContext(application.buildExchange(request, new MockHttpServletResponse()),
+				Locale.ENGLISH, Map.of());
+		return engine.process("welcome", context);
+	}
+
+	/**
+	 * Main method to run benchmarks. Can be executed directly or via Maven.
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(LayoutRenderingBenchmark.class.getSimpleName())
+			.addProfiler("gc")
+			.build();
+		new Runner(opt).run();
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * JMH Micro-Benchmark for the /vets serialization path
+ *
+ * To run:
+ * 1. mvn clean package
+ * 2. java -jar target/benchmarks.jar VetSerializationBenchmark -prof gc
+ */
+
+package org.springframework.samples.petclinic.performance.micro;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.samples.petclinic.vet.Specialty;
+import org.springframework.samples.petclinic.vet.Vet;
+import org.springframework.samples.petclinic.vet.Vets;
+import org.springframework.samples.petclinic.vet.VetsXmlHttpMessageConverter;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * JMH benchmarks for the {@code /vets} serialization path: reading the sorted specialties
+ * of every vet, and rendering a cached {@link Vets} list to JSON and XML.
+ *
+ * Note: The vets are built in memory once, the way they sit in the {@code vets} cache, so
+ * only the serialization cost is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class VetSerializationBenchmark {
+
+	private static final String[] SPECIALTIES = { "surgery", "radiology", "dentistry", "anesthesia" };
+
+	private Vets vets;
+
+	private JsonMapper jsonMapper;
+
+	private JAXBContext jaxbContext;
+
+	private Marshaller marshaller;
+
+	private VetsXmlHttpMessageConverter xmlConverter;
+
+	@Setup
+	public void setup() throws Exception {
+		List<Specialty> specialties = new ArrayList<>();
+		for (int i = 0; i < SPECIALTIES.length; i++) {
+			Specialty specialty = new Specialty();
+			specialty.setId(i + 1);
+			specialty.setName(SPECIALTIES[i]);
+			specialties.add(specialty);
+		}
+
+		vets = new Vets();
+		for (int i = 1; i <= 50; i++) {
+			Vet vet = new Vet();
+			vet.setId(i);
+			vet.setFirstName("First" + i);
+			vet.setLastName("Last" + i);
+			for (int j = 0; j < i % SPECIALTIES.length; j++) {
+				vet.addSpecialty(specialties.get((i + j) % specialties.size()));
+			}
+			vets.getVetList().add(vet);
+		}
+
+		jsonMapper = JsonMapper.builder().build();
+		jaxbContext = JAXBContext.newInstance(Vets.class);
+		marshaller = jaxbContext.createMarshaller();
+		xmlConverter = new VetsXmlHttpMessageConverter();
+	}
+
+	@Benchmark
+	public void benchmarkGetSpecialties(Blackhole blackhole) {
+		// Benchmark the per-vet read done by the vetList template
+		for (Vet vet : vets.getVetList()) {
+			blackhole.consume(vet.getSpecialties());
+		}
+	}
+
+	@Benchmark
+	public byte[] benchmarkJson() {
+		// Benchmark rendering /vets as JSON
+		return jsonMapper.writeValueAsBytes(vets);
+	}
+
+	@Benchmark
+	public byte[] benchmarkXml() throws Exception {
+		// Benchmark rendering /vets as XML
+		ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+		marshaller.marshal(vets, out);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] benchmarkXmlPerRequestMarshaller() throws Exception {
+		// Benchmark rendering /vets as XML the way the JAXB message converter does,
+		// with a shared JAXBContext but a new Marshaller for every response
+		ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+		jaxbContext.createMarshaller().marshal(vets, out);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] benchmarkXmlStreaming() throws Exception {
+		// Benchmark rendering /vets as XML with the StAX based converter
+		ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+		xmlConverter.writeVets(vets.getVetList().iterator(), out);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Main method to run benchmarks. Can be executed directly or via Maven.
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder().include(VetSerializationBenchmark.class.getSimpleName())
+			.addProfiler("gc")
+			.build();
+		new Runner(opt).run();
+	}
+
+}
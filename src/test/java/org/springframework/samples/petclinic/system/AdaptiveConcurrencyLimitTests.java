@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AdaptiveConcurrencyLimit}.
+ */
+class AdaptiveConcurrencyLimitTests {
+
+	private static final long FAST = Duration.ofMillis(10).toNanos();
+
+	private static final long SLOW = Duration.ofMillis(50).toNanos();
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+	@Test
+	void shouldRaiseLimitWhileBusyAndFast() {
+		this.properties.setInitialLimit(4);
+		this.properties.setWindowSize(4);
+		AdaptiveConcurrencyLimit limit = limit();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(limit.acquire()).isTrue();
+		}
+		limit.release(FAST, false);
+		assertThat(limit.getLimit()).isEqualTo(5);
+
+		// Not busy anymore: the limit stays where it is
+		limit.release(FAST, false);
+		limit.release(FAST, false);
+		limit.release(FAST, false);
+		assertThat(limit.getLimit()).isEqualTo(5);
+		assertThat(limit.getInFlight()).isZero();
+		assertThat(limit.getBaseline()).isEqualTo(Duration.ofNanos(FAST));
+	}
+
+	@Test
+	void shouldLowerLimitOncePerSlowOrFailedWindow() {
+		this.properties.setInitialLimit(10);
+		this.properties.setMinLimit(8);
+		this.properties.setWindowSize(4);
+		AdaptiveConcurrencyLimit limit = limit();
+		complete(limit, false, FAST, FAST, FAST, FAST);
+
+		// A single slow request is an outlier
+		complete(limit, false, SLOW, FAST, FAST, FAST);
+		assertThat(limit.getLimit()).isEqualTo(10);
+
+		complete(limit, false, SLOW, SLOW, SLOW, FAST);
+		assertThat(limit.getLimit()).isEqualTo(9);
+
+		complete(limit, true, FAST, FAST, FAST, FAST);
+		assertThat(limit.getLimit()).isEqualTo(8);
+		assertThat(this.registry.get("http.server.concurrency.limit").tag("endpoint", "test").gauge().value())
+			.isEqualTo(8);
+	}
+
+	@Test
+	void shouldKeepLimitUnderLowLoadWithJitteredLatencies() {
+		AdaptiveConcurrencyLimit limit = limit();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 200; i++) {
+			assertThat(limit.acquire()).isTrue();
+			limit.release(Duration.ofMillis(2).toNanos() + random.nextLong(Duration.ofMillis(4).toNanos()), false);
+		}
+
+		assertThat(limit.getLimit()).isEqualTo(this.properties.getInitialLimit());
+		assertThat(limit.getBaseline()).isBetween(Duration.ofMillis(2), Duration.ofMillis(6));
+	}
+
+	@Test
+	void shouldRejectWhenQueueIsFull() {
+		this.properties.setInitialLimit(1);
+		this.properties.setMinLimit(1);
+		this.properties.setQueueSize(0);
+		AdaptiveConcurrencyLimit limit = limit();
+
+		assertThat(limit.acquire()).isTrue();
+		assertThat(limit.acquire()).isFalse();
+		assertThat(limit.getRejected()).isEqualTo(1);
+		assertThat(this.registry.get("http.server.concurrency.rejected").tag("endpoint", "test").counter().count())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void shouldRejectAfterQueueTimeout() {
+		this.properties.setInitialLimit(1);
+		this.properties.setMinLimit(1);
+		this.properties.setQueueTimeout(Duration.ofMillis(20));
+		AdaptiveConcurrencyLimit limit = limit();
+
+		assertThat(limit.acquire()).isTrue();
+		assertThat(limit.acquire()).isFalse();
+		assertThat(limit.getQueued()).isZero();
+	}
+
+	@Test
+	void shouldServeQueuedRequestOnceAnotherCompletes() throws Exception {
+		this.properties.setInitialLimit(1);
+		this.properties.setMinLimit(1);
+		this.properties.setQueueTimeout(Duration.ofSeconds(10));
+		AdaptiveConcurrencyLimit limit = limit();
+		assertThat(limit.acquire()).isTrue();
+
+		CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(limit::acquire);
+		while (limit.getQueued() == 0) {
+			Thread.onSpinWait();
+		}
+		limit.release(FAST, false);
+
+		assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(limit.getInFlight()).isEqualTo(1);
+	}
+
+	private static void complete(AdaptiveConcurrencyLimit limit, boolean failed, long... latencies) {
+		for (long latency : latencies) {
+			limit.acquire();
+			limit.release(latency, failed);
+		}
+	}
+
+	private AdaptiveConcurrencyLimit limit() {
+		return new AdaptiveConcurrencyLimit("test", this.properties, this.registry);
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.health.contributor.CompositeHealthContributor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.boot.health.contributor.PingHealthIndicator;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.boot.health.registry.DefaultHealthContributorRegistry;
+
+/**
+ * Tests for {@link BackgroundHealthChecks} and {@link CachedHealthIndicator}.
+ */
+class BackgroundHealthChecksTests {
+
+	private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T00:00:00Z"));
+
+	private final HealthCheckProperties properties = new HealthCheckProperties();
+
+	private final CountingIndicator db = new CountingIndicator();
+
+	private final CachedHealthIndicator cached = new CachedHealthIndicator("db", this.db, this.properties,
+			this.now::get);
+
+	@Test
+	void shouldReportLastResultWithoutEvaluating() {
+		assertThat(this.cached.health().getStatus()).isEqualTo(Status.UNKNOWN);
+
+		this.cached.refresh();
+		advance(Duration.ofSeconds(5));
+		Health health = this.cached.health();
+		this.cached.health();
+
+		assertThat(this.db.calls).hasValue(1);
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("database", "H2")
+			.containsEntry("checkedAt", Instant.parse("2025-01-01T00:00:00Z"))
+			.containsEntry("ageMillis", 5000L);
+		assertThat(this.cached.getAge()).isEqualTo(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void shouldReportDownWhenLastResultIsTooOld() {
+		this.cached.refresh();
+		advance(this.properties.getMaxAge().plusSeconds(1));
+
+		Health health = this.cached.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("reason", "Last check is too old");
+	}
+
+	@Test
+	void shouldReportFailuresOnlyOnceTheyPersist() {
+		this.cached.refresh();
+		this.db.failure = new IllegalStateException("Connection refused");
+		for (int i = 1; i < this.properties.getFailureThreshold(); i++) {
+			this.cached.refresh();
+			assertThat(this.cached.health().getStatus()).isEqualTo(Status.UP);
+			assertThat(this.cached.health().getDetails()).containsEntry("failures", i);
+		}
+
+		this.cached.refresh();
+		Health health = this.cached.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error", "java.lang.IllegalStateException: Connection refused");
+
+		this.db.failure = null;
+		this.cached.refresh();
+		assertThat(this.cached.health().getStatus()).isEqualTo(Status.UP);
+		assertThat(this.cached.health().getDetails()).containsEntry("failures", 0);
+	}
+
+	@Test
+	void shouldReportFirstFailureWithoutPreviousSuccess() {
+		this.db.failure = new IllegalStateException("Connection refused");
+		this.cached.refresh();
+
+		assertThat(this.cached.health().getStatus()).isEqualTo(Status.DOWN);
+	}
+
+	@Test
+	void shouldCacheExpensiveIndicatorsOfRegistry() {
+		DefaultHealthContributorRegistry registry = new DefaultHealthContributorRegistry();
+		registry.registerContributor("db", this.db);
+		registry.registerContributor("ping", new PingHealthIndicator());
+		registry.registerContributor("replicas",
+				CompositeHealthContributor.fromMap(Map.of("replica-1", new CountingIndicator())));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		BackgroundHealthChecks checks = new BackgroundHealthChecks(registry, this.properties, this.now::get,
+				meterRegistry);
+
+		List<CachedHealthIndicator> indicators = checks.cacheIndicators();
+
+		assertThat(indicators).extracting(CachedHealthIndicator::getName)
+			.containsExactlyInAnyOrder("db", "replicas/replica-1");
+		assertThat(registry.getContributor("db")).isInstanceOf(CachedHealthIndicator.class);
+		assertThat(registry.getContributor("ping")).isInstanceOf(PingHealthIndicator.class);
+		assertThat(((CompositeHealthContributor) registry.getContributor("replicas")).getContributor("replica-1"))
+			.isInstanceOf(CachedHealthIndicator.class);
+		assertThat(checks.cacheIndicators()).isSameAs(indicators);
+		assertThat(meterRegistry.get("health.check.age").tag("indicator", "db").gauge().value()).isNaN();
+	}
+
+	private void advance(Duration duration) {
+		this.now.updateAndGet((instant) -> instant.plus(duration));
+	}
+
+	static class CountingIndicator implements HealthIndicator {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private RuntimeException failure;
+
+		@Override
+		public Health health() {
+			this.calls.incrementAndGet();
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return Health.up().withDetail("database", "H2").build();
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Tests for {@link CacheConfiguration}.
+ */
+class CacheConfigurationTests {
+
+	private final CacheConfiguration configuration = new CacheConfiguration();
+
+	@Test
+	void shouldBoundCacheBySize() {
+		PetClinicCacheProperties.Spec spec = new PetClinicCacheProperties.Spec();
+		spec.setMaximumSize(2);
+		Cache<Object, Object> cache = CacheConfiguration.cacheBuilder(spec, ConcurrentStatsCounter::new)
+			.executor(Runnable::run)
+			.build();
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, i);
+		}
+		cache.cleanUp();
+		assertThat(cache.estimatedSize()).isEqualTo(2);
+		assertThat(cache.stats().evictionCount()).isEqualTo(8);
+	}
+
+	@Test
+	void shouldBoundCacheByNumberOfCachedElements() {
+		PetClinicCacheProperties.Spec spec = new PetClinicCacheProperties.Spec();
+		spec.setMaximumWeight(10L);
+		Cache<Object, Object> cache = CacheConfiguration.cacheBuilder(spec, ConcurrentStatsCounter::new)
+			.executor(Runnable::run)
+			.build();
+		cache.put("a", new PageImpl<>(List.of(1, 2, 3, 4, 5, 6)));
+		cache.put("b", new PageImpl<>(List.of(1, 2, 3, 4, 5, 6)));
+		cache.cleanUp();
+		assertThat(cache.estimatedSize()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldRecordLoadLatency() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		Cache<Object, Object> cache = CacheConfiguration
+			.cacheBuilder(new PetClinicCacheProperties.Spec(), () -> new TimedStatsCounter(registry, "vets"))
+			.build();
+		cache.get("all", key -> "loaded");
+		cache.get("all", key -> "loaded");
+
+		Timer timer = registry.get("cache.load.latency").tag("cache", "vets").tag("result", "success").timer();
+		assertThat(timer.count()).isEqualTo(1);
+		assertThat(cache.stats().hitCount()).isEqualTo(1);
+		assertThat(cache.stats().missCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldUseDefaultsForUnknownCaches() {
+		PetClinicCacheProperties properties = new PetClinicCacheProperties();
+		PetClinicCacheProperties.Spec vets = new PetClinicCacheProperties.Spec();
+		properties.getSpecs().put("vets", vets);
+		assertThat(properties.getSpec("vets")).isSameAs(vets);
+		assertThat(properties.getSpec("other")).isSameAs(properties.getDefaults());
+	}
+
+	@Test
+	void shouldGenerateCompactKeysForPageables() throws Exception {
+		KeyGenerator keyGenerator = this.configuration.pageableKeyGenerator();
+		Object first = keyGenerator.generate(this, Object.class.getMethod("toString"), PageRequest.of(0, 5));
+		Object same = keyGenerator.generate(this, Object.class.getMethod("toString"), PageRequest.of(0, 5));
+		Object unpaged = keyGenerator.generate(this, Object.class.getMethod("toString"), Pageable.unpaged());
+		assertThat(first).isEqualTo("0:5:UNSORTED").isEqualTo(same);
+		assertThat(unpaged).isEqualTo("unpaged");
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.samples.petclinic.PetClinicApplication;
+
+/**
+ * Integration tests for {@link CacheInvalidationLog}, simulating another replica by
+ * writing to the {@code cache_invalidation} table directly.
+ */
+@SpringBootTest(classes = PetClinicApplication.class)
+class CacheInvalidationLogTests {
+
+	@Autowired
+	private CacheInvalidationLog invalidationLog;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcClient jdbcClient;
+
+	@BeforeEach
+	void populateCaches() {
+		cache("vets").put("all", "vets");
+		cache("vetPages").put("0:5:UNSORTED", "first");
+		cache("vetPages").put("1:5:UNSORTED", "second");
+	}
+
+	@Test
+	void shouldApplyInvalidationsFromOtherReplicas() {
+		insertFromOtherReplica("vets", null);
+		insertFromOtherReplica("vetPages", "1:5:UNSORTED");
+		this.invalidationLog.poll();
+
+		assertThat(cache("vets").get("all")).isNull();
+		assertThat(cache("vetPages").get("0:5:UNSORTED")).isNotNull();
+		assertThat(cache("vetPages").get("1:5:UNSORTED")).isNull();
+	}
+
+	@Test
+	void shouldApplyInvalidationsOnce() {
+		insertFromOtherReplica("vets", null);
+		this.invalidationLog.poll();
+		cache("vets").put("all", "reloaded");
+		this.invalidationLog.poll();
+
+		assertThat(cache("vets").get("all")).isNotNull();
+	}
+
+	@Test
+	void shouldIgnoreOwnInvalidations() {
+		this.invalidationLog.publish("vets", null);
+		this.invalidationLog.poll();
+
+		assertThat(cache("vets").get("all")).isNotNull();
+	}
+
+	@Test
+	void shouldIgnoreUnknownCaches() {
+		insertFromOtherReplica("unknown", null);
+		this.invalidationLog.poll();
+
+		assertThat(this.cacheManager.getCacheNames()).doesNotContain("unknown");
+	}
+
+	private void insertFromOtherReplica(String cacheName, @Nullable String key) {
+		this.jdbcClient.sql("INSERT INTO cache_invalidation (origin, cache_name, cache_key) VALUES (?, ?, ?)")
+			.params("other-replica", cacheName, key)
+			.update();
+	}
+
+	private Cache cache(String name) {
+		Cache cache = this.cacheManager.getCache(name);
+		assertThat(cache).isNotNull();
+		return cache;
+	}
+
+}
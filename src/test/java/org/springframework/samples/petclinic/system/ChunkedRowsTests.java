@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ChunkedRows} and {@link ListProperties}.
+ */
+class ChunkedRowsTests {
+
+	private final List<Integer> reads = new ArrayList<>();
+
+	@Test
+	void shouldReadChunksWhileIterating() {
+		ChunkedRows<Integer> rows = new ChunkedRows<>(List.of(0, 1), 5, this::read);
+
+		Iterator<Integer> iterator = rows.iterator();
+		assertThat(iterator.next()).isZero();
+		assertThat(iterator.next()).isOne();
+		assertThat(this.reads).isEmpty();
+		assertThat(iterator.next()).isEqualTo(2);
+		assertThat(this.reads).containsExactly(1);
+		assertThat(iterator).toIterable().containsExactly(3, 4);
+		assertThat(this.reads).containsExactly(1, 2);
+		assertThat(rows).hasSize(5);
+	}
+
+	@Test
+	void shouldStopAtEmptyChunk() {
+		ChunkedRows<Integer> rows = new ChunkedRows<>(List.of(0, 1), 10,
+				(chunk) -> (chunk < 2) ? read(chunk) : List.of());
+
+		assertThat(rows.iterator()).toIterable().containsExactly(0, 1, 2, 3);
+	}
+
+	@Test
+	void shouldCountRowsAndPages() {
+		assertThat(ChunkedRows.rowsOnPage(1, 100, 250)).isEqualTo(100);
+		assertThat(ChunkedRows.rowsOnPage(3, 100, 250)).isEqualTo(50);
+		assertThat(ChunkedRows.rowsOnPage(4, 100, 250)).isZero();
+		assertThat(ChunkedRows.pageCount(100, 250)).isEqualTo(3);
+		assertThat(ChunkedRows.pageCount(100, 0)).isZero();
+	}
+
+	@Test
+	void shouldRoundPageSizeToChunks() {
+		ListProperties properties = new ListProperties();
+
+		assertThat(properties.pageSize(5)).isEqualTo(5);
+		assertThat(properties.chunkSize(5)).isEqualTo(5);
+		assertThat(properties.pageSize(120)).isEqualTo(100);
+		assertThat(properties.chunkSize(100)).isEqualTo(50);
+		assertThat(properties.pageSize(0)).isOne();
+		assertThat(properties.pageSize(10_000)).isEqualTo(500);
+	}
+
+	private List<Integer> read(int chunk) {
+		this.reads.add(chunk);
+		return IntStream.range(chunk * 2, chunk * 2 + 2).boxed().toList();
+	}
+
+}
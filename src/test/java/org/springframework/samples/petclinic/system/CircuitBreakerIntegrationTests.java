@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.system.CircuitBreaker.State;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Failure injection tests for the database {@link CircuitBreaker}: the circuit is opened
+ * by reporting failures, as the repositories would if the database were down.
+ */
+// The actuator endpoints are served with the pages, so that MockMvc reaches them
+@SpringBootTest(classes = PetClinicApplication.class,
+		properties = { "petclinic.circuit-breaker.open-duration=1h", "management.server.port=" })
+@DirtiesContext
+class CircuitBreakerIntegrationTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CircuitBreaker circuitBreaker;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setup() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+	}
+
+	@Test
+	void shouldServeLastKnownDataAndRejectWritesWhileOpen() throws Exception {
+		this.mockMvc.perform(get("/owners/1"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(not(containsString("stale-message"))));
+		this.mockMvc.perform(get("/vets.html")).andExpect(status().isOk());
+		this.mockMvc.perform(get("/vets").accept("application/json"))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist("Warning"));
+
+		openCircuit();
+
+		this.mockMvc.perform(get("/owners/1"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("stale-message")))
+			.andExpect(content().string(containsString("Franklin")));
+		this.mockMvc.perform(get("/vets.html"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("stale-message")))
+			.andExpect(content().string(containsString("Carter")));
+		this.mockMvc.perform(get("/vets").accept("application/json"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Warning", containsString("Response is Stale")))
+			.andExpect(jsonPath("$.vetList[0].lastName").value("Carter"));
+		this.mockMvc
+			.perform(post("/owners/1/edit").param("firstName", "George")
+				.param("lastName", "Franklin")
+				.param("address", "110 W. Liberty St.")
+				.param("city", "Madison")
+				.param("telephone", "6085551023"))
+			.andExpect(status().isServiceUnavailable());
+		this.mockMvc.perform(get("/owners/2")).andExpect(status().isServiceUnavailable());
+
+		this.mockMvc.perform(get("/actuator/circuitBreaker"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.state").value("OPEN"))
+			.andExpect(jsonPath("$.staleReads.owners").value(1))
+			.andExpect(jsonPath("$.staleReads.vetPages").value(1))
+			.andExpect(jsonPath("$.staleReads.vets").value(1));
+	}
+
+	private void openCircuit() {
+		for (String name : this.cacheManager.getCacheNames()) {
+			this.cacheManager.getCache(name).clear();
+		}
+		while (this.circuitBreaker.getState() == State.CLOSED) {
+			assertThat(this.circuitBreaker.tryAcquirePermission()).isTrue();
+			this.circuitBreaker.onFailure();
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.samples.petclinic.system.CircuitBreaker.State;
+
+/**
+ * Tests for {@link CircuitBreaker}.
+ */
+class CircuitBreakerTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final CircuitBreaker circuitBreaker = new CircuitBreaker("database", properties(), this.nanos::get,
+			this.registry);
+
+	@Test
+	void shouldOpenAfterFailureThreshold() {
+		fail(2);
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(this.circuitBreaker.getRecentFailures()).isEqualTo(2);
+
+		fail(1);
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.OPEN);
+		assertThat(this.circuitBreaker.tryAcquirePermission()).isFalse();
+		assertThat(this.registry.get("circuitbreaker.rejected").counter().count()).isEqualTo(1);
+		assertThat(this.registry.get("circuitbreaker.state").tag("state", "open").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldOnlyCountFailuresWithinWindow() {
+		fail(2);
+		advance(Duration.ofSeconds(11));
+		fail(2);
+
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(this.circuitBreaker.getRecentFailures()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldCountSlowCallsAsFailures() {
+		for (int i = 0; i < 3; i++) {
+			assertThat(this.circuitBreaker.tryAcquirePermission()).isTrue();
+			this.circuitBreaker.onSuccess(Duration.ofSeconds(3).toNanos());
+		}
+
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void shouldLetSingleTrialCallThroughOnceOpenDurationElapsed() {
+		fail(3);
+		advance(Duration.ofSeconds(30));
+
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+		assertThat(this.circuitBreaker.tryAcquirePermission()).isTrue();
+		assertThat(this.circuitBreaker.tryAcquirePermission()).isFalse();
+	}
+
+	@Test
+	void shouldCloseWhenTrialCallSucceeds() {
+		fail(3);
+		advance(Duration.ofSeconds(30));
+		assertThat(this.circuitBreaker.tryAcquirePermission()).isTrue();
+		this.circuitBreaker.onSuccess(Duration.ofMillis(10).toNanos());
+
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(this.circuitBreaker.getRecentFailures()).isZero();
+		assertThat(this.circuitBreaker.tryAcquirePermission()).isTrue();
+	}
+
+	@Test
+	void shouldReopenWhenTrialCallFails() {
+		fail(3);
+		advance(Duration.ofSeconds(30));
+		assertThat(this.circuitBreaker.tryAcquirePermission()).isTrue();
+		this.circuitBreaker.onFailure();
+
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.OPEN);
+		advance(Duration.ofSeconds(29));
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.OPEN);
+		advance(Duration.ofSeconds(1));
+		assertThat(this.circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+	}
+
+	private void fail(int calls) {
+		for (int i = 0; i < calls; i++) {
+			assertThat(this.circuitBreaker.tryAcquirePermission()).isTrue();
+			this.circuitBreaker.onFailure();
+		}
+	}
+
+	private void advance(Duration duration) {
+		this.nanos.addAndGet(duration.toNanos());
+	}
+
+	private static CircuitBreakerProperties properties() {
+		CircuitBreakerProperties properties = new CircuitBreakerProperties();
+		properties.setFailureThreshold(3);
+		return properties;
+	}
+
+}
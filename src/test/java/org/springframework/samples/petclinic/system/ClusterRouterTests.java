@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Tests for {@link ClusterRouter}, with another member simulated by a JDK
+ * {@link HttpServer}.
+ */
+class ClusterRouterTests {
+
+	private final ClusterProperties properties = new ClusterProperties();
+
+	private HttpServer peer;
+
+	private String peerUrl;
+
+	@BeforeEach
+	void startPeer() throws IOException {
+		this.peer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.peer.createContext("/owners/1", exchange -> respond(exchange, 200, "{\"id\":1}"));
+		this.peer.createContext("/owners/2", exchange -> respond(exchange, 404, ""));
+		this.peer.createContext("/owners/3", exchange -> respond(exchange, 500, ""));
+		this.peer.createContext("/owners/4", exchange -> {
+			try {
+				Thread.sleep(1000);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			respond(exchange, 200, "{}");
+		});
+		this.peer.start();
+		this.peerUrl = "http://localhost:" + this.peer.getAddress().getPort();
+		this.properties.setPeerTimeout(Duration.ofMillis(200));
+	}
+
+	@AfterEach
+	void stopPeer() {
+		this.peer.stop(0);
+	}
+
+	@Test
+	void shouldFetchDocumentsFromOtherMembers() {
+		ClusterRouter router = router("http://localhost:1", List.of(this.peerUrl));
+		assertThat(router.fetch(this.peerUrl, "/owners/1")).isEqualTo("{\"id\":1}");
+		assertThat(router.fetch(this.peerUrl, "/owners/2")).isNull();
+		assertThatExceptionOfType(RestClientException.class).isThrownBy(() -> router.fetch(this.peerUrl, "/owners/3"));
+		assertThatExceptionOfType(RestClientException.class).isThrownBy(() -> router.fetch(this.peerUrl, "/owners/4"));
+	}
+
+	@Test
+	void shouldAgreeOnOwningMember() {
+		List<String> members = List.of("http://a:8080", "http://b:8080");
+		ClusterRouter a = router("http://a:8080", members);
+		ClusterRouter b = router("http://b:8080", members);
+		for (int key = 0; key < 100; key++) {
+			assertThat(a.memberFor(key)).isEqualTo(b.memberFor(key));
+			assertThat(a.isLocal(key)).isNotEqualTo(b.isLocal(key));
+		}
+	}
+
+	@Test
+	void shouldFollowMembershipChanges() {
+		List<String> members = new ArrayList<>(List.of("http://a:8080"));
+		ClusterRouter router = new ClusterRouter("http://a:8080", () -> List.copyOf(members), this.properties);
+		assertThat(router.isLocal(42)).isTrue();
+		members.add("http://b:8080");
+		int remote = 0;
+		for (int key = 0; key < 100; key++) {
+			if (!router.isLocal(key)) {
+				assertThat(router.memberFor(key)).isEqualTo("http://b:8080");
+				remote++;
+			}
+		}
+		assertThat(remote).isPositive();
+	}
+
+	private ClusterRouter router(String self, List<String> members) {
+		return new ClusterRouter(self, new StaticClusterMembership(self, members), this.properties);
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length > 0 ? bytes.length : -1);
+		exchange.getResponseBody().write(bytes);
+		exchange.close();
+	}
+
+}
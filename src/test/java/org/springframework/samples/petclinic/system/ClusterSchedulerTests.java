@@ -0,0 +1,222 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.samples.petclinic.system.ClusterScheduler.JobRun;
+
+/**
+ * Tests for {@link ClusterScheduler} and {@link LeaderElection}, with two instances
+ * sharing an H2 database and a clock.
+ */
+class ClusterSchedulerTests {
+
+	private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+		.generateUniqueName(true)
+		.addScript("db/h2/schema.sql")
+		.build();
+
+	private final JdbcClient jdbcClient = JdbcClient.create(this.database);
+
+	private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T00:00:00Z"));
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final SchedulerProperties properties = new SchedulerProperties();
+
+	private final CountingJob job = new CountingJob();
+
+	private final LeaderElection first = election("first");
+
+	private final LeaderElection second = election("second");
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+	@Test
+	void shouldElectSingleLeader() {
+		assertThat(this.first.renew()).isTrue();
+		assertThat(this.second.renew()).isFalse();
+		assertThat(this.first.renew()).isTrue();
+
+		assertThat(this.first.isLeader()).isTrue();
+		assertThat(this.second.isLeader()).isFalse();
+		assertThat(this.second.getLeader()).isEqualTo("first");
+		assertThat(this.registry.get("scheduler.lock.contention").tag("lock", "leader").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldTakeOverExpiredLease() {
+		this.first.renew();
+		advance(Duration.ofSeconds(31));
+
+		assertThat(this.first.isLeader()).isFalse();
+		assertThat(this.second.renew()).isTrue();
+		assertThat(this.first.renew()).isFalse();
+		assertThat(this.first.getLeader()).isEqualTo("second");
+	}
+
+	@Test
+	void shouldTakeOverReleasedLease() {
+		this.first.renew();
+		this.first.release();
+
+		assertThat(this.first.isLeader()).isFalse();
+		advance(Duration.ofMillis(1));
+		assertThat(this.second.renew()).isTrue();
+	}
+
+	@Test
+	void shouldRunJobOncePerWindowAcrossLeaders() {
+		ClusterScheduler firstScheduler = scheduler(this.first);
+		ClusterScheduler secondScheduler = scheduler(this.second);
+
+		firstScheduler.tick();
+		secondScheduler.tick();
+		firstScheduler.tick();
+		assertThat(this.job.runs).hasValue(1);
+
+		// The second instance takes over within the same window
+		advance(Duration.ofSeconds(31));
+		secondScheduler.tick();
+		assertThat(this.job.runs).hasValue(1);
+		assertThat(this.registry.get("scheduler.lock.contention").tag("lock", "counting").counter().count())
+			.isEqualTo(1);
+
+		advance(Duration.ofMinutes(1));
+		secondScheduler.tick();
+		assertThat(this.job.runs).hasValue(2);
+
+		List<JobRun> runs = secondScheduler.getRuns("counting", 10);
+		assertThat(runs).extracting(JobRun::owner).containsExactly("second", "first");
+		assertThat(runs).extracting(JobRun::outcome).containsOnly("SUCCESS");
+		assertThat(runs).extracting(JobRun::windowStart)
+			.containsExactly(Instant.parse("2025-01-01T00:01:00Z"), Instant.parse("2025-01-01T00:00:00Z"));
+		assertThat(this.registry.get("scheduler.job.duration").tag("job", "counting").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldRecordFailedRuns() {
+		this.job.failure = new IllegalStateException("boom");
+		ClusterScheduler scheduler = scheduler(this.first);
+		scheduler.tick();
+
+		assertThat(scheduler.getRuns("counting", 10)).singleElement().satisfies((run) -> {
+			assertThat(run.outcome()).isEqualTo("FAILURE");
+			assertThat(run.error()).isEqualTo("boom");
+			assertThat(run.finishedAt()).isNotNull();
+		});
+		assertThat(this.registry.get("scheduler.job.duration").tag("outcome", "failure").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldRecordRejectedRunsAsFailed() {
+		AtomicBoolean rejecting = new AtomicBoolean(true);
+		ClusterScheduler scheduler = new ClusterScheduler(this.first, List.of(this.job), this.jdbcClient,
+				this.properties, (task) -> {
+					if (rejecting.get()) {
+						throw new RejectedExecutionException("Executor terminated");
+					}
+					task.run();
+				}, this.now::get, this.registry);
+		scheduler.tick();
+
+		assertThat(this.job.runs).hasValue(0);
+		assertThat(scheduler.getRuns("counting", 10)).singleElement().satisfies((run) -> {
+			assertThat(run.outcome()).isEqualTo("FAILURE");
+			assertThat(run.error()).isEqualTo("Rejected: Executor terminated");
+			assertThat(run.finishedAt()).isNotNull();
+		});
+
+		// The job is not considered running anymore
+		rejecting.set(false);
+		advance(Duration.ofMinutes(1));
+		scheduler.tick();
+		assertThat(this.job.runs).hasValue(1);
+	}
+
+	@Test
+	void shouldPurgeOldRuns() {
+		ClusterScheduler scheduler = scheduler(this.first);
+		scheduler.tick();
+		advance(this.properties.getHistoryRetention().plusHours(1));
+		scheduler.tick();
+
+		assertThat(scheduler.getRuns("counting", 10)).singleElement()
+			.satisfies((run) -> assertThat(run.startedAt()).isEqualTo(this.now.get()));
+	}
+
+	private LeaderElection election(String self) {
+		return new LeaderElection(this.jdbcClient, self, this.properties.getLeaseDuration(), this.now::get,
+				this.registry);
+	}
+
+	private ClusterScheduler scheduler(LeaderElection election) {
+		return new ClusterScheduler(election, List.of(this.job), this.jdbcClient, this.properties, Runnable::run,
+				this.now::get, this.registry);
+	}
+
+	private void advance(Duration duration) {
+		this.now.updateAndGet((instant) -> instant.plus(duration));
+	}
+
+	static class CountingJob implements ClusterJob {
+
+		private final AtomicInteger runs = new AtomicInteger();
+
+		private RuntimeException failure;
+
+		@Override
+		public String getName() {
+			return "counting";
+		}
+
+		@Override
+		public Duration getInterval() {
+			return Duration.ofMinutes(1);
+		}
+
+		@Override
+		public void run() {
+			this.runs.incrementAndGet();
+			if (this.failure != null) {
+				throw this.failure;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tests for {@link ConcurrencyLimitInterceptor}.
+ */
+class ConcurrencyLimitInterceptorTests {
+
+	private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+	private final AtomicLong nanoTime = new AtomicLong();
+
+	private final ConcurrencyLimitInterceptor interceptor;
+
+	private final HandlerMethod slow;
+
+	private final HandlerMethod fast;
+
+	ConcurrencyLimitInterceptorTests() throws NoSuchMethodException {
+		this.properties.setInitialLimit(1);
+		this.properties.setMinLimit(1);
+		this.properties.setQueueSize(0);
+		// Every request is a window, to set the baseline right away
+		this.properties.setWindowSize(1);
+		this.interceptor = new ConcurrencyLimitInterceptor(this.properties, null, this.nanoTime::get,
+				new SimpleMeterRegistry());
+		SampleController controller = new SampleController();
+		this.slow = new HandlerMethod(controller, SampleController.class.getMethod("search"));
+		this.fast = new HandlerMethod(controller, SampleController.class.getMethod("show"));
+	}
+
+	@Test
+	void shouldRejectRequestsOverTheLimitOfTheirEndpoint() {
+		MockHttpServletRequest first = new MockHttpServletRequest();
+		assertThat(this.interceptor.preHandle(first, new MockHttpServletResponse(), this.slow)).isTrue();
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		assertThat(this.interceptor.preHandle(new MockHttpServletRequest(), rejected, this.slow)).isFalse();
+		assertThat(rejected.getStatus()).isEqualTo(503);
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+
+		// Other endpoints have limits of their own
+		assertThat(this.interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), this.fast))
+			.isTrue();
+
+		this.nanoTime.addAndGet(1_000_000);
+		this.interceptor.afterCompletion(first, new MockHttpServletResponse(), this.slow, null);
+		assertThat(this.interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), this.slow))
+			.isTrue();
+
+		assertThat(this.interceptor.getLimits()).containsOnlyKeys("SampleController.search", "SampleController.show");
+		AdaptiveConcurrencyLimit search = this.interceptor.getLimits().get("SampleController.search");
+		assertThat(search.getRejected()).isEqualTo(1);
+		assertThat(search.getBaseline().toMillis()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldShedLowPriorityRequestsWhileRequestsAreDelayed() {
+		LoadSheddingProperties loadShedding = new LoadSheddingProperties();
+		loadShedding.setLowPriorityRoutes(List.of("/owners"));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		LoadShedder shedder = new LoadShedder(loadShedding, this.nanoTime::get, registry);
+		ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(this.properties, shedder,
+				this.nanoTime::get, registry);
+
+		// A first interval sets the baseline, a request of the second takes 200ms longer
+		for (long latency : new long[] { 1, 201 }) {
+			MockHttpServletRequest request = request("GET", "/owners/{ownerId}");
+			assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), this.fast)).isTrue();
+			this.nanoTime.addAndGet(latency * 1_000_000);
+			interceptor.afterCompletion(request, new MockHttpServletResponse(), this.fast, null);
+			this.nanoTime.addAndGet(1_000_000_000);
+		}
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		assertThat(interceptor.preHandle(request("GET", "/owners"), rejected, this.slow)).isFalse();
+		assertThat(rejected.getStatus()).isEqualTo(503);
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(interceptor.preHandle(request("POST", "/owners"), new MockHttpServletResponse(), this.slow))
+			.isTrue();
+		assertThat(registry.get("http.server.shed").tag("priority", "low").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNotLimitOtherHandlers() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		for (int i = 0; i < 3; i++) {
+			assertThat(this.interceptor.preHandle(new MockHttpServletRequest(), response, new Object())).isTrue();
+		}
+		assertThat(this.interceptor.getLimits()).isEmpty();
+	}
+
+	private static MockHttpServletRequest request(String method, String route) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, route);
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+		return request;
+	}
+
+	public static class SampleController {
+
+		public String search() {
+			return "owners/ownersList";
+		}
+
+		public String show() {
+			return "owners/ownerDetails";
+		}
+
+	}
+
+}
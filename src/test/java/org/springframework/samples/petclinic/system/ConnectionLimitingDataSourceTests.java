@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+/**
+ * Tests for {@link ConnectionLimitingDataSource}.
+ */
+class ConnectionLimitingDataSourceTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final DataSource target = mock();
+
+	private final ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(this.target, 1,
+			Duration.ofMillis(50), this.registry);
+
+	@Test
+	void shouldWaitForConnectionToBeClosed() throws SQLException {
+		Connection connection = mock();
+		given(this.target.getConnection()).willReturn(connection);
+
+		Connection first = this.dataSource.getConnection();
+		assertThat(this.dataSource.getAvailablePermits()).isZero();
+		assertThatExceptionOfType(SQLTransientConnectionException.class)
+			.isThrownBy(() -> this.dataSource.getConnection());
+		assertThat(this.registry.get("jdbc.connections.limiter.timeouts").counter().count()).isEqualTo(1);
+
+		first.close();
+		first.close();
+		verify(connection, times(2)).close();
+		assertThat(this.dataSource.getAvailablePermits()).isEqualTo(1);
+		assertThat(((ConnectionProxy) this.dataSource.getConnection()).getTargetConnection()).isSameAs(connection);
+	}
+
+	@Test
+	void shouldReleasePermitWhenConnectionCannotBeObtained() throws SQLException {
+		given(this.target.getConnection()).willThrow(new SQLTransientConnectionException("pool exhausted"));
+
+		assertThatExceptionOfType(SQLTransientConnectionException.class)
+			.isThrownBy(() -> this.dataSource.getConnection())
+			.withMessage("pool exhausted");
+		assertThat(this.dataSource.getAvailablePermits()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ConsistentHashRing}.
+ */
+class ConsistentHashRingTests {
+
+	private static final int KEYS = 30_000;
+
+	private static final List<String> MEMBERS = List.of("http://a:8080", "http://b:8080", "http://c:8080");
+
+	@Test
+	void shouldAssignKeysIndependentlyOfMemberOrder() {
+		ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 128);
+		ConsistentHashRing reversed = new ConsistentHashRing(List.of("http://c:8080", "http://b:8080", "http://a:8080"),
+				128);
+		for (int key = 0; key < KEYS; key++) {
+			assertThat(reversed.memberFor(key)).isEqualTo(ring.memberFor(key));
+		}
+	}
+
+	@Test
+	void shouldBalanceKeysBetweenMembers() {
+		ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 128);
+		Map<String, Integer> counts = new HashMap<>();
+		for (int key = 0; key < KEYS; key++) {
+			counts.merge(ring.memberFor(key), 1, Integer::sum);
+		}
+		assertThat(counts).containsOnlyKeys(MEMBERS);
+		assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4, KEYS * 5 / 12));
+	}
+
+	@Test
+	void shouldOnlyMoveKeysToAddedMember() {
+		ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 128);
+		ConsistentHashRing grown = new ConsistentHashRing(
+				List.of("http://a:8080", "http://b:8080", "http://c:8080", "http://d:8080"), 128);
+		int moved = 0;
+		for (int key = 0; key < KEYS; key++) {
+			String before = ring.memberFor(key);
+			String after = grown.memberFor(key);
+			if (!before.equals(after)) {
+				assertThat(after).isEqualTo("http://d:8080");
+				moved++;
+			}
+		}
+		assertThat(moved).isBetween(KEYS / 6, KEYS / 3);
+	}
+
+}
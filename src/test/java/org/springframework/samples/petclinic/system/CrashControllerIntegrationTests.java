@@ -40,6 +40,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 /**
  * Integration Test for {@link CrashController}.
@@ -48,7 +49,8 @@ import org.springframework.http.ResponseEntity;
  */
 // NOT Waiting https://github.com/spring-projects/spring-boot/issues/5574
 @SpringBootTest(webEnvironment = RANDOM_PORT,
-		properties = { "server.error.include-message=ALWAYS", "management.endpoints.access.default=none" })
+		properties = { "server.error.include-message=ALWAYS", "management.endpoints.access.default=none",
+				"petclinic.scheduler.enabled=false" })
 @AutoConfigureTestRestTemplate
 class CrashControllerIntegrationTests {
 
@@ -58,6 +60,10 @@ class CrashControllerIntegrationTests {
 	@Autowired
 	private TestRestTemplate rest;
 
+	// Needs a database, which this test does not start
+	@MockitoBean
+	private CacheInvalidationLog invalidationLog;
+
 	@Test
 	void testTriggerExceptionJson() {
 		ResponseEntity<Map<String, Object>> resp = rest.exchange(
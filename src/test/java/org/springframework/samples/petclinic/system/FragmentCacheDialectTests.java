@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+/**
+ * Tests for {@link FragmentCacheDialect}, rendering the application templates with a
+ * standalone engine.
+ */
+class FragmentCacheDialectTests {
+
+	private final ConcurrentMapCache cache = new ConcurrentMapCache("fragments");
+
+	private final SpringTemplateEngine cachingEngine = engine(true);
+
+	private final SpringTemplateEngine engine = engine(false);
+
+	@Test
+	void shouldRenderSameMarkupAsWithoutCache() {
+		for (Locale locale : new Locale[] { Locale.ENGLISH, Locale.GERMAN }) {
+			for (String view : new String[] { "welcome", "welcome", "error" }) {
+				assertThat(render(this.cachingEngine, view, locale, new MockHttpServletResponse()))
+					.isEqualTo(render(this.engine, view, locale, new MockHttpServletResponse()));
+			}
+		}
+	}
+
+	@Test
+	void shouldCacheFragmentsPerLocaleAndMenu() {
+		String welcome = render(this.cachingEngine, "welcome", Locale.ENGLISH, new MockHttpServletResponse());
+		assertThat(entries()).hasSize(4);
+		assertThat(welcome).contains("<a class=\"nav-link active\" href=\"/petclinic/\" title=\"home page\">");
+
+		render(this.cachingEngine, "welcome", Locale.ENGLISH, new MockHttpServletResponse());
+		assertThat(entries()).hasSize(4);
+
+		render(this.cachingEngine, "error", Locale.ENGLISH, new MockHttpServletResponse());
+		assertThat(entries()).hasSize(5);
+
+		String german = render(this.cachingEngine, "welcome", Locale.GERMAN, new MockHttpServletResponse());
+		assertThat(entries()).hasSize(9);
+		assertThat(german).contains("Tierärzte");
+	}
+
+	@Test
+	void shouldNotCacheFragmentsWithRewrittenUrls() {
+		MockHttpServletResponse response = new MockHttpServletResponse() {
+
+			@Override
+			public String encodeURL(String url) {
+				return url + ";jsessionid=42";
+			}
+
+		};
+		String welcome = render(this.cachingEngine, "welcome", Locale.ENGLISH, response);
+
+		assertThat(welcome).contains("href=\"/petclinic/;jsessionid=42\"");
+		assertThat(entries()).isEmpty();
+	}
+
+	private ConcurrentMap<Object, Object> entries() {
+		return this.cache.getNativeCache();
+	}
+
+	private SpringTemplateEngine engine(boolean cached) {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setCharacterEncoding("UTF-8");
+		ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+		messageSource.setBasename("messages/messages");
+		messageSource.setDefaultEncoding("UTF-8");
+		messageSource.setFallbackToSystemLocale(false);
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(resolver);
+		engine.setTemplateEngineMessageSource(messageSource);
+		engine.addDialect(new FragmentCacheDialect(() -> engine, this.cache, cached));
+		return engine;
+	}
+
+	private String render(SpringTemplateEngine engine, String view, Locale locale, MockHttpServletResponse response) {
+		MockServletContext servletContext = new MockServletContext();
+		MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/petclinic/");
+		request.setContextPath("/petclinic");
+		IWebExchange exchange = JakartaServletWebApplication.buildApplication(servletContext)
+			.buildExchange(request, response);
+		return engine.process(view, new WebContext(exchange, locale, Map.of()));
+	}
+
+}
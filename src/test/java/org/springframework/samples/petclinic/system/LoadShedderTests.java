@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.samples.petclinic.system.LoadShedder.Priority;
+
+/**
+ * Tests for {@link LoadShedder}.
+ */
+class LoadShedderTests {
+
+	private static final long MILLIS = 1_000_000;
+
+	private final LoadSheddingProperties properties = new LoadSheddingProperties();
+
+	private final AtomicLong nanoTime = new AtomicLong();
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final LoadShedder shedder;
+
+	LoadShedderTests() {
+		this.properties.setTargetDelay(Duration.ofMillis(100));
+		this.properties.setInterval(Duration.ofSeconds(1));
+		this.shedder = new LoadShedder(this.properties, this.nanoTime::get, this.registry);
+	}
+
+	@Test
+	void shouldClassifyRequestsByRoute() {
+		assertThat(this.shedder.classify("GET", "/owners/{ownerId}/pets/{petId}/visits/new")).isEqualTo(Priority.HIGH);
+		assertThat(this.shedder.classify("POST", "/owners/{ownerId}/edit")).isEqualTo(Priority.HIGH);
+		assertThat(this.shedder.classify("POST", "/owners")).isEqualTo(Priority.HIGH);
+		assertThat(this.shedder.classify("GET", "/owners")).isEqualTo(Priority.LOW);
+		assertThat(this.shedder.classify("HEAD", "/vets.html")).isEqualTo(Priority.LOW);
+		assertThat(this.shedder.classify("GET", "/owners/{ownerId}")).isEqualTo(Priority.NORMAL);
+		assertThat(this.shedder.classify("GET", null)).isEqualTo(Priority.NORMAL);
+	}
+
+	@Test
+	void shouldShedLowestPrioritiesFirstWhileRequestsAreDelayed() {
+		assertThat(this.shedder.shed(Priority.LOW)).isFalse();
+
+		// Even the shortest delay of the interval is over the target
+		delayedInterval(150, 300);
+		assertThat(this.shedder.getLevel()).isEqualTo(1);
+		assertThat(this.shedder.shed(Priority.LOW)).isTrue();
+		assertThat(this.shedder.shed(Priority.NORMAL)).isFalse();
+
+		delayedInterval(120);
+		delayedInterval(120);
+		assertThat(this.shedder.getLevel()).isEqualTo(2);
+		assertThat(this.shedder.shed(Priority.LOW)).isTrue();
+		assertThat(this.shedder.shed(Priority.NORMAL)).isTrue();
+		assertThat(this.shedder.shed(Priority.HIGH)).isFalse();
+
+		assertThat(this.registry.get("http.server.shed").tag("priority", "low").counter().count()).isEqualTo(2);
+		assertThat(this.registry.get("http.server.shed").tag("priority", "normal").counter().count()).isEqualTo(1);
+		assertThat(this.registry.get("http.server.shed").tag("priority", "high").counter().count()).isZero();
+		assertThat(this.registry.get("http.server.shedding.level").gauge().value()).isEqualTo(2);
+		assertThat(this.registry.get("http.server.queueing.delay").tag("priority", "high").timer().count())
+			.isEqualTo(4);
+	}
+
+	@Test
+	void shouldStopSheddingOnceDelaysAreBackWithinTarget() {
+		delayedInterval(150);
+		delayedInterval(150);
+		assertThat(this.shedder.getLevel()).isEqualTo(2);
+
+		// A single request within the target is enough to lower the shedding
+		delayedInterval(500, 20);
+		assertThat(this.shedder.getLevel()).isEqualTo(1);
+		assertThat(this.shedder.shed(Priority.NORMAL)).isFalse();
+
+		// So is an interval without requests
+		this.nanoTime.addAndGet(1000 * MILLIS);
+		assertThat(this.shedder.shed(Priority.LOW)).isFalse();
+		assertThat(this.shedder.getLevel()).isZero();
+	}
+
+	private void delayedInterval(long... delaysMillis) {
+		for (long delay : delaysMillis) {
+			this.shedder.record(Priority.HIGH, delay * MILLIS);
+		}
+		this.nanoTime.addAndGet(1000 * MILLIS);
+		this.shedder.shed(Priority.HIGH);
+	}
+
+}
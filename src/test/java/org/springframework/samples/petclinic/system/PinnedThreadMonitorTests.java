@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PinnedThreadMonitor}.
+ */
+class PinnedThreadMonitorTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final PinnedThreadMonitor monitor = new PinnedThreadMonitor(Duration.ofMillis(20), this.registry);
+
+	@Test
+	void shouldAttributePinningToDriver() {
+		this.monitor.record(Duration.ofMillis(30),
+				List.of("java.lang.Object.wait0:-1", "org.h2.engine.SessionLocal.lock:120",
+						"org.h2.jdbc.JdbcPreparedStatement.executeQuery:110",
+						"com.zaxxer.hikari.pool.HikariProxyPreparedStatement.executeQuery:52"));
+		this.monitor.record(Duration.ofMillis(40), List.of("com.mysql.cj.NativeSession.execSQL:980"));
+		this.monitor.record(Duration.ofMillis(50), List.of("org.postgresql.core.v3.QueryExecutorImpl.execute:340"));
+
+		assertThat(this.registry.get("jvm.threads.virtual.pinned").tag("source", "h2").timer().count()).isEqualTo(1);
+		assertThat(this.registry.get("jvm.threads.virtual.pinned").tag("source", "mysql").timer().count()).isEqualTo(1);
+		assertThat(this.registry.get("jvm.threads.virtual.pinned").tag("source", "postgresql").timer().count())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void shouldAttributeOtherPinning() {
+		this.monitor.record(Duration.ofMillis(30), List.of("org.example.Cache.get:12"));
+		this.monitor.record(Duration.ofMillis(30), List.of());
+
+		assertThat(this.registry.get("jvm.threads.virtual.pinned").tag("source", "other").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldStartAndStopRecording() {
+		this.monitor.start();
+		assertThat(this.monitor.isRunning()).isTrue();
+		this.monitor.stop();
+		assertThat(this.monitor.isRunning()).isFalse();
+	}
+
+}
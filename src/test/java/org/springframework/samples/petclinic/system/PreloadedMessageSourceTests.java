@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+/**
+ * Tests for {@link PreloadedMessageSource}, which must resolve the same messages as the
+ * {@link ResourceBundleMessageSource} it replaces.
+ */
+class PreloadedMessageSourceTests {
+
+	private static final List<Locale> LOCALES = List.of(Locale.ENGLISH, Locale.GERMAN, Locale.GERMANY,
+			Locale.forLanguageTag("de-AT"), Locale.forLanguageTag("es"), Locale.forLanguageTag("fa"), Locale.KOREAN,
+			Locale.forLanguageTag("pt"), Locale.forLanguageTag("ru"), Locale.forLanguageTag("tr"), Locale.FRENCH,
+			Locale.ROOT);
+
+	@ParameterizedTest
+	@ValueSource(booleans = { true, false })
+	void shouldResolveMessagesLikeResourceBundles(boolean fallbackToSystemLocale) throws IOException {
+		ResourceBundleMessageSource expected = new ResourceBundleMessageSource();
+		expected.setBasename("messages/messages");
+		expected.setDefaultEncoding("UTF-8");
+		expected.setFallbackToSystemLocale(fallbackToSystemLocale);
+		PreloadedMessageSource messageSource = new PreloadedMessageSource(List.of("messages/messages"),
+				StandardCharsets.UTF_8);
+		messageSource.setFallbackToSystemLocale(fallbackToSystemLocale);
+
+		Properties base = PropertiesLoaderUtils.loadProperties(new ClassPathResource("messages/messages.properties"));
+		assertThat(base.stringPropertyNames()).contains("welcome", "owners", "vets");
+		for (Locale locale : LOCALES) {
+			for (String code : base.stringPropertyNames()) {
+				assertThat(messageSource.getMessage(code, null, locale)).as(code + " in " + locale)
+					.isEqualTo(expected.getMessage(code, null, locale));
+				Object[] args = { 42 };
+				assertThat(messageSource.getMessage(code, args, locale)).as(code + " with arguments in " + locale)
+					.isEqualTo(expected.getMessage(code, args, locale));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "de", "de-AT", "ko" })
+	void shouldPreferLocalizedMessages(String languageTag) {
+		PreloadedMessageSource messageSource = new PreloadedMessageSource(List.of("classpath:messages/messages"),
+				StandardCharsets.UTF_8);
+		Locale locale = Locale.forLanguageTag(languageTag);
+
+		assertThat(messageSource.getMessage("welcome", null, locale))
+			.isNotEqualTo(messageSource.getMessage("welcome", null, Locale.ENGLISH));
+		assertThat(messageSource.getMessage("missing", null, "Default", locale)).isEqualTo("Default");
+		assertThatExceptionOfType(NoSuchMessageException.class)
+			.isThrownBy(() -> messageSource.getMessage("missing", null, locale));
+	}
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Integration tests for the routing of read-only transactions to a read replica, using a
+ * second H2 database as the replica. Replication is simulated by copying the heartbeat of
+ * the primary to the replica, whose data otherwise differs from the primary.
+ */
+@SpringBootTest(classes = PetClinicApplication.class,
+		properties = { "petclinic.replicas.enabled=true",
+				"petclinic.replicas.urls=jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1",
+				"petclinic.replicas.lag-check-interval=1h" })
+@DirtiesContext
+class ReadReplicaRoutingTests {
+
+	private static final DataSource replicaDataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+			"jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1", "sa", "");
+
+	private static final JdbcClient replica = JdbcClient.create(replicaDataSource);
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private JdbcClient primary;
+
+	@Autowired
+	private ReplicaLagMonitor monitor;
+
+	@Autowired
+	private ReplicasEndpoint endpoint;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private ReadAfterWriteFilter readAfterWriteFilter;
+
+	private MockMvc mockMvc;
+
+	@BeforeAll
+	static void createReplica() {
+		new ResourceDatabasePopulator(new ClassPathResource("db/h2/schema.sql"),
+				new ClassPathResource("db/h2/data.sql"))
+			.execute(replicaDataSource);
+		replica.sql("UPDATE owners SET last_name = 'Replica' WHERE id = 1").update();
+		replica.sql("UPDATE vets SET last_name = 'Replica' WHERE id = 1").update();
+	}
+
+	@BeforeEach
+	void setup() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(this.context).addFilters(this.readAfterWriteFilter).build();
+		this.cacheManager.getCacheNames().forEach((name) -> this.cacheManager.getCache(name).clear());
+	}
+
+	@Test
+	void shouldReadFromReplicaInReadOnlyTransactions() {
+		replicate(Duration.ZERO);
+
+		assertThat(this.owners.findById(1))
+			.hasValueSatisfying((owner) -> assertThat(owner.getLastName()).isEqualTo("Replica"));
+		assertThat(lastNameOnPrimary()).isEqualTo("Franklin");
+		assertThat(this.endpoint.replicas()).singleElement().satisfies((descriptor) -> {
+			assertThat(descriptor.available()).isTrue();
+			assertThat(descriptor.lagMillis()).isZero();
+		});
+	}
+
+	@Test
+	void shouldFallBackToPrimaryWhenReplicaLagsBehind() {
+		replicate(Duration.ofHours(1));
+
+		assertThat(this.owners.findById(1))
+			.hasValueSatisfying((owner) -> assertThat(owner.getLastName()).isEqualTo("Franklin"));
+		assertThat(this.endpoint.replicas()).singleElement().satisfies((descriptor) -> {
+			assertThat(descriptor.available()).isFalse();
+			assertThat(descriptor.lagMillis()).isEqualTo(Duration.ofHours(1).toMillis());
+		});
+	}
+
+	@Test
+	void shouldReadOwnWritesFromPrimaryAfterPost() throws Exception {
+		replicate(Duration.ZERO);
+
+		this.mockMvc
+			.perform(post("/owners/1/edit").param("firstName", "George")
+				.param("lastName", "Franklin")
+				.param("address", "110 W. Liberty St.")
+				.param("city", "Madison")
+				.param("telephone", "6085551023"))
+			.andExpect(cookie().exists(ReadAfterWriteFilter.COOKIE_NAME))
+			// max-lag plus lag-check-interval
+			.andExpect(cookie().maxAge(ReadAfterWriteFilter.COOKIE_NAME, 3610));
+		this.mockMvc.perform(get("/owners/1").cookie(new Cookie(ReadAfterWriteFilter.COOKIE_NAME, "1")))
+			.andExpect(content().string(containsString("Franklin")));
+
+	}
+
+	@Test
+	void shouldLoadCachesFromPrimaryWhenReplicaIsBehind() throws Exception {
+		// Within the max-lag, but behind the primary
+		replicate(Duration.ofSeconds(5));
+		assertThat(this.owners.findById(1))
+			.hasValueSatisfying((owner) -> assertThat(owner.getLastName()).isEqualTo("Replica"));
+
+		// Filled without the read-after-write cookie, as after the eviction of an update
+		this.mockMvc.perform(get("/owners/1"))
+			.andExpect(content().string(containsString("Franklin")))
+			.andExpect(content().string(not(containsString("Replica"))));
+		this.mockMvc.perform(get("/vets.html"))
+			.andExpect(content().string(containsString("Carter")))
+			.andExpect(content().string(not(containsString("Replica"))));
+	}
+
+	/**
+	 * Copy the heartbeat of the primary to the replica, as if the replica lagged behind
+	 * by the given amount, then measure the lag.
+	 */
+	private void replicate(Duration lag) {
+		Timestamp beat = this.primary.sql("SELECT beat_at FROM replica_heartbeat WHERE id = 1")
+			.query(Timestamp.class)
+			.single();
+		replica.sql("DELETE FROM replica_heartbeat").update();
+		replica.sql("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)")
+			.param(Timestamp.from(beat.toInstant().minus(lag)))
+			.update();
+		this.monitor.check();
+	}
+
+	private String lastNameOnPrimary() {
+		return this.primary.sql("SELECT last_name FROM owners WHERE id = 1").query(String.class).single();
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RefreshAheadCache}.
+ */
+class RefreshAheadCacheTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private final List<Runnable> refreshes = new ArrayList<>();
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final RefreshAheadCache cache = new RefreshAheadCache("vets",
+			Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(30)).ticker(this.nanos::get).build(), true,
+			Duration.ofMinutes(5), this.refreshes::add, this.registry);
+
+	@Test
+	void shouldServeFreshEntriesWithoutRefresh() {
+		this.cache.put("all", "first");
+		advance(Duration.ofMinutes(4));
+
+		assertThat(this.cache.get("all", () -> "second")).isEqualTo("first");
+		assertThat(this.refreshes).isEmpty();
+	}
+
+	@Test
+	void shouldServeStaleEntryWhileReloadingOnce() {
+		this.cache.put("all", "first");
+		advance(Duration.ofMinutes(6));
+
+		assertThat(this.cache.get("all", () -> "second")).isEqualTo("first");
+		assertThat(this.cache.get("all", () -> "second")).isEqualTo("first");
+		assertThat(this.refreshes).hasSize(1);
+
+		this.refreshes.get(0).run();
+		assertThat(this.cache.get("all", () -> "third")).isEqualTo("second");
+		assertThat(this.registry.get("cache.refresh.stale").counter().count()).isEqualTo(2);
+		assertThat(this.registry.get("cache.refresh").tag("result", "success").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldDropReloadOfEvictedEntry() {
+		this.cache.put("all", "first");
+		advance(Duration.ofMinutes(6));
+		this.cache.get("all", () -> "second");
+
+		this.cache.evict("all");
+		this.refreshes.get(0).run();
+		assertThat(this.cache.get("all")).isNull();
+	}
+
+	@Test
+	void shouldKeepStaleEntryWhenReloadFails() {
+		this.cache.put("all", "first");
+		advance(Duration.ofMinutes(6));
+		this.cache.get("all", () -> {
+			throw new IllegalStateException("database unavailable");
+		});
+
+		this.refreshes.get(0).run();
+		assertThat(this.cache.get("all", () -> "second")).isEqualTo("first");
+		assertThat(this.refreshes).hasSize(2);
+		assertThat(this.registry.get("cache.refresh").tag("result", "failure").timer().count()).isEqualTo(1);
+	}
+
+	private void advance(Duration duration) {
+		this.nanos.addAndGet(duration.toNanos());
+	}
+
+}
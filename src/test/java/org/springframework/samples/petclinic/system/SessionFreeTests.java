@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.Manager;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Tests that browsing the application, including the language switch and the redirects
+ * with a flash message, never creates an HTTP session.
+ */
+@SpringBootTest(classes = PetClinicApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = "management.server.port=0")
+@DirtiesContext
+class SessionFreeTests {
+
+	private static final Pattern OWNER = Pattern.compile("/owners/(\\d+)$");
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private WebServerApplicationContext context;
+
+	private final CookieManager cookies = new CookieManager();
+
+	private final HttpClient client = HttpClient.newBuilder()
+		.cookieHandler(this.cookies)
+		.followRedirects(HttpClient.Redirect.NORMAL)
+		.build();
+
+	@Test
+	void shouldCompleteUserJourneyWithoutSession() throws Exception {
+		assertThat(get("/?lang=de").body()).contains("Willkommen");
+		assertThat(get("/vets.html").body()).contains("Tierärzte");
+		assertThat(get("/owners/find").statusCode()).isEqualTo(200);
+		assertThat(get("/owners?lastName=Davis").statusCode()).isEqualTo(200);
+
+		HttpResponse<String> owner = post("/owners/new", Map.of("firstName", "Ada", "lastName", "Lovelace", "address",
+				"12 St James's Square", "city", "London", "telephone", "0123456789"));
+		assertThat(owner.body()).contains("New Owner Created");
+		Matcher ownerId = OWNER.matcher(owner.uri().getPath());
+		assertThat(ownerId.find()).isTrue();
+		String ownerPath = ownerId.group();
+		// Flash attributes are only shown once
+		assertThat(get(ownerPath).body()).doesNotContain("New Owner Created");
+
+		HttpResponse<String> pet = post(ownerPath + "/pets/new",
+				Map.of("name", "Byron", "birthDate", "2020-12-10", "type", "cat"));
+		assertThat(pet.body()).contains("New Pet has been Added");
+		assertThat(get(ownerPath + "/edit").statusCode()).isEqualTo(200);
+		assertThat(post(ownerPath + "/edit",
+				Map.of("firstName", "Ada", "lastName", "Lovelace", "address", "12 St James's Square", "city",
+						"Marylebone", "telephone", "0123456789"))
+			.body()).contains("Owner Values Updated").contains("Marylebone");
+		assertThat(get("/oups").statusCode()).isEqualTo(500);
+
+		assertThat(sessionManager().getSessionCounter()).isZero();
+	}
+
+	@Test
+	void shouldIgnoreForgedFlashAttributes() throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(uri("/owners/1"))
+			.header("Cookie", SignedCookieFlashMapManager.COOKIE_NAME + "=eyJtZXNzYWdlIjoiaGkifQ.forged")
+			.build();
+		HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).doesNotContain("id=\"success-message\"");
+	}
+
+	private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+		return send(HttpRequest.newBuilder(uri(path)).build());
+	}
+
+	private HttpResponse<String> post(String path, Map<String, String> form) throws IOException, InterruptedException {
+		String body = form.entrySet()
+			.stream()
+			.map((entry) -> entry.getKey() + "=" + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+			.collect(Collectors.joining("&"));
+		return send(HttpRequest.newBuilder(uri(path))
+			.header("Content-Type", "application/x-www-form-urlencoded")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build());
+	}
+
+	private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+		return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + this.port + path);
+	}
+
+	private Manager sessionManager() {
+		TomcatWebServer webServer = (TomcatWebServer) this.context.getWebServer();
+		return ((Context) webServer.getTomcat().getHost().findChildren()[0]).getManager();
+	}
+
+}
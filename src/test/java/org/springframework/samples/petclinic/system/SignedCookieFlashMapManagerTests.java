@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.FlashMap;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for {@link SignedCookieFlashMapManager} and the signing key it is created with.
+ */
+class SignedCookieFlashMapManagerTests {
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	@Test
+	void shouldExpireCookieWhenFlashMapsAreTooLarge() {
+		SignedCookieFlashMapManager manager = new SignedCookieFlashMapManager(this.jsonMapper, new byte[32]);
+		FlashMap flashMap = new FlashMap();
+		flashMap.put("message", "x".repeat(5000));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		manager.updateFlashMaps(List.of(flashMap), new MockHttpServletRequest(), response);
+
+		assertThat(response.getHeader(HttpHeaders.SET_COOKIE))
+			.startsWith(SignedCookieFlashMapManager.COOKIE_NAME + "=;")
+			.contains("Max-Age=0");
+	}
+
+	@Test
+	void shouldUseRandomKeyWhenSigningKeyIsBlank() {
+		FlashProperties properties = new FlashProperties();
+		properties.setSigningKey(" ");
+
+		assertThat(new WebConfiguration().flashMapManager(properties, this.jsonMapper)).isNotNull();
+	}
+
+	@Test
+	void shouldRejectShortSigningKey() {
+		FlashProperties properties = new FlashProperties();
+		properties.setSigningKey("too-short");
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> new WebConfiguration().flashMapManager(properties, this.jsonMapper))
+			.withMessageContaining("petclinic.flash.signing-key must be at least 32 bytes");
+	}
+
+}
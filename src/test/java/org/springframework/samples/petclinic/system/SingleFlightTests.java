@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SingleFlight}.
+ */
+class SingleFlightTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@AfterEach
+	void shutdown() {
+		this.release.countDown();
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void shouldShareConcurrentLoadOfSameKey() {
+		SingleFlight<Integer, Object> singleFlight = new SingleFlight<>("owners", Duration.ofSeconds(10),
+				this.registry);
+		Supplier<Object> loader = blockingLoader(() -> new Object());
+		List<CompletableFuture<Object>> results = IntStream.range(0, 5)
+			.mapToObj(i -> CompletableFuture.supplyAsync(() -> singleFlight.load(1, loader), this.executor))
+			.toList();
+		await().until(() -> count("singleflight.coalesced") == 4);
+		this.release.countDown();
+
+		Object first = results.get(0).join();
+		assertThat(results).allSatisfy(result -> assertThat(result.join()).isSameAs(first));
+		assertThat(this.loads).hasValue(1);
+		assertThat(singleFlight.inFlight()).isZero();
+	}
+
+	@Test
+	void shouldNotCoalesceDifferentKeys() {
+		SingleFlight<Integer, String> singleFlight = new SingleFlight<>("owners", Duration.ofSeconds(10),
+				this.registry);
+		CompletableFuture<String> first = CompletableFuture
+			.supplyAsync(() -> singleFlight.load(1, blockingLoader(() -> "first")), this.executor);
+		await().until(() -> this.loads.get() == 1);
+
+		assertThat(singleFlight.load(2, () -> "second")).isEqualTo("second");
+		this.release.countDown();
+		assertThat(first.join()).isEqualTo("first");
+		assertThat(count("singleflight.coalesced")).isZero();
+	}
+
+	@Test
+	void shouldShareFailureOfConcurrentLoad() {
+		SingleFlight<Integer, String> singleFlight = new SingleFlight<>("owners", Duration.ofSeconds(10),
+				this.registry);
+		Supplier<String> loader = blockingLoader(() -> {
+			throw new IllegalStateException("database unavailable");
+		});
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.load(1, loader),
+				this.executor);
+		await().until(() -> this.loads.get() == 1);
+		CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> singleFlight.load(1, loader),
+				this.executor);
+		await().until(() -> count("singleflight.coalesced") == 1);
+		this.release.countDown();
+
+		assertThat(leader).failsWithin(Duration.ofSeconds(5));
+		assertThat(waiter).failsWithin(Duration.ofSeconds(5))
+			.withThrowableThat()
+			.havingRootCause()
+			.withMessage("database unavailable");
+		assertThat(this.loads).hasValue(1);
+	}
+
+	@Test
+	void shouldLoadAgainAfterWaitingTooLong() {
+		SingleFlight<Integer, String> singleFlight = new SingleFlight<>("owners", Duration.ofMillis(50), this.registry);
+		CompletableFuture.supplyAsync(() -> singleFlight.load(1, blockingLoader(() -> "stuck")), this.executor);
+		await().until(() -> this.loads.get() == 1);
+
+		assertThat(singleFlight.load(1, () -> "loaded")).isEqualTo("loaded");
+		assertThat(count("singleflight.timeouts")).isEqualTo(1);
+	}
+
+	@Test
+	void shouldLoadAgainOnceLoadCompleted() {
+		SingleFlight<Integer, Integer> singleFlight = new SingleFlight<>("owners", Duration.ofSeconds(10),
+				this.registry);
+		assertThat(singleFlight.load(1, this.loads::incrementAndGet)).isEqualTo(1);
+		assertThat(singleFlight.load(1, this.loads::incrementAndGet)).isEqualTo(2);
+		assertThat(singleFlight.inFlight()).isZero();
+	}
+
+	@Test
+	void shouldFailWhenInterruptedWhileWaiting() {
+		SingleFlight<Integer, String> singleFlight = new SingleFlight<>("owners", Duration.ofSeconds(10),
+				this.registry);
+		CompletableFuture.supplyAsync(() -> singleFlight.load(1, blockingLoader(() -> "slow")), this.executor);
+		await().until(() -> this.loads.get() == 1);
+
+		Thread.currentThread().interrupt();
+		assertThatIllegalStateException().isThrownBy(() -> singleFlight.load(1, () -> "loaded"));
+		assertThat(Thread.interrupted()).isTrue();
+	}
+
+	private <T> Supplier<T> blockingLoader(Supplier<T> result) {
+		return () -> {
+			this.loads.incrementAndGet();
+			try {
+				this.release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return result.get();
+		};
+	}
+
+	private double count(String name) {
+		return this.registry.get(name).counter().count();
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Optional;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.samples.petclinic.system.StaleReads.Read;
+
+/**
+ * Tests for {@link StaleReads}.
+ */
+class StaleReadsTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final StaleReads<String, String> reads = new StaleReads<>("vets", 10, this.registry);
+
+	@Test
+	void shouldServeLastValueWhenDatabaseIsUnavailable() {
+		assertThat(this.reads.read("all", () -> "first")).isEqualTo(new Read<>("first", false));
+		assertThat(this.reads.read("all", () -> "second")).isEqualTo(new Read<>("second", false));
+
+		assertThat(this.reads.read("all", () -> {
+			throw new DatabaseUnavailableException("open");
+		})).isEqualTo(new Read<>("second", true));
+		assertThat(this.reads.read("all", () -> {
+			throw new QueryTimeoutException("timeout");
+		})).isEqualTo(new Read<>("second", true));
+		assertThat(this.registry.get("stale.reads").tag("name", "vets").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldRethrowWhenNoValueIsKnown() {
+		assertThatExceptionOfType(DatabaseUnavailableException.class).isThrownBy(() -> this.reads.read("all", () -> {
+			throw new DatabaseUnavailableException("open");
+		}));
+	}
+
+	@Test
+	void shouldNotRememberEmptyValues() {
+		StaleReads<Integer, Optional<String>> owners = new StaleReads<>("owners", 10, this.registry);
+		owners.read(1, () -> Optional.of("Franklin"));
+
+		assertThat(owners.read(1, Optional::empty)).isEqualTo(new Read<>(Optional.empty(), false));
+		assertThatExceptionOfType(DatabaseUnavailableException.class).isThrownBy(() -> owners.read(1, () -> {
+			throw new DatabaseUnavailableException("open");
+		}));
+	}
+
+	@Test
+	void shouldRethrowFailuresOtherThanDatabaseFailures() {
+		this.reads.read("all", () -> "first");
+
+		assertThatExceptionOfType(DataIntegrityViolationException.class).isThrownBy(() -> this.reads.read("all", () -> {
+			throw new DataIntegrityViolationException("constraint");
+		}));
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> this.reads.read("all", () -> {
+			throw new IllegalStateException("bug");
+		}));
+	}
+
+	@Test
+	void shouldMapReadsKeepingStaleness() {
+		assertThat(new Read<>("first", true).map(String::length)).isEqualTo(new Read<>(5, true));
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+/**
+ * Tests for {@link StaticResourcesConfiguration}, relying on the gzipped copies written
+ * by the build.
+ */
+@SpringBootTest(classes = PetClinicApplication.class)
+class StaticResourcesTests {
+
+	private static final Pattern STYLESHEET = Pattern.compile("/resources/css/petclinic-[0-9a-f]{32}\\.css");
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setup() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+			.addFilters(new ResourceUrlEncodingFilter())
+			.build();
+	}
+
+	@Test
+	void shouldServeFingerprintedResourcePrecompressedForAYear() throws Exception {
+		String stylesheet = stylesheet();
+
+		byte[] gzipped = this.mockMvc.perform(get(stylesheet).header("Accept-Encoding", "gzip, deflate"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Content-Encoding", "gzip"))
+			.andExpect(header().string("Vary", "Accept-Encoding"))
+			.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+			.andReturn()
+			.getResponse()
+			.getContentAsByteArray();
+		byte[] identity = this.mockMvc.perform(get(stylesheet))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist("Content-Encoding"))
+			.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+			.andReturn()
+			.getResponse()
+			.getContentAsByteArray();
+		assertThat(gzipped.length).isLessThan(identity.length / 4);
+	}
+
+	@Test
+	void shouldServeWebJarFingerprinted() throws Exception {
+		this.mockMvc.perform(get("/webjars/font-awesome/css/font-awesome.min.css"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Cache-Control", "max-age=43200"));
+		String page = this.mockMvc.perform(get("/")).andReturn().getResponse().getContentAsString();
+		Matcher script = Pattern.compile("/webjars/bootstrap/[^\"]*/bootstrap\\.bundle\\.min-[0-9a-f]{32}\\.js")
+			.matcher(page);
+		assertThat(script.find()).isTrue();
+		this.mockMvc.perform(get(script.group()).header("Accept-Encoding", "gzip"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Content-Encoding", "gzip"))
+			.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+	}
+
+	@Test
+	void shouldServeResourceWithoutFingerprintWithDefaultCacheControl() throws Exception {
+		this.mockMvc.perform(get("/resources/css/petclinic.css"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Cache-Control", "max-age=43200"));
+		this.mockMvc.perform(get("/resources/css/petclinic-0123456789abcdef0123456789abcdef.css"))
+			.andExpect(status().isNotFound());
+	}
+
+	private String stylesheet() throws Exception {
+		String page = this.mockMvc.perform(get("/")).andReturn().getResponse().getContentAsString();
+		Matcher stylesheet = STYLESHEET.matcher(page);
+		assertThat(stylesheet.find()).isTrue();
+		return stylesheet.group();
+	}
+
+}
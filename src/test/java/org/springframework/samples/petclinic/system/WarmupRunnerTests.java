@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+/**
+ * Tests for {@link WarmupRunner}.
+ */
+class WarmupRunnerTests {
+
+	private final WarmupProperties properties = new WarmupProperties();
+
+	private final List<String> completed = new CopyOnWriteArrayList<>();
+
+	@Test
+	void shouldRunStagesInOrderDespiteFailures() {
+		run(task("first", () -> {
+		}), task("failing", () -> {
+			throw new IllegalStateException("database unavailable");
+		}), task("last", () -> {
+		}));
+
+		assertThat(this.completed).containsExactly("first", "failing", "last");
+	}
+
+	@Test
+	void shouldStopWaitingAfterTimeout() {
+		CountDownLatch never = new CountDownLatch(1);
+		this.properties.setTimeout(Duration.ofMillis(100));
+		long start = System.nanoTime();
+		run(task("hanging", () -> {
+			try {
+				never.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}), task("skipped", () -> {
+		}));
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		assertThat(this.completed).doesNotContain("skipped");
+	}
+
+	@Test
+	void shouldSkipWhenDisabled() {
+		this.properties.setEnabled(false);
+		run(task("first", () -> {
+		}));
+
+		assertThat(this.completed).isEmpty();
+	}
+
+	private void run(WarmupTask... tasks) {
+		new WarmupRunner(this.properties, List.of(tasks)).run(new DefaultApplicationArguments());
+	}
+
+	private WarmupTask task(String name, Runnable action) {
+		return new WarmupTask() {
+
+			@Override
+			public String getName() {
+				return name;
+			}
+
+			@Override
+			public void warmUp() {
+				try {
+					action.run();
+				}
+				finally {
+					WarmupRunnerTests.this.completed.add(name);
+				}
+			}
+
+		};
+	}
+
+}
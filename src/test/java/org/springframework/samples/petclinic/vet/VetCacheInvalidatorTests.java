@@ -0,0 +1,169 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.samples.petclinic.system.CacheAdminEndpoint;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for {@link VetCacheInvalidator} and the cache admin endpoint.
+ */
+@SpringBootTest
+class VetCacheInvalidatorTests {
+
+	@Autowired
+	private VetRepository vets;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private CacheAdminEndpoint cacheAdmin;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcClient jdbcClient;
+
+	@BeforeEach
+	void populateCaches() {
+		cache("vets").clear();
+		cache("vetPages").clear();
+		this.vets.findAll();
+		for (int page = 0; page < 3; page++) {
+			this.vets.findAll(PageRequest.of(page, 2));
+		}
+	}
+
+	@Test
+	void shouldEvictOnlyPagesHoldingUpdatedVet() {
+		updateVet(3, vet -> vet.setFirstName(vet.getFirstName() + "!"));
+		try {
+			assertThat(cache("vets").get("all")).isNull();
+			assertThat(cache("vetPages").get("0:2:UNSORTED")).isNotNull();
+			assertThat(cache("vetPages").get("1:2:UNSORTED")).isNull();
+			assertThat(cache("vetPages").get("2:2:UNSORTED")).isNotNull();
+		}
+		finally {
+			updateVet(3, vet -> vet.setFirstName("Linda"));
+		}
+	}
+
+	@Test
+	void shouldEvictOnlyPagesHoldingVetWithChangedSpecialties() {
+		updateVet(1, vet -> vet.addSpecialty(this.entityManager.find(Specialty.class, 3)));
+		try {
+			assertThat(cache("vets").get("all")).isNull();
+			assertThat(cache("vetPages").get("0:2:UNSORTED")).isNull();
+			assertThat(cache("vetPages").get("1:2:UNSORTED")).isNotNull();
+		}
+		finally {
+			updateVet(1, vet -> vet.getSpecialtiesInternal().clear());
+		}
+	}
+
+	@Test
+	void shouldEvictPagesHoldingVetsWithUpdatedSpecialty() {
+		updateSpecialty(1, "radiography");
+		try {
+			assertThat(cache("vets").get("all")).isNull();
+			assertThat(cache("vetPages").get("0:2:UNSORTED")).isNull();
+			assertThat(cache("vetPages").get("1:2:UNSORTED")).isNotNull();
+			assertThat(cache("vetPages").get("2:2:UNSORTED")).isNull();
+		}
+		finally {
+			updateSpecialty(1, "radiology");
+		}
+	}
+
+	@Test
+	void shouldPublishInvalidationsForOtherReplicas() {
+		long published = countInvalidations();
+		updateVet(3, vet -> vet.setFirstName(vet.getFirstName() + "!"));
+		try {
+			assertThat(countInvalidations()).isEqualTo(published + 2);
+		}
+		finally {
+			updateVet(3, vet -> vet.setFirstName("Linda"));
+		}
+	}
+
+	@Test
+	void shouldRefreshAndClearThroughEndpoint() {
+		assertThat(this.cacheAdmin.caches()).containsKeys("vets", "vetPages");
+
+		CacheAdminEndpoint.CacheDescriptor cleared = this.cacheAdmin.clear("vetPages");
+		assertThat(cleared).isNotNull();
+		assertThat(cleared.size()).isZero();
+
+		CacheAdminEndpoint.CacheDescriptor refreshed = this.cacheAdmin.refresh("vets");
+		assertThat(refreshed).isNotNull();
+		assertThat(refreshed.size()).isEqualTo(1);
+		assertThat(cache("vets").get("all")).isNotNull();
+
+		assertThat(this.cacheAdmin.cache("unknown")).isNull();
+	}
+
+	@Test
+	void shouldRankCachesByMissCost() {
+		this.cacheAdmin.refresh("vets");
+		CacheAdminEndpoint.CacheDescriptor vets = this.cacheAdmin.cache("vets");
+		assertThat(vets).isNotNull();
+		assertThat(vets.loads()).isPositive();
+		assertThat(vets.missCost()).isPositive();
+		assertThat(this.cacheAdmin.caches().values()).extracting(CacheAdminEndpoint.CacheDescriptor::missCost)
+			.isSortedAccordingTo(Comparator.reverseOrder());
+	}
+
+	private void updateVet(int id, Consumer<Vet> update) {
+		this.transactionTemplate.executeWithoutResult(status -> update.accept(this.entityManager.find(Vet.class, id)));
+	}
+
+	private void updateSpecialty(int id, String name) {
+		this.transactionTemplate
+			.executeWithoutResult(status -> this.entityManager.find(Specialty.class, id).setName(name));
+	}
+
+	private long countInvalidations() {
+		return this.jdbcClient.sql("SELECT COUNT(*) FROM cache_invalidation").query(Long.class).single();
+	}
+
+	private Cache cache(String name) {
+		Cache cache = this.cacheManager.getCache(name);
+		assertThat(cache).isNotNull();
+		return cache;
+	}
+
+}
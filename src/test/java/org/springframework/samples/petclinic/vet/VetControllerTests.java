@@ -31,6 +31,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -97,4 +98,15 @@ class VetControllerTests {
 			.andExpect(jsonPath("$.vetList[0].id").value(1));
 	}
 
+	@Test
+	void testShowResourcesVetListXml() throws Exception {
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_XML))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_XML))
+			.andExpect(
+					content().string(startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><vets>")))
+			.andExpect(xpath("/vets/vetList[1]/id").string("1"))
+			.andExpect(xpath("/vets/vetList[2]/specialties/name").string("radiology"));
+	}
+
 }
@@ -15,10 +15,12 @@
  */
 package org.springframework.samples.petclinic.vet;
 
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.springframework.util.SerializationUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * @author Dave Syer
@@ -38,4 +40,46 @@ class VetTests {
 		assertThat(other.getId()).isEqualTo(vet.getId());
 	}
 
+	@Test
+	void testSpecialtiesAreSortedAndImmutable() {
+		Vet vet = new Vet();
+		vet.addSpecialty(specialty(1, "surgery"));
+		vet.addSpecialty(specialty(2, "dentistry"));
+		assertThat(vet.getSpecialties()).extracting(Specialty::getName).containsExactly("dentistry", "surgery");
+		assertThat(vet.getSpecialties()).isSameAs(vet.getSpecialties());
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> vet.getSpecialties().add(specialty(3, "radiology")));
+
+		vet.addSpecialty(specialty(3, "radiology"));
+		assertThat(vet.getSpecialties()).extracting(Specialty::getName)
+			.containsExactly("dentistry", "radiology", "surgery");
+	}
+
+	@Test
+	void testSpecialtiesReflectChangesOfTheSameSize() {
+		Vet vet = new Vet();
+		Specialty surgery = specialty(1, "surgery");
+		vet.addSpecialty(surgery);
+		vet.addSpecialty(specialty(2, "dentistry"));
+		assertThat(vet.getSpecialties()).extracting(Specialty::getName).containsExactly("dentistry", "surgery");
+
+		vet.getSpecialtiesInternal().remove(surgery);
+		vet.getSpecialtiesInternal().add(specialty(6, "anesthesia"));
+		assertThat(vet.getSpecialties()).extracting(Specialty::getName).containsExactly("anesthesia", "dentistry");
+
+		vet.getSpecialtiesInternal().clear();
+		vet.addSpecialty(specialty(3, "radiology"));
+		vet.addSpecialty(specialty(4, null));
+		vet.addSpecialty(specialty(5, "cardiology"));
+		assertThat(vet.getSpecialties()).extracting(Specialty::getName)
+			.containsExactly("cardiology", "radiology", null);
+	}
+
+	private static Specialty specialty(int id, @Nullable String name) {
+		Specialty specialty = new Specialty();
+		specialty.setId(id);
+		specialty.setName(name);
+		return specialty;
+	}
+
 }
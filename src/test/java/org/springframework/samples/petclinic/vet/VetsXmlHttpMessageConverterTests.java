@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+
+/**
+ * Tests for {@link VetsXmlHttpMessageConverter}.
+ */
+class VetsXmlHttpMessageConverterTests {
+
+	@Test
+	void shouldWriteSameDocumentAsJaxb() throws Exception {
+		Vets vets = new Vets();
+		Vet james = new Vet();
+		james.setId(1);
+		james.setFirstName("James");
+		james.setLastName("Carter & Sons");
+		vets.getVetList().add(james);
+		Vet helen = new Vet();
+		helen.setId(2);
+		helen.setFirstName("Helen");
+		Specialty radiology = new Specialty();
+		radiology.setId(1);
+		radiology.setName("radiology");
+		Specialty dentistry = new Specialty();
+		dentistry.setId(2);
+		dentistry.setName("dentistry");
+		helen.addSpecialty(radiology);
+		helen.addSpecialty(dentistry);
+		vets.getVetList().add(helen);
+
+		ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+		new VetsXmlHttpMessageConverter().writeVets(vets.getVetList().iterator(), streamed);
+
+		Marshaller marshaller = JAXBContext.newInstance(Vets.class).createMarshaller();
+		ByteArrayOutputStream marshalled = new ByteArrayOutputStream();
+		marshaller.marshal(vets, marshalled);
+
+		assertThat(streamed.toString(StandardCharsets.UTF_8)).isEqualTo(marshalled.toString(StandardCharsets.UTF_8));
+	}
+
+}